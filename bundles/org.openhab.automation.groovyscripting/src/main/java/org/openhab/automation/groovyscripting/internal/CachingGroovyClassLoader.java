@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import groovy.lang.GroovyClassLoader;
+
+/**
+ * A {@link GroovyClassLoader} that is shared by all Groovy script engines. Classes that scripts load from the class
+ * path are compiled once for all scripts, and the compiled class of every script file is cached together with the hash
+ * of its content. Loading a script file with unchanged content, e.g. reloading an unchanged file, reuses the compiled
+ * class. When the content of a script file changes, the cache entry of the file is replaced, so the class of the
+ * previous content can be unloaded.
+ *
+ * Every script engine gets its own {@link ScriptClassLoader}. Scripts without a file name, like the scripts of UI
+ * rules, are compiled by that class loader, so their classes are unloaded together with the script engine.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoader extends GroovyClassLoader {
+
+    // Names generated by the script engine for scripts without a file name
+    private static final Pattern GENERATED_SCRIPT_NAME = Pattern.compile("Script\\d+\\.groovy");
+
+    private final Logger logger = LoggerFactory.getLogger(CachingGroovyClassLoader.class);
+
+    private final Map<String, ScriptClass> scriptClasses = new ConcurrentHashMap<>();
+
+    private static class ScriptClass {
+        private final String hash;
+        private final Class<?> scriptClass;
+
+        private ScriptClass(String hash, Class<?> scriptClass) {
+            this.hash = hash;
+            this.scriptClass = scriptClass;
+        }
+    }
+
+    /**
+     * The class loader of a single script engine. Script files are compiled by the shared class loader, other
+     * scripts are compiled by this class loader.
+     */
+    public class ScriptClassLoader extends GroovyClassLoader {
+        private ScriptClassLoader() {
+            super(CachingGroovyClassLoader.this);
+        }
+
+        @Override
+        public Class parseClass(@Nullable String text, @Nullable String fileName) throws CompilationFailedException {
+            if (text == null || fileName == null || GENERATED_SCRIPT_NAME.matcher(fileName).matches()) {
+                return compile(fileName, () -> super.parseClass(text, fileName));
+            }
+            return CachingGroovyClassLoader.this.parseClass(text, fileName);
+        }
+    }
+
+    public CachingGroovyClassLoader(ClassLoader parent) {
+        super(parent, new CompilerConfiguration(CompilerConfiguration.DEFAULT));
+    }
+
+    /**
+     * Creates the class loader for a new script engine.
+     */
+    public ScriptClassLoader createScriptClassLoader() {
+        return new ScriptClassLoader();
+    }
+
+    @Override
+    public Class parseClass(@Nullable String text, @Nullable String fileName) throws CompilationFailedException {
+        if (text == null || fileName == null) {
+            return super.parseClass(text, fileName);
+        }
+
+        String hash = hash(text);
+        ScriptClass cached = scriptClasses.get(fileName);
+        if (cached != null && cached.hash.equals(hash)) {
+            logger.debug("Using cached class of script {}", fileName);
+            return cached.scriptClass;
+        }
+
+        Class<?> scriptClass = compile(fileName, () -> super.parseClass(text, fileName));
+        // replaces the class of the previous content, it is unloaded when no script engine uses it anymore
+        scriptClasses.put(fileName, new ScriptClass(hash, scriptClass));
+        return scriptClass;
+    }
+
+    /**
+     * Returns the number of script files with a cached class.
+     */
+    int getCachedScriptCount() {
+        return scriptClasses.size();
+    }
+
+    @Override
+    public void clearCache() {
+        scriptClasses.clear();
+        super.clearCache();
+    }
+
+    private Class compile(@Nullable String fileName, Supplier<Class> compiler) {
+        long start = System.nanoTime();
+        Class scriptClass = compiler.get();
+        logger.debug("Compiled script {} in {} ms", fileName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return scriptClass;
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return new BigInteger(1, digest.digest(text.getBytes(StandardCharsets.UTF_8))).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
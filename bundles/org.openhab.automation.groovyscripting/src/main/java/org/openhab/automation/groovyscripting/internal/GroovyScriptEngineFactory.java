@@ -18,16 +18,19 @@ import java.util.stream.Stream;
 
 import javax.script.ScriptEngine;
 
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
 /**
  * This is an implementation of a {@link ScriptEngineFactory} for Groovy.
  *
  * @author Wouter Born - Initial contribution
+ * @author Hilbrand Bouwkamp - Share one class loader between the script engines
  */
 @Component(service = ScriptEngineFactory.class)
 @NonNullByDefault
@@ -39,6 +42,9 @@ public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
             .flatMap(List::stream) //
             .collect(Collectors.toUnmodifiableList());
 
+    private final CachingGroovyClassLoader classLoader = new CachingGroovyClassLoader(
+            GroovyScriptEngineFactory.class.getClassLoader());
+
     @Override
     public List<String> getScriptTypes() {
         return scriptTypes;
@@ -46,6 +52,14 @@ public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
 
     @Override
     public @Nullable ScriptEngine createScriptEngine(String scriptType) {
-        return scriptTypes.contains(scriptType) ? factory.getScriptEngine() : null;
+        if (!scriptTypes.contains(scriptType)) {
+            return null;
+        }
+        return new GroovyScriptEngineImpl(classLoader.createScriptClassLoader());
+    }
+
+    @Deactivate
+    public void deactivate() {
+        classLoader.clearCache();
     }
 }
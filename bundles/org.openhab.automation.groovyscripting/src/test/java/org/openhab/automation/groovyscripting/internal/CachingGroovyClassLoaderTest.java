@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.groovyscripting.internal.CachingGroovyClassLoader.ScriptClassLoader;
+
+/**
+ * Tests the caching of compiled script classes by the {@link CachingGroovyClassLoader}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoaderTest {
+
+    private static final String SCRIPT = "println 'Hello'";
+    private static final String CHANGED_SCRIPT = "println 'Hello again'";
+
+    private final CachingGroovyClassLoader classLoader = new CachingGroovyClassLoader(
+            CachingGroovyClassLoaderTest.class.getClassLoader());
+
+    @AfterEach
+    public void tearDown() {
+        classLoader.clearCache();
+    }
+
+    @Test
+    public void unchangedScriptIsNotCompiledAgain() {
+        Class<?> first = classLoader.createScriptClassLoader().parseClass(SCRIPT, "/conf/automation/jsr223/rule.groovy");
+        Class<?> second = classLoader.createScriptClassLoader().parseClass(SCRIPT,
+                "/conf/automation/jsr223/rule.groovy");
+
+        assertSame(first, second);
+        assertEquals(1, classLoader.getCachedScriptCount());
+    }
+
+    @Test
+    public void changedScriptReplacesCachedClass() {
+        Class<?> first = classLoader.createScriptClassLoader().parseClass(SCRIPT, "/conf/automation/jsr223/rule.groovy");
+        Class<?> changed = classLoader.createScriptClassLoader().parseClass(CHANGED_SCRIPT,
+                "/conf/automation/jsr223/rule.groovy");
+        Class<?> reverted = classLoader.createScriptClassLoader().parseClass(SCRIPT,
+                "/conf/automation/jsr223/rule.groovy");
+
+        assertNotSame(first, changed);
+        // only the class of the current content is kept
+        assertNotSame(first, reverted);
+        assertEquals(1, classLoader.getCachedScriptCount());
+    }
+
+    @Test
+    public void scriptsWithSameNameAreCachedIndependently() {
+        Class<?> first = classLoader.createScriptClassLoader().parseClass(SCRIPT, "/conf/automation/jsr223/rule.groovy");
+        Class<?> other = classLoader.createScriptClassLoader().parseClass(CHANGED_SCRIPT,
+                "/conf/automation/jsr223/other/rule.groovy");
+
+        assertNotSame(first, other);
+        assertEquals(2, classLoader.getCachedScriptCount());
+        assertSame(first,
+                classLoader.createScriptClassLoader().parseClass(SCRIPT, "/conf/automation/jsr223/rule.groovy"));
+    }
+
+    @Test
+    public void scriptsWithoutFileAreNotCached() {
+        ScriptClassLoader scriptClassLoader = classLoader.createScriptClassLoader();
+
+        Class<?> scriptClass = scriptClassLoader.parseClass(SCRIPT, "Script1.groovy");
+
+        assertEquals(0, classLoader.getCachedScriptCount());
+        // the class belongs to the script engine and is unloaded with it
+        assertSame(scriptClassLoader, scriptClass.getClassLoader().getParent());
+        assertNotEquals(scriptClass, classLoader.createScriptClassLoader().parseClass(SCRIPT, "Script2.groovy"));
+    }
+}
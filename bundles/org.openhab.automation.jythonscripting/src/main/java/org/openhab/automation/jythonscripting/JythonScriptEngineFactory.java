@@ -17,6 +17,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -27,17 +28,23 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.config.core.ConfigurableService;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 
 /**
  * This is an implementation of {@link ScriptEngineFactory} for Jython.
  *
  * @author Scott Rushworth - Initial contribution
  * @author Wouter Born - Initial contribution
+ * @author Hilbrand Bouwkamp - Prepare script engines in the background
  */
-@Component(service = ScriptEngineFactory.class)
+@Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.jythonscripting", //
+        property = Constants.SERVICE_PID + "=org.openhab.jythonscripting")
+@ConfigurableService(category = "automation", label = "Jython Scripting", description_uri = "automation:jythonscripting")
 @NonNullByDefault
 public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
 
@@ -49,10 +56,15 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
             .get(OpenHAB.getConfigFolder(), "automation", "lib", "python").toString();
 
     private static final String SCRIPT_TYPE = "py";
+    private static final String CONFIG_ENGINE_POOL_SIZE = "enginePoolSize";
+    private static final int DEFAULT_ENGINE_POOL_SIZE = 2;
     private static final javax.script.ScriptEngineManager ENGINE_MANAGER = new javax.script.ScriptEngineManager();
 
+    private final List<String> scriptTypes;
+    private @Nullable JythonScriptEnginePool enginePool;
+
     @Activate
-    public JythonScriptEngineFactory() {
+    public JythonScriptEngineFactory(Map<String, Object> config) {
         logger.debug("Loading JythonScriptEngineFactory");
 
         String pythonHome = JythonScriptEngineFactory.class.getProtectionDomain().getCodeSource().getLocation()
@@ -73,6 +85,30 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
                 .toString());
 
         logPythonPaths();
+
+        scriptTypes = findScriptTypes();
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int poolSize = DEFAULT_ENGINE_POOL_SIZE;
+        Object poolSizeConfig = config.get(CONFIG_ENGINE_POOL_SIZE);
+        if (poolSizeConfig != null) {
+            try {
+                poolSize = Math.max(0, Integer.parseInt(poolSizeConfig.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} '{}', using {}", CONFIG_ENGINE_POOL_SIZE, poolSizeConfig,
+                        DEFAULT_ENGINE_POOL_SIZE);
+            }
+        }
+
+        JythonScriptEnginePool oldEnginePool = enginePool;
+        if (oldEnginePool != null) {
+            oldEnginePool.dispose();
+        }
+        logger.debug("Preparing {} Jython script engines", poolSize);
+        enginePool = new JythonScriptEnginePool(() -> createJythonScriptEngine(SCRIPT_TYPE), poolSize);
     }
 
     private void logPythonPaths() {
@@ -84,6 +120,10 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
 
     @Override
     public List<String> getScriptTypes() {
+        return scriptTypes;
+    }
+
+    private List<String> findScriptTypes() {
         List<String> scriptTypes = new ArrayList<>();
 
         for (javax.script.ScriptEngineFactory factory : ENGINE_MANAGER.getEngineFactories()) {
@@ -99,6 +139,14 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
 
     @Override
     public @Nullable ScriptEngine createScriptEngine(String scriptType) {
+        JythonScriptEnginePool localEnginePool = enginePool;
+        if (localEnginePool != null && scriptTypes.contains(scriptType)) {
+            return localEnginePool.take();
+        }
+        return createJythonScriptEngine(scriptType);
+    }
+
+    private @Nullable ScriptEngine createJythonScriptEngine(String scriptType) {
         ScriptEngine scriptEngine = ENGINE_MANAGER.getEngineByExtension(scriptType);
         if (scriptEngine == null) {
             scriptEngine = ENGINE_MANAGER.getEngineByMimeType(scriptType);
@@ -113,6 +161,12 @@ public class JythonScriptEngineFactory extends AbstractScriptEngineFactory {
     public void removePythonPath() {
         logger.debug("Unloading JythonScriptEngineFactory");
 
+        JythonScriptEnginePool localEnginePool = enginePool;
+        if (localEnginePool != null) {
+            localEnginePool.dispose();
+            enginePool = null;
+        }
+
         String existingPythonPath = System.getProperty(PYTHON_PATH);
         if (existingPythonPath != null && existingPythonPath.contains(DEFAULT_PYTHON_PATH)) {
             Set<String> newPythonPathList = new TreeSet<>(Arrays.asList(existingPythonPath.split(File.pathSeparator)));
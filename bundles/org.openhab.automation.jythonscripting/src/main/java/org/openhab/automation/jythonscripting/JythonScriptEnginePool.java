@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jythonscripting;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.script.ScriptEngine;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a number of new, unused Jython script engines ready. Creating a Jython interpreter is expensive, so engines are
+ * created in the background and a script that is loaded or reloaded gets an engine without waiting for it.
+ *
+ * The engines are never reused: every engine is handed out once, and the pool creates a new one in its place. All
+ * engines share the default {@code PySystemState}, so modules imported by one script are compiled only once.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+class JythonScriptEnginePool {
+
+    private final Logger logger = LoggerFactory.getLogger(JythonScriptEnginePool.class);
+
+    private final Supplier<@Nullable ScriptEngine> engineSupplier;
+    private final int size;
+    private final BlockingQueue<ScriptEngine> engines;
+    private final ExecutorService warmer = Executors
+            .newSingleThreadExecutor(new NamedThreadFactory("automation-jythonscripting", true));
+
+    /**
+     * @param engineSupplier creates a new Jython script engine
+     * @param size the number of engines kept ready
+     */
+    JythonScriptEnginePool(Supplier<@Nullable ScriptEngine> engineSupplier, int size) {
+        this.engineSupplier = engineSupplier;
+        this.size = size;
+        this.engines = new LinkedBlockingQueue<>(Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            warmer.execute(this::warm);
+        }
+    }
+
+    /**
+     * Returns a new engine. If no engine is ready, it is created in the calling thread.
+     */
+    @Nullable
+    ScriptEngine take() {
+        ScriptEngine engine = engines.poll();
+        if (engine == null) {
+            logger.debug("No prepared Jython script engine available, creating one");
+            engine = engineSupplier.get();
+        }
+        if (size > 0) {
+            try {
+                warmer.execute(this::warm);
+            } catch (RejectedExecutionException e) {
+                // the pool has been disposed
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Returns the number of engines that are ready to be taken.
+     */
+    int getPreparedCount() {
+        return engines.size();
+    }
+
+    /**
+     * Stops creating engines and discards the unused ones.
+     */
+    void dispose() {
+        warmer.shutdownNow();
+        try {
+            warmer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        engines.clear();
+    }
+
+    private void warm() {
+        if (engines.size() >= size) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ScriptEngine engine = engineSupplier.get();
+            if (engine != null && !engines.offer(engine)) {
+                logger.trace("Jython script engine pool is full, discarding engine");
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to prepare a Jython script engine: {}", e.getMessage(), e);
+        }
+        logger.trace("Prepared a Jython script engine in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jythonscripting;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads synthetic scripts with prepared script engines, like at startup, and compares the load time with and without
+ * prepared engines. The times are only logged, they depend too much on the machine to be asserted.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class JythonScriptEngineFactoryTest {
+    private static final int SCRIPTS = 3;
+    private static final int BENCHMARK_SCRIPTS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(JythonScriptEngineFactoryTest.class);
+
+    /**
+     * Loads the given number of scripts and returns the time it took in milliseconds.
+     */
+    private long loadScripts(int enginePoolSize, int scripts) throws ScriptException {
+        JythonScriptEngineFactory factory = new JythonScriptEngineFactory(
+                Map.<String, Object> of("enginePoolSize", enginePoolSize));
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < scripts; i++) {
+                ScriptEngine engine = factory.createScriptEngine("py");
+                assertNotNull(engine);
+                assertNull(engine.get("result"), "A prepared engine must not contain variables of another script");
+
+                engine.eval("x = " + i + "\ndef twice(v):\n    return v * 2\nresult = twice(x)\n");
+                assertEquals(String.valueOf(2 * i), String.valueOf(engine.get("result")));
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            factory.removePythonPath();
+        }
+    }
+
+    @Test
+    public void preparedEnginesDoNotShareVariables() throws ScriptException {
+        loadScripts(1, SCRIPTS);
+    }
+
+    @Test
+    public void loadTimeWithAndWithoutPreparedEngines() throws ScriptException {
+        // the first interpreter initializes Jython itself and must not be part of the measurement
+        loadScripts(0, 1);
+
+        long withoutPool = loadScripts(0, BENCHMARK_SCRIPTS);
+        long withPool = loadScripts(4, BENCHMARK_SCRIPTS);
+
+        logger.info("Loaded {} scripts in {} ms without and in {} ms with prepared engines", BENCHMARK_SCRIPTS,
+                withoutPool, withPool);
+    }
+}
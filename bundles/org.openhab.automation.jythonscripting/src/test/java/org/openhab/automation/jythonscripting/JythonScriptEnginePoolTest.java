@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jythonscripting;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import javax.script.ScriptEngine;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link JythonScriptEnginePool} with engines that are cheap to create.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class JythonScriptEnginePoolTest {
+    private static final int POOL_SIZE = 2;
+
+    private final AtomicInteger createdCount = new AtomicInteger();
+    private final AtomicReference<@Nullable Thread> creatingThread = new AtomicReference<>();
+    private @Nullable JythonScriptEnginePool pool;
+
+    private JythonScriptEnginePool createPool(int size) {
+        JythonScriptEnginePool pool = new JythonScriptEnginePool(() -> {
+            createdCount.incrementAndGet();
+            creatingThread.set(Thread.currentThread());
+            return mock(ScriptEngine.class);
+        }, size);
+        this.pool = pool;
+        return pool;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JythonScriptEnginePool pool = this.pool;
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void poolIsFilledToItsSize() throws InterruptedException {
+        JythonScriptEnginePool pool = createPool(POOL_SIZE);
+
+        waitFor(() -> pool.getPreparedCount() == POOL_SIZE);
+        assertEquals(POOL_SIZE, createdCount.get());
+    }
+
+    @Test
+    public void takenEnginesAreReplacedAndNeverReused() throws InterruptedException {
+        JythonScriptEnginePool pool = createPool(POOL_SIZE);
+        waitFor(() -> pool.getPreparedCount() == POOL_SIZE);
+
+        Set<ScriptEngine> taken = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            ScriptEngine engine = pool.take();
+            assertNotNull(engine);
+            assertTrue(taken.add(engine), "An engine must only be handed out once");
+            waitFor(() -> pool.getPreparedCount() == POOL_SIZE);
+        }
+        // every taken engine is replaced by exactly one new engine
+        assertEquals(5 + POOL_SIZE, createdCount.get());
+    }
+
+    @Test
+    public void enginesAreCreatedOnDemandWithoutPool() {
+        JythonScriptEnginePool pool = createPool(0);
+
+        assertNotNull(pool.take());
+        assertEquals(1, createdCount.get());
+        assertSame(Thread.currentThread(), creatingThread.get());
+        assertEquals(0, pool.getPreparedCount());
+    }
+
+    @Test
+    public void disposeDiscardsPreparedEngines() throws InterruptedException {
+        JythonScriptEnginePool pool = createPool(POOL_SIZE);
+        waitFor(() -> pool.getPreparedCount() == POOL_SIZE);
+
+        pool.dispose();
+
+        assertEquals(0, pool.getPreparedCount());
+        // engines are still available, but not prepared anymore
+        assertNotNull(pool.take());
+        assertEquals(0, pool.getPreparedCount());
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Set;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.pidcontroller.internal.handler.PIDControllerActionHandler;
+import org.openhab.automation.pidcontroller.internal.handler.PIDControllerRuntime;
 import org.openhab.automation.pidcontroller.internal.handler.PIDControllerTriggerHandler;
 import org.openhab.core.automation.Action;
 import org.openhab.core.automation.Module;
@@ -27,7 +28,6 @@ import org.openhab.core.automation.handler.ModuleHandler;
 import org.openhab.core.automation.handler.ModuleHandlerFactory;
 import org.openhab.core.events.EventPublisher;
 import org.openhab.core.items.ItemRegistry;
-import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -43,14 +43,14 @@ public class PIDControllerModuleHandlerFactory extends BaseModuleHandlerFactory
             PIDControllerActionHandler.MODULE_TYPE_ID);
     private ItemRegistry itemRegistry;
     private EventPublisher eventPublisher;
-    private BundleContext bundleContext;
+    private PIDControllerRuntime runtime;
 
     @Activate
     public PIDControllerModuleHandlerFactory(@Reference ItemRegistry itemRegistry,
-            @Reference EventPublisher eventPublisher, BundleContext bundleContext) {
+            @Reference EventPublisher eventPublisher, @Reference PIDControllerRuntime runtime) {
         this.itemRegistry = itemRegistry;
         this.eventPublisher = eventPublisher;
-        this.bundleContext = bundleContext;
+        this.runtime = runtime;
     }
 
     @Override
@@ -62,7 +62,7 @@ public class PIDControllerModuleHandlerFactory extends BaseModuleHandlerFactory
     protected @Nullable ModuleHandler internalCreate(Module module, String ruleUID) {
         switch (module.getTypeUID()) {
             case PIDControllerTriggerHandler.MODULE_TYPE_ID:
-                return new PIDControllerTriggerHandler((Trigger) module, itemRegistry, eventPublisher, bundleContext);
+                return new PIDControllerTriggerHandler((Trigger) module, itemRegistry, eventPublisher, runtime);
             case PIDControllerActionHandler.MODULE_TYPE_ID:
                 return new PIDControllerActionHandler((Action) module, itemRegistry, eventPublisher);
         }
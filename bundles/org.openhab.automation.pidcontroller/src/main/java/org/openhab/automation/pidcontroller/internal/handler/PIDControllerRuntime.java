@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.AUTOMATION_NAME;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemEvent;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PIDControllerRuntime} is shared by all PID controllers. It runs the control loops of all controllers on
+ * one scheduler thread and receives the item state events once for all controllers. Events are passed only to the
+ * controllers that subscribed to the item of the event.
+ *
+ * @author Hilbrand Bouwkamp - Initial Contribution
+ */
+@Component(service = { PIDControllerRuntime.class, EventSubscriber.class })
+@NonNullByDefault
+public class PIDControllerRuntime implements EventSubscriber {
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE);
+    private final Logger logger = LoggerFactory.getLogger(PIDControllerRuntime.class);
+    private final Map<String, Set<Consumer<Event>>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final EventFilter eventFilter = event -> event instanceof ItemEvent
+            && subscribers.containsKey(((ItemEvent) event).getItemName());
+
+    @Activate
+    public PIDControllerRuntime() {
+        this(Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("automation-" + AUTOMATION_NAME, true)));
+    }
+
+    PIDControllerRuntime(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Deactivate
+    public void deactivate() {
+        scheduler.shutdownNow();
+        subscribers.clear();
+    }
+
+    /**
+     * Runs a control loop every loop time. All loops with the same loop time run at the same moments, the first run is
+     * on the next multiple of the loop time.
+     *
+     * @param loop the control loop
+     * @param loopTimeMs the loop time in milliseconds
+     * @return the scheduled job, which must be cancelled when the controller is disposed
+     */
+    public ScheduledFuture<?> schedule(Runnable loop, int loopTimeMs) {
+        long initialDelay = loopTimeMs - System.currentTimeMillis() % loopTimeMs;
+
+        return scheduler.scheduleAtFixedRate(() -> {
+            try {
+                loop.run();
+            } catch (RuntimeException e) {
+                // an exception would cancel all further executions of this loop
+                logger.warn("PID controller loop failed: {}", e.getMessage(), e);
+            }
+        }, initialDelay, loopTimeMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Passes the state events of an item to the given consumer.
+     *
+     * @param itemName the name of the item
+     * @param consumer the consumer of the {@link ItemStateEvent}s and {@link ItemStateChangedEvent}s of the item
+     */
+    public void subscribe(String itemName, Consumer<Event> consumer) {
+        subscribers.compute(itemName, (name, consumers) -> {
+            Set<Consumer<Event>> newConsumers = consumers == null ? new CopyOnWriteArraySet<>() : consumers;
+            newConsumers.add(consumer);
+            return newConsumers;
+        });
+    }
+
+    /**
+     * Removes the consumer from all items it subscribed to.
+     *
+     * @param consumer the consumer
+     */
+    public void unsubscribe(Consumer<Event> consumer) {
+        for (String itemName : subscribers.keySet()) {
+            subscribers.computeIfPresent(itemName, (name, consumers) -> {
+                consumers.remove(consumer);
+                return consumers.isEmpty() ? null : consumers;
+            });
+        }
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemEvent) {
+            Set<Consumer<Event>> consumers = subscribers.get(((ItemEvent) event).getItemName());
+
+            if (consumers != null) {
+                consumers.forEach(consumer -> consumer.accept(event));
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return eventFilter;
+    }
+}
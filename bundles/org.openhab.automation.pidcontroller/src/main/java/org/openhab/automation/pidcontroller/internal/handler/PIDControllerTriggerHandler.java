@@ -19,11 +19,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,24 +29,19 @@ import org.openhab.core.automation.ModuleHandlerCallback;
 import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
-import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.events.Event;
 import org.openhab.core.events.EventFilter;
 import org.openhab.core.events.EventPublisher;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemEventFactory;
 import org.openhab.core.items.events.ItemStateChangedEvent;
-import org.openhab.core.items.events.ItemStateEvent;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,13 +51,11 @@ import org.slf4j.LoggerFactory;
  * @author Fabian Wolter - Add PID debug output values
  */
 @NonNullByDefault
-public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PIDControllerTriggerHandler.class);
-    private final ScheduledExecutorService scheduler = Executors
-            .newSingleThreadScheduledExecutor(new NamedThreadFactory("automation-" + AUTOMATION_NAME, true));
-    private final ServiceRegistration<?> eventSubscriberRegistration;
+    private final PIDControllerRuntime runtime;
+    private final Consumer<Event> eventConsumer = this::receive;
     private final PIDController controller;
     private final int loopTimeMs;
     private @Nullable ScheduledFuture<?> controllerjob;
@@ -77,9 +67,10 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
     private EventPublisher eventPublisher;
 
     public PIDControllerTriggerHandler(Trigger module, ItemRegistry itemRegistry, EventPublisher eventPublisher,
-            BundleContext bundleContext) {
+            PIDControllerRuntime runtime) {
         super(module);
         this.eventPublisher = eventPublisher;
+        this.runtime = runtime;
 
         Configuration config = module.getConfiguration();
 
@@ -124,11 +115,15 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
                     || commandTopic.map(t -> topic.equals(t)).orElse(false);
         };
 
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+        runtime.subscribe(inputItemName, eventConsumer);
+        runtime.subscribe(setpointItemName, eventConsumer);
+        if (commandItemName != null) {
+            runtime.subscribe(commandItemName, eventConsumer);
+        }
 
         eventPublisher.post(ItemEventFactory.createCommandEvent(inputItemName, RefreshType.REFRESH));
 
-        controllerjob = scheduler.scheduleWithFixedDelay(this::calculate, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        controllerjob = runtime.schedule(this::calculate, loopTimeMs);
     }
 
     private <T> T requireNonNull(T obj, String message) {
@@ -142,7 +137,7 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         return ((BigDecimal) Objects.requireNonNull(config.get(key), key + " is not set")).doubleValue();
     }
 
-    private void calculate() {
+    private synchronized void calculate() {
         double input;
         double setpoint;
 
@@ -205,14 +200,18 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
                 "Item type is not a number: " + setpointState.getClass().getSimpleName() + ": " + setpointState);
     }
 
-    @Override
-    public void receive(Event event) {
+    private void receive(Event event) {
+        if (!eventFilter.apply(event)) {
+            return;
+        }
         if (event instanceof ItemStateChangedEvent) {
             if (commandTopic.isPresent() && event.getTopic().equals(commandTopic.get())) {
                 ItemStateChangedEvent changedEvent = (ItemStateChangedEvent) event;
                 if ("RESET".equals(changedEvent.getItemState().toString())) {
-                    controller.setIntegralResult(0);
-                    controller.setDerivativeResult(0);
+                    synchronized (this) {
+                        controller.setIntegralResult(0);
+                        controller.setDerivativeResult(0);
+                    }
                     eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
                 } else if (changedEvent.getItemState() != UnDefType.NULL) {
                     logger.warn("Unknown command: {}", changedEvent.getItemState());
@@ -223,27 +222,15 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         }
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
-    }
-
-    @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
-    }
-
     @Override
     public void dispose() {
-        eventSubscriberRegistration.unregister();
+        runtime.unsubscribe(eventConsumer);
 
         ScheduledFuture<?> localControllerjob = controllerjob;
         if (localControllerjob != null) {
             localControllerjob.cancel(true);
         }
 
-        scheduler.shutdown();
-
         super.dispose();
     }
 }
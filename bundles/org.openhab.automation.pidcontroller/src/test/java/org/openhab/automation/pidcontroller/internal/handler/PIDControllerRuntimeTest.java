@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * Simulates many rooms, each with a PID controller driving a heating valve, on one shared {@link PIDControllerRuntime}.
+ *
+ * @author Hilbrand Bouwkamp - Initial Contribution
+ */
+@NonNullByDefault
+class PIDControllerRuntimeTest {
+    private static final int ROOMS = 40;
+    private static final int LOOP_TIME_MS = 1000;
+    private static final double AMBIENT = 10;
+    private static final double TIME_CONSTANT_SEC = 60;
+
+    private final List<Runnable> loops = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final PIDControllerRuntime runtime = new PIDControllerRuntime(scheduler);
+
+    /**
+     * A room with a first order heating model. The controller output is the heating power in degrees above ambient.
+     */
+    private class Room {
+        private final PIDController controller = new PIDController(2, 0.05, 0, 0);
+        private final Consumer<Event> eventConsumer = this::receive;
+        private final String setpointItem;
+        private double temperature = 15;
+        private double setpoint = 21;
+        private int receivedEvents;
+
+        private Room(int number) {
+            setpointItem = "Room" + number + "_Setpoint";
+            runtime.subscribe(setpointItem, eventConsumer);
+            runtime.schedule(this::loop, LOOP_TIME_MS);
+        }
+
+        private void receive(Event event) {
+            receivedEvents++;
+            setpoint = ((DecimalType) ((ItemStateChangedEvent) event).getItemState()).doubleValue();
+        }
+
+        private void loop() {
+            double output = controller.calculate(temperature, setpoint, LOOP_TIME_MS, LOOP_TIME_MS).getOutput();
+            double power = Math.max(0, Math.min(30, output));
+            temperature += (power - (temperature - AMBIENT)) * LOOP_TIME_MS / 1000d / TIME_CONSTANT_SEC;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            loops.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+    }
+
+    private void runLoops(int times) {
+        for (int i = 0; i < times; i++) {
+            loops.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    void allControllersShareOneScheduler() {
+        for (int i = 0; i < ROOMS; i++) {
+            new Room(i);
+        }
+
+        assertEquals(ROOMS, loops.size());
+        verify(scheduler, times(ROOMS)).scheduleAtFixedRate(any(Runnable.class), longThat(d -> d <= LOOP_TIME_MS),
+                eq((long) LOOP_TIME_MS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void controllersReachSetpoints() {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new Room(i));
+        }
+
+        runLoops(1800);
+        rooms.forEach(room -> assertEquals(21, room.temperature, 0.01));
+
+        // lower the setpoint of every second room
+        for (int i = 0; i < ROOMS; i += 2) {
+            runtime.receive(ItemEventFactory.createStateChangedEvent(rooms.get(i).setpointItem, new DecimalType(18),
+                    new DecimalType(21)));
+        }
+        runLoops(1800);
+
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = rooms.get(i);
+            boolean changed = i % 2 == 0;
+
+            assertEquals(changed ? 1 : 0, room.receivedEvents);
+            assertEquals(changed ? 18 : 21, room.temperature, 0.01);
+        }
+    }
+
+    @Test
+    void eventsAreOnlyRoutedToSubscribedItems() {
+        Room room = new Room(0);
+        EventFilter eventFilter = Objects.requireNonNull(runtime.getEventFilter());
+        Event otherItemEvent = ItemEventFactory.createStateChangedEvent("Other", new DecimalType(1),
+                new DecimalType(0));
+
+        assertFalse(eventFilter.apply(otherItemEvent));
+        runtime.receive(otherItemEvent);
+        assertEquals(0, room.receivedEvents);
+
+        Event setpointEvent = ItemEventFactory.createStateChangedEvent(room.setpointItem, new DecimalType(1),
+                new DecimalType(0));
+        assertTrue(eventFilter.apply(setpointEvent));
+
+        runtime.unsubscribe(room.eventConsumer);
+        assertFalse(eventFilter.apply(setpointEvent));
+        runtime.receive(setpointEvent);
+        assertEquals(0, room.receivedEvents);
+    }
+}
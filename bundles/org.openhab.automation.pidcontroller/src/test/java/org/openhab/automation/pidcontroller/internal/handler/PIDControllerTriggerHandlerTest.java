@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.automation.Trigger;
+import org.openhab.core.automation.handler.TriggerHandlerCallback;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventPublisher;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.events.ItemCommandEvent;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.RefreshType;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Tests the item event subscriptions of the {@link PIDControllerTriggerHandler} on the shared
+ * {@link PIDControllerRuntime}.
+ *
+ * @author Hilbrand Bouwkamp - Initial Contribution
+ */
+@NonNullByDefault
+class PIDControllerTriggerHandlerTest {
+    private static final String INPUT = "Input";
+    private static final String SETPOINT = "Setpoint";
+    private static final String COMMAND = "Command";
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> loopJob = mock(ScheduledFuture.class);
+    private final PIDControllerRuntime runtime = new PIDControllerRuntime(scheduler);
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final EventPublisher eventPublisher = mock(EventPublisher.class);
+    private final NumberItem inputItem = new NumberItem(INPUT);
+    private final NumberItem setpointItem = new NumberItem(SETPOINT);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doReturn(loopJob).when(scheduler).scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        inputItem.setState(new DecimalType(19));
+        setpointItem.setState(new DecimalType(21));
+        when(itemRegistry.getItem(INPUT)).thenReturn(inputItem);
+        when(itemRegistry.getItem(SETPOINT)).thenReturn(setpointItem);
+    }
+
+    private Trigger createTrigger(String id) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(CONFIG_INPUT_ITEM, INPUT);
+        config.put(CONFIG_SETPOINT_ITEM, SETPOINT);
+        config.put(CONFIG_COMMAND_ITEM, COMMAND);
+        config.put(CONFIG_KP_GAIN, BigDecimal.ONE);
+        config.put(CONFIG_KI_GAIN, BigDecimal.ZERO);
+        config.put(CONFIG_KD_GAIN, BigDecimal.ZERO);
+        config.put(CONFIG_KD_TIMECONSTANT, BigDecimal.ONE);
+        config.put(CONFIG_LOOP_TIME, BigDecimal.valueOf(1000));
+
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getId()).thenReturn(id);
+        when(trigger.getConfiguration()).thenReturn(new Configuration(config));
+        return trigger;
+    }
+
+    private PIDControllerTriggerHandler createHandler(Trigger trigger, TriggerHandlerCallback callback) {
+        PIDControllerTriggerHandler handler = new PIDControllerTriggerHandler(trigger, itemRegistry, eventPublisher,
+                runtime);
+        handler.setCallback(callback);
+        return handler;
+    }
+
+    private static Event inputChanged() {
+        return ItemEventFactory.createStateChangedEvent(INPUT, new DecimalType(20), new DecimalType(19));
+    }
+
+    @Test
+    void itemsAreSubscribedOnCreation() {
+        createHandler(createTrigger("trigger"), mock(TriggerHandlerCallback.class));
+        EventFilter eventFilter = Objects.requireNonNull(runtime.getEventFilter());
+
+        assertTrue(eventFilter.apply(inputChanged()));
+        assertTrue(eventFilter.apply(
+                ItemEventFactory.createStateChangedEvent(SETPOINT, new DecimalType(20), new DecimalType(21))));
+        assertTrue(eventFilter.apply(
+                ItemEventFactory.createStateChangedEvent(COMMAND, new StringType("RESET"), UnDefType.NULL)));
+        assertFalse(eventFilter.apply(
+                ItemEventFactory.createStateChangedEvent("Other", new DecimalType(1), new DecimalType(0))));
+
+        // the current input value is requested once
+        ArgumentCaptor<Event> event = ArgumentCaptor.forClass(Event.class);
+        verify(eventPublisher).post(event.capture());
+        assertEquals(INPUT, ((ItemCommandEvent) event.getValue()).getItemName());
+        assertEquals(RefreshType.REFRESH, ((ItemCommandEvent) event.getValue()).getItemCommand());
+    }
+
+    @Test
+    void inputChangeTriggersCalculation() {
+        Trigger trigger = createTrigger("trigger");
+        TriggerHandlerCallback callback = mock(TriggerHandlerCallback.class);
+        createHandler(trigger, callback);
+
+        runtime.receive(inputChanged());
+
+        verify(callback).triggered(eq(trigger), argThat(outputs -> outputs.containsKey(OUTPUT)));
+    }
+
+    @Test
+    void resetCommandIsAcknowledged() {
+        TriggerHandlerCallback callback = mock(TriggerHandlerCallback.class);
+        createHandler(createTrigger("trigger"), callback);
+        reset(eventPublisher);
+
+        runtime.receive(ItemEventFactory.createStateChangedEvent(COMMAND, new StringType("RESET"), UnDefType.NULL));
+
+        ArgumentCaptor<Event> event = ArgumentCaptor.forClass(Event.class);
+        verify(eventPublisher).post(event.capture());
+        assertEquals(COMMAND, ((ItemStateEvent) event.getValue()).getItemName());
+        assertEquals(UnDefType.NULL, ((ItemStateEvent) event.getValue()).getItemState());
+        verify(callback, never()).triggered(any(), any());
+    }
+
+    @Test
+    void disposeUnsubscribesAndStopsLoop() {
+        TriggerHandlerCallback callback = mock(TriggerHandlerCallback.class);
+        PIDControllerTriggerHandler handler = createHandler(createTrigger("trigger"), callback);
+
+        handler.dispose();
+
+        verify(loopJob).cancel(true);
+        assertFalse(Objects.requireNonNull(runtime.getEventFilter()).apply(inputChanged()));
+        runtime.receive(inputChanged());
+        verify(callback, never()).triggered(any(), any());
+    }
+
+    @Test
+    void disposeKeepsSubscriptionsOfOtherControllers() {
+        TriggerHandlerCallback firstCallback = mock(TriggerHandlerCallback.class);
+        TriggerHandlerCallback secondCallback = mock(TriggerHandlerCallback.class);
+        PIDControllerTriggerHandler first = createHandler(createTrigger("first"), firstCallback);
+        Trigger secondTrigger = createTrigger("second");
+        createHandler(secondTrigger, secondCallback);
+
+        first.dispose();
+        runtime.receive(inputChanged());
+
+        verify(firstCallback, never()).triggered(any(), any());
+        verify(secondCallback).triggered(eq(secondTrigger), anyMap());
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.binding.bluetooth.bluegiga;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -48,6 +49,7 @@ import org.openhab.binding.bluetooth.bluegiga.internal.eir.EirPacket;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BgApiResponse;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BluetoothAddressType;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ConnectionStatusFlag;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
@@ -59,10 +61,13 @@ import org.slf4j.LoggerFactory;
  * An extended {@link BluetoothDevice} class to handle BlueGiga specific information
  *
  * @author Chris Jackson - Initial contribution
+ * @author Hilbrand Bouwkamp - Skip repeated advertisements
  */
 @NonNullByDefault
 public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements BlueGigaEventListener {
     private final long TIMEOUT_SEC = 60;
+    private static final long REPEATED_ADVERTISEMENT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long DISCOVERY_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
 
     private final Logger logger = LoggerFactory.getLogger(BlueGigaBluetoothDevice.class);
 
@@ -95,6 +100,12 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
     // The connection handle if the device is connected
     private int connection = -1;
 
+    // The last advertisement passed to the listeners
+    private @Nullable ScanResponseType lastScanPacketType;
+    private int[] lastScanData = new int[0];
+    private long lastScanNotification;
+    private volatile long lastDiscoveryReport;
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("bluetooth");
 
     private @Nullable ScheduledFuture<?> connectTimer;
@@ -383,16 +394,17 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
 
     private void handleScanEvent(BlueGigaScanResponseEvent event) {
         // Check if this is addressed to this device
-        if (!address.equals(new BluetoothAddress(event.getSender()))) {
+        if (!address.equals(event.getSenderAddress())) {
             return;
         }
 
         logger.trace("scanEvent: {}", event);
-        updateLastSeenTime();
+        updateFromScanEvent(event);
 
-        // Set device properties
-        rssi = event.getRssi();
-        addressType = event.getAddressType();
+        if (isRepeatedAdvertisement(event)) {
+            logger.trace("Ignoring repeated advertisement of {}", address);
+            return;
+        }
 
         byte[] manufacturerData = null;
 
@@ -505,6 +517,51 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
         notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
     }
 
+    /**
+     * Updates the properties of the device which every advertisement carries: the last seen time, the RSSI and the
+     * address type.
+     *
+     * @param event a scan response event of this device
+     */
+    public void updateFromScanEvent(BlueGigaScanResponseEvent event) {
+        updateLastSeenTime();
+        rssi = event.getRssi();
+        addressType = event.getAddressType();
+    }
+
+    /**
+     * Checks if the advertisement has the same content as the last one passed to the listeners, and was received
+     * shortly after it. Beacons send the same advertisement many times per second, parsing and passing each of them
+     * on would only load the system.
+     */
+    private boolean isRepeatedAdvertisement(BlueGigaScanResponseEvent event) {
+        long now = System.nanoTime();
+        if (connectionState != ConnectionState.DISCOVERING && event.getPacketType() == lastScanPacketType
+                && now - lastScanNotification < REPEATED_ADVERTISEMENT_INTERVAL_NANOS
+                && Arrays.equals(event.getData(), lastScanData)) {
+            return true;
+        }
+        lastScanPacketType = event.getPacketType();
+        lastScanData = event.getData();
+        lastScanNotification = now;
+        return false;
+    }
+
+    /**
+     * Checks if the bridge should report this device to the discovery listeners for a received advertisement. The
+     * device is reported at most once per {@link #DISCOVERY_REPORT_INTERVAL_NANOS}.
+     *
+     * @return true if the device should be reported
+     */
+    public boolean isDiscoveryReportDue() {
+        long now = System.nanoTime();
+        if (lastDiscoveryReport != 0 && now - lastDiscoveryReport < DISCOVERY_REPORT_INTERVAL_NANOS) {
+            return false;
+        }
+        lastDiscoveryReport = now;
+        return true;
+    }
+
     private void handleGroupFoundEvent(BlueGigaGroupFoundEvent event) {
         // If this is not our connection handle then ignore.
         if (connection != event.getConnection()) {
@@ -741,10 +741,12 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
 
                 // We use the scan event to add any devices we hear to the devices list
                 // The device gets created, and then manages itself for discovery etc.
-                BluetoothAddress sender = new BluetoothAddress(scanEvent.getSender());
-                BlueGigaBluetoothDevice device = getDevice(sender);
-                device.setAddressType(scanEvent.getAddressType());
-                deviceDiscovered(device);
+                BlueGigaBluetoothDevice device = getDevice(scanEvent.getSenderAddress());
+                // a new device has not received this event itself, it needs the RSSI to be reported as reachable
+                device.updateFromScanEvent(scanEvent);
+                if (device.isDiscoveryReportDue()) {
+                    deviceDiscovered(device);
+                }
             } else {
                 logger.trace("Ignore BlueGigaScanResponseEvent as initialization is not complete");
             }
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the byte stream received from the BlueGiga dongle into BGAPI frames. Received bytes are collected in a ring
+ * buffer, so the stream can be read in blocks of any size.
+ * <p>
+ * The BGAPI protocol has no packet framing, and no error detection, so we do a few sanity checks on the header to try
+ * and allow resynchronisation should there be an error. If a header is invalid, the first byte is dropped and the
+ * search for a valid header continues with the next byte.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BlueGigaFrameParser {
+
+    public static final int BLE_MAX_LENGTH = 64;
+
+    private static final int HEADER_LENGTH = 4;
+    // Byte 0: Check technology type is bluetooth and high length is 0
+    // Byte 1: Check length is less than 64 bytes
+    // Byte 2: Check class ID is less than 8
+    private static final int[] HEADER_CHECK = { 0x7F, 0xC0, 0xF8 };
+
+    // must be a power of two
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaFrameParser.class);
+
+    private final int[] ring = new int[CAPACITY];
+    private final int[] frame = new int[BLE_MAX_LENGTH];
+    private int head = 0;
+    private int count = 0;
+    private long framingErrors = 0;
+
+    /**
+     * Adds received bytes and passes all frames which are complete to the consumer. The frame array is reused for
+     * every frame, so the consumer must not keep a reference to it.
+     *
+     * @param data the received bytes
+     * @param length the number of received bytes in data
+     * @param frameConsumer the consumer of the frames
+     */
+    public void parse(byte[] data, int length, Consumer<int[]> frameConsumer) {
+        int offset = 0;
+        while (offset < length) {
+            while (offset < length && count < CAPACITY) {
+                ring[(head + count++) & MASK] = data[offset++] & 0xFF;
+            }
+            extractFrames(frameConsumer);
+        }
+    }
+
+    /**
+     * @return the number of bytes which have been dropped to resynchronise with the frames
+     */
+    public long getFramingErrors() {
+        return framingErrors;
+    }
+
+    /**
+     * Drops all received bytes which are not part of a complete frame yet.
+     */
+    public void reset() {
+        head = 0;
+        count = 0;
+    }
+
+    private void extractFrames(Consumer<int[]> frameConsumer) {
+        while (count >= HEADER_LENGTH) {
+            if (!isValidHeader()) {
+                dropBytes(1);
+                continue;
+            }
+            int length = get(1) + HEADER_LENGTH;
+            if (length > BLE_MAX_LENGTH) {
+                logger.debug("BLE length larger than 64 bytes ({})", length);
+                framingErrors++;
+                dropBytes(1);
+                continue;
+            }
+            if (count < length) {
+                return;
+            }
+            for (int i = 0; i < length; i++) {
+                frame[i] = get(i);
+            }
+            dropBytes(length);
+            frameConsumer.accept(frame);
+        }
+    }
+
+    private boolean isValidHeader() {
+        for (int i = 0; i < HEADER_CHECK.length; i++) {
+            int value = get(i);
+            if ((value & HEADER_CHECK[i]) != 0) {
+                logger.debug("BlueGiga framing error byte {} = {}", i + 1, value);
+                framingErrors++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int get(int index) {
+        return ring[(head + index) & MASK];
+    }
+
+    private void dropBytes(int number) {
+        head = (head + number) & MASK;
+        count -= number;
+    }
+}
@@ -13,10 +13,13 @@
 package org.openhab.binding.bluetooth.bluegiga.internal;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.bluetooth.BluetoothAddress;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.AttributeChangeReason;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.AttributeValueType;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BgApiResponse;
@@ -33,6 +36,10 @@ import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseT
  */
 @NonNullByDefault
 public abstract class BlueGigaResponse extends BlueGigaPacket {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int MAX_CACHED_ADDRESSES = 1024;
+    private static final Map<Long, BluetoothAddress> ADDRESSES = new ConcurrentHashMap<>();
+
     private int[] buffer = new int[131];
     private int position = 0;
     protected boolean event = false;
@@ -174,16 +181,40 @@ public abstract class BlueGigaResponse extends BlueGigaPacket {
     }
 
     protected String deserializeAddress() {
-        StringBuilder builder = new StringBuilder();
+        return deserializeBluetoothAddress().toString();
+    }
 
+    /**
+     * Reads a Bluetooth address. The same {@link BluetoothAddress} instance is returned for the same address, so
+     * frequent advertisements of the same device do not create new addresses.
+     *
+     * @return the address read from input
+     */
+    protected BluetoothAddress deserializeBluetoothAddress() {
+        long key = 0;
         for (int cnt = 5; cnt >= 0; cnt--) {
-            if (cnt < 5) {
-                builder.append(':');
+            key = (key << 8) | (buffer[position + cnt] & 0xFF);
+        }
+
+        BluetoothAddress address = ADDRESSES.get(key);
+        if (address == null) {
+            char[] chars = new char[BluetoothAddress.BD_ADDRESS_LENGTH];
+            for (int cnt = 5, i = 0; cnt >= 0; cnt--) {
+                if (cnt < 5) {
+                    chars[i++] = ':';
+                }
+                chars[i++] = HEX_DIGITS[(buffer[position + cnt] >> 4) & 0x0F];
+                chars[i++] = HEX_DIGITS[buffer[position + cnt] & 0x0F];
+            }
+            address = new BluetoothAddress(new String(chars));
+            if (ADDRESSES.size() >= MAX_CACHED_ADDRESSES) {
+                // devices with random addresses may create new addresses all the time
+                ADDRESSES.clear();
             }
-            builder.append(String.format("%02X", buffer[position + cnt]));
+            ADDRESSES.put(key, address);
         }
         position += 6;
 
-        return builder.toString();
+        return address;
     }
 }
@@ -14,9 +14,6 @@ package org.openhab.binding.bluetooth.bluegiga.internal;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -103,102 +100,110 @@ class BlueGigaResponsePackets {
 
     private static Logger logger = LoggerFactory.getLogger(BlueGigaResponsePackets.class);
 
-    private static final Map<Integer, Class<?>> packetMap = new HashMap<>();
+    // constructors of the packet classes, indexed by command class, command method and event flag
+    private static final @Nullable Constructor<?>[] PACKET_CONSTRUCTORS = new Constructor<?>[8 * 256 * 2];
 
     static {
-        packetMap.put(Objects.hash(0x00, 0x06, true), BlueGigaProtocolErrorEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x02, true), BlueGigaEndpointWatermarkRxEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x03, true), BlueGigaEndpointWatermarkTxEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x05, true), BlueGigaNoLicenseKeyEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x05, false), BlueGigaAttributeWriteResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x0A, false), BlueGigaExecuteWriteResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x00, false), BlueGigaFindByTypeValueResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x03, false), BlueGigaFindInformationResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x07, false), BlueGigaIndicateConfirmResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x09, false), BlueGigaPrepareWriteResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x01, false), BlueGigaReadByGroupTypeResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x04, false), BlueGigaReadByHandleResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x02, false), BlueGigaReadByTypeResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x08, false), BlueGigaReadLongResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x0B, false), BlueGigaReadMultipleResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x06, false), BlueGigaWriteCommandResponse.class);
-        packetMap.put(Objects.hash(0x04, 0x01, true), BlueGigaProcedureCompletedEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x05, true), BlueGigaAttributeValueEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x04, true), BlueGigaFindInformationFoundEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x02, true), BlueGigaGroupFoundEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x00, true), BlueGigaIndicatedEvent.class);
-        packetMap.put(Objects.hash(0x04, 0x00, true), BlueGigaReadMultipleResponseEvent.class);
-        packetMap.put(Objects.hash(0x02, 0x01, false), BlueGigaReadResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x02, false), BlueGigaReadTypeResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x02, false), BlueGigaSendAttributesResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x03, false), BlueGigaUserReadResponseResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x04, false), BlueGigaUserWriteResponseResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x00, false), BlueGigaWriteResponse.class);
-        packetMap.put(Objects.hash(0x02, 0x02, true), BlueGigaAttributeStatusEvent.class);
-        packetMap.put(Objects.hash(0x02, 0x01, true), BlueGigaUserReadRequestEvent.class);
-        packetMap.put(Objects.hash(0x02, 0x00, true), BlueGigaValueEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x04, false), BlueGigaChannelMapGetResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x00, false), BlueGigaDisconnectResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x01, false), BlueGigaGetRssiResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x07, false), BlueGigaGetStatusResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x02, false), BlueGigaUpdateResponse.class);
-        packetMap.put(Objects.hash(0x03, 0x04, true), BlueGigaDisconnectedEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x02, true), BlueGigaFeatureIndEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x00, true), BlueGigaConnectionStatusEvent.class);
-        packetMap.put(Objects.hash(0x03, 0x01, true), BlueGigaVersionIndEvent.class);
-        packetMap.put(Objects.hash(0x06, 0x07, false), BlueGigaSetScanParametersResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x03, false), BlueGigaConnectDirectResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x05, false), BlueGigaConnectSelectiveResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x02, false), BlueGigaDiscoverResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x08, false), BlueGigaSetAdvParametersResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x09, false), BlueGigaSetAdvDataResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x04, false), BlueGigaEndProcedureResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x01, false), BlueGigaSetModeResponse.class);
-        packetMap.put(Objects.hash(0x06, 0x00, true), BlueGigaScanResponseEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x02, false), BlueGigaDeleteBondingResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x00, false), BlueGigaEncryptStartResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x05, false), BlueGigaGetBondsResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x04, false), BlueGigaPassKeyResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x01, false), BlueGigaSetBondableModeResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x03, false), BlueGigaSetParametersResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x07, false), BlueGigaWhitelistBondsResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x0A, false), BlueGigaWhitelistAppendResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x0B, false), BlueGigaWhitelistRemoveResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x0C, false), BlueGigaWhitelistClearResponse.class);
-        packetMap.put(Objects.hash(0x05, 0x01, true), BlueGigaBondingFailEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x04, true), BlueGigaBondStatusEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x02, true), BlueGigaPasskeyDisplayEvent.class);
-        packetMap.put(Objects.hash(0x05, 0x03, true), BlueGigaPasskeyRequestEvent.class);
-        packetMap.put(Objects.hash(0x00, 0x02, false), BlueGigaAddressGetResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x01, false), BlueGigaHelloResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x00, false), BlueGigaResetResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x06, false), BlueGigaGetConnectionsResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x05, false), BlueGigaGetCountersResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x08, false), BlueGigaGetInfoResponse.class);
-        packetMap.put(Objects.hash(0x00, 0x00, true), BlueGigaBootEvent.class);
+        addPacket(0x00, 0x06, true, BlueGigaProtocolErrorEvent.class);
+        addPacket(0x00, 0x02, true, BlueGigaEndpointWatermarkRxEvent.class);
+        addPacket(0x00, 0x03, true, BlueGigaEndpointWatermarkTxEvent.class);
+        addPacket(0x00, 0x05, true, BlueGigaNoLicenseKeyEvent.class);
+        addPacket(0x04, 0x05, false, BlueGigaAttributeWriteResponse.class);
+        addPacket(0x04, 0x0A, false, BlueGigaExecuteWriteResponse.class);
+        addPacket(0x04, 0x00, false, BlueGigaFindByTypeValueResponse.class);
+        addPacket(0x04, 0x03, false, BlueGigaFindInformationResponse.class);
+        addPacket(0x04, 0x07, false, BlueGigaIndicateConfirmResponse.class);
+        addPacket(0x04, 0x09, false, BlueGigaPrepareWriteResponse.class);
+        addPacket(0x04, 0x01, false, BlueGigaReadByGroupTypeResponse.class);
+        addPacket(0x04, 0x04, false, BlueGigaReadByHandleResponse.class);
+        addPacket(0x04, 0x02, false, BlueGigaReadByTypeResponse.class);
+        addPacket(0x04, 0x08, false, BlueGigaReadLongResponse.class);
+        addPacket(0x04, 0x0B, false, BlueGigaReadMultipleResponse.class);
+        addPacket(0x04, 0x06, false, BlueGigaWriteCommandResponse.class);
+        addPacket(0x04, 0x01, true, BlueGigaProcedureCompletedEvent.class);
+        addPacket(0x04, 0x05, true, BlueGigaAttributeValueEvent.class);
+        addPacket(0x04, 0x04, true, BlueGigaFindInformationFoundEvent.class);
+        addPacket(0x04, 0x02, true, BlueGigaGroupFoundEvent.class);
+        addPacket(0x04, 0x00, true, BlueGigaIndicatedEvent.class);
+        addPacket(0x04, 0x00, true, BlueGigaReadMultipleResponseEvent.class);
+        addPacket(0x02, 0x01, false, BlueGigaReadResponse.class);
+        addPacket(0x02, 0x02, false, BlueGigaReadTypeResponse.class);
+        addPacket(0x02, 0x02, false, BlueGigaSendAttributesResponse.class);
+        addPacket(0x02, 0x03, false, BlueGigaUserReadResponseResponse.class);
+        addPacket(0x02, 0x04, false, BlueGigaUserWriteResponseResponse.class);
+        addPacket(0x02, 0x00, false, BlueGigaWriteResponse.class);
+        addPacket(0x02, 0x02, true, BlueGigaAttributeStatusEvent.class);
+        addPacket(0x02, 0x01, true, BlueGigaUserReadRequestEvent.class);
+        addPacket(0x02, 0x00, true, BlueGigaValueEvent.class);
+        addPacket(0x03, 0x04, false, BlueGigaChannelMapGetResponse.class);
+        addPacket(0x03, 0x00, false, BlueGigaDisconnectResponse.class);
+        addPacket(0x03, 0x01, false, BlueGigaGetRssiResponse.class);
+        addPacket(0x03, 0x07, false, BlueGigaGetStatusResponse.class);
+        addPacket(0x03, 0x02, false, BlueGigaUpdateResponse.class);
+        addPacket(0x03, 0x04, true, BlueGigaDisconnectedEvent.class);
+        addPacket(0x03, 0x02, true, BlueGigaFeatureIndEvent.class);
+        addPacket(0x03, 0x00, true, BlueGigaConnectionStatusEvent.class);
+        addPacket(0x03, 0x01, true, BlueGigaVersionIndEvent.class);
+        addPacket(0x06, 0x07, false, BlueGigaSetScanParametersResponse.class);
+        addPacket(0x06, 0x03, false, BlueGigaConnectDirectResponse.class);
+        addPacket(0x06, 0x05, false, BlueGigaConnectSelectiveResponse.class);
+        addPacket(0x06, 0x02, false, BlueGigaDiscoverResponse.class);
+        addPacket(0x06, 0x08, false, BlueGigaSetAdvParametersResponse.class);
+        addPacket(0x06, 0x09, false, BlueGigaSetAdvDataResponse.class);
+        addPacket(0x06, 0x04, false, BlueGigaEndProcedureResponse.class);
+        addPacket(0x06, 0x01, false, BlueGigaSetModeResponse.class);
+        addPacket(0x06, 0x00, true, BlueGigaScanResponseEvent.class);
+        addPacket(0x05, 0x02, false, BlueGigaDeleteBondingResponse.class);
+        addPacket(0x05, 0x00, false, BlueGigaEncryptStartResponse.class);
+        addPacket(0x05, 0x05, false, BlueGigaGetBondsResponse.class);
+        addPacket(0x05, 0x04, false, BlueGigaPassKeyResponse.class);
+        addPacket(0x05, 0x01, false, BlueGigaSetBondableModeResponse.class);
+        addPacket(0x05, 0x03, false, BlueGigaSetParametersResponse.class);
+        addPacket(0x05, 0x07, false, BlueGigaWhitelistBondsResponse.class);
+        addPacket(0x00, 0x0A, false, BlueGigaWhitelistAppendResponse.class);
+        addPacket(0x00, 0x0B, false, BlueGigaWhitelistRemoveResponse.class);
+        addPacket(0x00, 0x0C, false, BlueGigaWhitelistClearResponse.class);
+        addPacket(0x05, 0x01, true, BlueGigaBondingFailEvent.class);
+        addPacket(0x05, 0x04, true, BlueGigaBondStatusEvent.class);
+        addPacket(0x05, 0x02, true, BlueGigaPasskeyDisplayEvent.class);
+        addPacket(0x05, 0x03, true, BlueGigaPasskeyRequestEvent.class);
+        addPacket(0x00, 0x02, false, BlueGigaAddressGetResponse.class);
+        addPacket(0x00, 0x01, false, BlueGigaHelloResponse.class);
+        addPacket(0x00, 0x00, false, BlueGigaResetResponse.class);
+        addPacket(0x00, 0x06, false, BlueGigaGetConnectionsResponse.class);
+        addPacket(0x00, 0x05, false, BlueGigaGetCountersResponse.class);
+        addPacket(0x00, 0x08, false, BlueGigaGetInfoResponse.class);
+        addPacket(0x00, 0x00, true, BlueGigaBootEvent.class);
+    }
+
+    private static int index(int cmdClass, int cmdMethod, boolean isEvent) {
+        return ((cmdClass & 0x07) << 9) | ((cmdMethod & 0xFF) << 1) | (isEvent ? 1 : 0);
+    }
+
+    private static void addPacket(int cmdClass, int cmdMethod, boolean isEvent, Class<?> bleClass) {
+        try {
+            PACKET_CONSTRUCTORS[index(cmdClass, cmdMethod, isEvent)] = bleClass.getConstructor(int[].class);
+        } catch (NoSuchMethodException | SecurityException e) {
+            logger.error("Error getting constructor of BLE class {}", bleClass, e);
+        }
     }
 
-    @SuppressWarnings({ "null", "unused" })
     @Nullable
     public static BlueGigaResponse getPacket(int[] data) {
         int cmdClass = data[2];
         int cmdMethod = data[3];
         boolean isEvent = (data[0] & 0x80) != 0;
 
-        Class<?> bleClass = packetMap.get(Objects.hash(cmdClass, cmdMethod, isEvent));
+        Constructor<?> ctor = PACKET_CONSTRUCTORS[index(cmdClass, cmdMethod, isEvent)];
 
-        if (bleClass == null) {
+        if (ctor == null) {
             return null;
         }
 
-        Constructor<?> ctor;
-
         try {
-            ctor = bleClass.getConstructor(int[].class);
-            BlueGigaResponse bleFrame = (BlueGigaResponse) ctor.newInstance(data);
-            return bleFrame;
-        } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
-                | IllegalArgumentException | InvocationTargetException e) {
+            return (BlueGigaResponse) ctor.newInstance(data);
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException e) {
             logger.error("Error instantiating BLE class", e);
         }
 
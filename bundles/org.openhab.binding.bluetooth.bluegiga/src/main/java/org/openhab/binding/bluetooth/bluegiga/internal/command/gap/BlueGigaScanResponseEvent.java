@@ -13,6 +13,7 @@
 package org.openhab.binding.bluetooth.bluegiga.internal.command.gap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.bluetooth.BluetoothAddress;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaResponse;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BluetoothAddressType;
 import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
@@ -52,9 +53,9 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
     /**
      * Advertisers address
      * <p>
-     * BlueGiga API type is <i>bd_addr</i> - Java type is {@link String}
+     * BlueGiga API type is <i>bd_addr</i> - Java type is {@link BluetoothAddress}
      */
-    private String sender;
+    private BluetoothAddress sender;
 
     /**
      * Advertiser address type. 1: random address. 0: public address
@@ -89,7 +90,7 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
         // Deserialize the fields
         rssi = deserializeInt8();
         packetType = deserializeScanResponseType();
-        sender = deserializeAddress();
+        sender = deserializeBluetoothAddress();
         addressType = deserializeBluetoothAddressType();
         bond = deserializeUInt8();
         data = deserializeUInt8Array();
@@ -126,6 +127,15 @@ public class BlueGigaScanResponseEvent extends BlueGigaResponse {
      * @return the current sender as {@link String}
      */
     public String getSender() {
+        return sender.toString();
+    }
+
+    /**
+     * Advertisers address
+     *
+     * @return the current sender as {@link BluetoothAddress}
+     */
+    public BluetoothAddress getSenderAddress() {
         return sender;
     }
 
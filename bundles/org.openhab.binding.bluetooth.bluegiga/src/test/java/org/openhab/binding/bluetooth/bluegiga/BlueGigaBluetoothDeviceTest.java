@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BluetoothDeviceListener;
+import org.openhab.binding.bluetooth.bluegiga.handler.BlueGigaBridgeHandler;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.BluetoothAddressType;
+
+/**
+ * Tests the handling of repeated advertisements by the {@link BlueGigaBluetoothDevice}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaBluetoothDeviceTest {
+
+    private final BlueGigaBridgeHandler bridgeHandler = mock(BlueGigaBridgeHandler.class);
+    private final BluetoothDeviceListener listener = mock(BluetoothDeviceListener.class);
+    private final BlueGigaBluetoothDevice device = new BlueGigaBluetoothDevice(bridgeHandler,
+            scanResponse(-60, 1).getSenderAddress(), BluetoothAddressType.GAP_ADDRESS_TYPE_RANDOM);
+
+    /**
+     * Creates a connectable advertisement of the same advertiser with the given RSSI and manufacturer data counter.
+     */
+    private static BlueGigaScanResponseEvent scanResponse(int rssi, int counter) {
+        int[] data = { 0x02, 0x01, 0x06, 0x05, 0xFF, 0x99, 0x04, counter & 0xFF, (counter >> 8) & 0xFF };
+        int[] frame = new int[15 + data.length];
+        int[] header = { 0x80, 11 + data.length, 0x06, 0x00, rssi & 0xFF, 0x00, 0x01, 0x00, 0x33, 0x22, 0x11, 0xC0,
+                0x01, 0xFF, data.length };
+        System.arraycopy(header, 0, frame, 0, header.length);
+        System.arraycopy(data, 0, frame, header.length, data.length);
+        return new BlueGigaScanResponseEvent(frame);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        device.addListener(listener);
+    }
+
+    @Test
+    public void repeatedAdvertisementIsDropped() {
+        device.bluegigaEventReceived(scanResponse(-60, 1));
+        device.bluegigaEventReceived(scanResponse(-70, 1));
+
+        verify(listener, times(1)).onScanRecordReceived(any());
+        // the RSSI of a dropped advertisement is still taken
+        assertEquals(-70, device.getRssi());
+    }
+
+    @Test
+    public void changedAdvertisementIsPassedOn() {
+        device.bluegigaEventReceived(scanResponse(-60, 1));
+        device.bluegigaEventReceived(scanResponse(-60, 2));
+        device.bluegigaEventReceived(scanResponse(-60, 1));
+
+        verify(listener, times(3)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void scanResponseMakesNewDeviceReachable() {
+        assertNull(device.getRssi());
+
+        device.updateFromScanEvent(scanResponse(-65, 1));
+
+        assertEquals(-65, device.getRssi());
+        assertTrue(device.isDiscoveryReportDue());
+        assertFalse(device.isDiscoveryReportDue());
+    }
+}
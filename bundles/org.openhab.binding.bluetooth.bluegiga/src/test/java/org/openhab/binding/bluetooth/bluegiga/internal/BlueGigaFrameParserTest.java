@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.gap.BlueGigaScanResponseEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests {@link BlueGigaFrameParser} by replaying a stream of scan response events of many advertisers.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaFrameParserTest {
+
+    private static final int ADVERTISERS = 200;
+    private static final int ADVERTISEMENTS = 20000;
+
+    private final Logger logger = LoggerFactory.getLogger(BlueGigaFrameParserTest.class);
+
+    private static void writeScanResponse(ByteArrayOutputStream stream, int advertiser, int counter) {
+        int[] data = { 0x02, 0x01, 0x06, 0x05, 0xFF, 0x99, 0x04, counter & 0xFF, (counter >> 8) & 0xFF };
+        stream.write(0x80);
+        stream.write(11 + data.length);
+        stream.write(0x06);
+        stream.write(0x00);
+        stream.write(-60 - advertiser % 30); // rssi
+        stream.write(0x00); // connectable advertisement
+        stream.write(advertiser & 0xFF);
+        stream.write((advertiser >> 8) & 0xFF);
+        stream.write(0x33);
+        stream.write(0x22);
+        stream.write(0x11);
+        stream.write(0xC0);
+        stream.write(0x01); // random address
+        stream.write(0xFF); // no bond
+        stream.write(data.length);
+        for (int value : data) {
+            stream.write(value);
+        }
+    }
+
+    private static byte[] recordStream(int advertisements, boolean withNoise) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Random random = new Random(42);
+        for (int i = 0; i < advertisements; i++) {
+            if (withNoise && i % 100 == 50) {
+                // a few bytes lost or garbled on the serial line
+                stream.write(0x7F);
+                stream.write(0xFF);
+            }
+            writeScanResponse(stream, random.nextInt(ADVERTISERS), i);
+        }
+        return stream.toByteArray();
+    }
+
+    private static List<BlueGigaScanResponseEvent> replay(byte[] recorded, int maxChunk) {
+        BlueGigaFrameParser parser = new BlueGigaFrameParser();
+        List<BlueGigaScanResponseEvent> events = new ArrayList<>();
+        Random random = new Random(7);
+        byte[] chunk = new byte[maxChunk];
+        int offset = 0;
+        while (offset < recorded.length) {
+            int length = Math.min(recorded.length - offset, 1 + random.nextInt(maxChunk));
+            System.arraycopy(recorded, offset, chunk, 0, length);
+            offset += length;
+            parser.parse(chunk, length, frame -> {
+                BlueGigaResponse response = BlueGigaResponsePackets.getPacket(frame);
+                assertTrue(response instanceof BlueGigaScanResponseEvent);
+                events.add((BlueGigaScanResponseEvent) response);
+            });
+        }
+        return events;
+    }
+
+    @Test
+    public void testFramesSplitOverReads() {
+        byte[] recorded = recordStream(1000, false);
+
+        for (int maxChunk : new int[] { 1, 7, 64, 512, 4096 }) {
+            List<BlueGigaScanResponseEvent> events = replay(recorded, maxChunk);
+
+            assertEquals(1000, events.size());
+            for (int i = 0; i < events.size(); i++) {
+                int[] data = events.get(i).getData();
+                assertEquals(i, data[7] | data[8] << 8);
+                assertTrue(events.get(i).getSender().startsWith("C0:11:22:33:"));
+            }
+        }
+    }
+
+    @Test
+    public void testResynchronisationAfterNoise() {
+        List<BlueGigaScanResponseEvent> events = replay(recordStream(1000, true), 64);
+
+        assertEquals(1000, events.size());
+    }
+
+    @Test
+    public void testSameAddressInstanceForSameSender() {
+        List<BlueGigaScanResponseEvent> events = replay(recordStream(1000, false), 64);
+
+        for (BlueGigaScanResponseEvent event : events) {
+            for (BlueGigaScanResponseEvent other : events) {
+                if (event.getSender().equals(other.getSender())) {
+                    assertSame(event.getSenderAddress(), other.getSenderAddress());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void replayBenchmark() {
+        byte[] recorded = recordStream(ADVERTISEMENTS, false);
+
+        // warm up
+        replay(recorded, 256);
+
+        long start = System.nanoTime();
+        List<BlueGigaScanResponseEvent> events = replay(recorded, 256);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(ADVERTISEMENTS, events.size());
+        logger.info("Parsed {} scan responses ({} bytes) in {} ms", ADVERTISEMENTS, recorded.length,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+}
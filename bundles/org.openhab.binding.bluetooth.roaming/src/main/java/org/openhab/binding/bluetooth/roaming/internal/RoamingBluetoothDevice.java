@@ -13,11 +13,14 @@
 package org.openhab.binding.bluetooth.roaming.internal;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,24 +35,46 @@ import org.openhab.binding.bluetooth.BluetoothDeviceListener;
 import org.openhab.binding.bluetooth.DelegateBluetoothDevice;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link RoamingBluetoothDevice} acts as a roaming device by delegating
  * its operations to actual adapters.
+ * <p>
+ * The device of one adapter is elected as the primary device, and only its events are passed on. The election is based
+ * on the average RSSI of the recent scan records received by each adapter. Another adapter only becomes primary if its
+ * average RSSI is better by {@link #HYSTERESIS_DB}, or if the primary adapter has not received the device for a while.
+ * While a device is connected, it stays with the adapter of the connection. After each election the roaming bridge is
+ * told, so it can publish the RSSI averages the election was based on.
  *
  * @author Connor Petty - Initial contribution
+ * @author Hilbrand Bouwkamp - Elect the primary adapter from the recent RSSI values
  */
 @NonNullByDefault
 public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
+    private static final int WINDOW_SIZE = 8;
+    private static final long WINDOW_DURATION_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final double HYSTERESIS_DB = 6;
+
+    private final Logger logger = LoggerFactory.getLogger(RoamingBluetoothDevice.class);
+
     private final Map<BluetoothDevice, Listener> devices = new ConcurrentHashMap<>();
 
     private final List<BluetoothDeviceListener> eventListeners = new CopyOnWriteArrayList<>();
 
     private final AtomicReference<@Nullable BluetoothDevice> currentDelegateRef = new AtomicReference<>();
 
+    private final AtomicLong elections = new AtomicLong();
+
+    private final Object electionLock = new Object();
+
+    private final RoamingBridgeHandler roamingAdapter;
+
     protected RoamingBluetoothDevice(RoamingBridgeHandler roamingAdapter, BluetoothAddress address) {
         super(roamingAdapter, address);
+        this.roamingAdapter = roamingAdapter;
     }
 
     public void addBluetoothDevice(BluetoothDevice device) {
@@ -61,6 +86,9 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
         if (listener != null) {
             device.removeListener(listener);
         }
+        if (currentDelegateRef.get() == device) {
+            elect();
+        }
     }
 
     @Override
@@ -70,27 +98,93 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
     @Override
     protected @Nullable BluetoothDevice getDelegate() {
+        BluetoothDevice delegate = currentDelegateRef.get();
+        if (delegate == null || !devices.containsKey(delegate)) {
+            delegate = elect();
+        }
+        return delegate;
+    }
+
+    /**
+     * Elects the primary device. The listeners are notified of a change of adapter after the election.
+     *
+     * @return the primary device, or null if no adapter has the device
+     */
+    private @Nullable BluetoothDevice elect() {
+        BluetoothDevice oldDelegate;
+        BluetoothDevice newDelegate;
+        synchronized (electionLock) {
+            oldDelegate = currentDelegateRef.get();
+            newDelegate = findBestDevice(oldDelegate, System.nanoTime());
+            if (oldDelegate == newDelegate) { // using reference comparison is valid in this case
+                return newDelegate;
+            }
+            currentDelegateRef.set(newDelegate);
+            elections.incrementAndGet();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Device {} moves from adapter {} to adapter {}: {}", address,
+                    oldDelegate == null ? null : oldDelegate.getAdapter().getUID(),
+                    newDelegate == null ? null : newDelegate.getAdapter().getUID(), getAdapterRssi());
+        }
+        notifyListeners(BluetoothEventType.ADAPTER_CHANGED, getAdapter(newDelegate));
+        roamingAdapter.adapterElected(this);
+        return newDelegate;
+    }
+
+    private @Nullable BluetoothDevice findBestDevice(@Nullable BluetoothDevice oldDelegate, long now) {
         BluetoothDevice newDelegate = null;
-        int newRssi = Integer.MIN_VALUE;
-        for (BluetoothDevice device : devices.keySet()) {
+        double newRssi = Double.NEGATIVE_INFINITY;
+        double oldRssi = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<BluetoothDevice, Listener> entry : devices.entrySet()) {
+            BluetoothDevice device = entry.getKey();
             ConnectionState state = device.getConnectionState();
             if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
-                newDelegate = device;
-                break;
+                // a connection is never moved to another adapter
+                return device;
             }
-            Integer rssi = device.getRssi();
-            if (rssi != null && (newDelegate == null || rssi > newRssi)) {
+            double rssi = entry.getValue().getAverageRssi(now);
+            if (device == oldDelegate) {
+                oldRssi = rssi;
+            }
+            if (newDelegate == null || rssi > newRssi) {
                 newRssi = rssi;
                 newDelegate = device;
             }
         }
-        BluetoothDevice oldDelegate = currentDelegateRef.getAndSet(newDelegate);
-        if (oldDelegate != newDelegate) { // using reference comparison is valid in this case
-            notifyListeners(BluetoothEventType.ADAPTER_CHANGED, getAdapter(newDelegate));
+        if (oldDelegate != null && newDelegate != oldDelegate && devices.containsKey(oldDelegate)
+                && (newRssi == Double.NEGATIVE_INFINITY
+                        || (oldRssi != Double.NEGATIVE_INFINITY && newRssi < oldRssi + HYSTERESIS_DB))) {
+            // not better enough to move to another adapter
+            return oldDelegate;
         }
         return newDelegate;
     }
 
+    /**
+     * Returns the average RSSI of the recent scan records received by each adapter, which the election of the primary
+     * adapter is based on.
+     *
+     * @return the average RSSI in dBm by adapter UID, or null if an adapter has not received the device recently
+     */
+    public Map<String, @Nullable Double> getAdapterRssi() {
+        long now = System.nanoTime();
+        Map<String, @Nullable Double> adapterRssi = new LinkedHashMap<>();
+        devices.forEach((device, listener) -> {
+            double rssi = listener.getAverageRssi(now);
+            adapterRssi.put(device.getAdapter().getUID().getAsString(),
+                    rssi == Double.NEGATIVE_INFINITY ? null : rssi);
+        });
+        return adapterRssi;
+    }
+
+    /**
+     * @return the number of times the primary adapter has changed
+     */
+    public long getElectionCount() {
+        return elections.get();
+    }
+
     private BluetoothAdapter getAdapter(@Nullable BluetoothDevice delegate) {
         if (delegate != null) {
             return delegate.getAdapter();
@@ -108,20 +202,57 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
         private BluetoothDevice device;
 
+        // the most recent RSSI values received by the adapter, in a ring buffer
+        private final int[] rssiValues = new int[WINDOW_SIZE];
+        private final long[] rssiTimes = new long[WINDOW_SIZE];
+        private int rssiNext = 0;
+        private int rssiCount = 0;
+
         public Listener(BluetoothDevice device) {
             this.device = device;
         }
 
+        private synchronized void addRssi(int rssi, long now) {
+            rssiValues[rssiNext] = rssi;
+            rssiTimes[rssiNext] = now;
+            rssiNext = (rssiNext + 1) % WINDOW_SIZE;
+            rssiCount = Math.min(rssiCount + 1, WINDOW_SIZE);
+        }
+
+        /**
+         * @return the average of the RSSI values received within the window duration, or the last RSSI known to the
+         *         device if no scan record has been received yet, or negative infinity if there is none
+         */
+        private synchronized double getAverageRssi(long now) {
+            if (rssiCount == 0) {
+                Integer rssi = device.getRssi();
+                return rssi != null && rssi != 0 ? rssi : Double.NEGATIVE_INFINITY;
+            }
+            int sum = 0;
+            int count = 0;
+            for (int i = 0; i < rssiCount; i++) {
+                if (now - rssiTimes[i] < WINDOW_DURATION_NANOS) {
+                    sum += rssiValues[i];
+                    count++;
+                }
+            }
+            return count > 0 ? (double) sum / count : Double.NEGATIVE_INFINITY;
+        }
+
         @Override
         public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
-            if (device == getDelegate()) {
+            int rssi = scanNotification.getRssi();
+            if (rssi != Integer.MIN_VALUE && rssi != 0) {
+                addRssi(rssi, System.nanoTime());
+            }
+            if (device == elect()) {
                 notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
             }
         }
 
         @Override
         public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
-            if (device == getDelegate()) {
+            if (device == elect()) {
                 notifyListeners(BluetoothEventType.CONNECTION_STATE, connectionNotification);
             }
         }
@@ -13,10 +13,12 @@
 package org.openhab.binding.bluetooth.roaming.internal;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -39,6 +41,7 @@ import org.openhab.core.types.Command;
  * sent to one of the channels.
  *
  * @author Connor Petty - Initial contribution
+ * @author Hilbrand Bouwkamp - Publish the adapter elections of the roaming devices as properties
  */
 @NonNullByDefault
 public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBluetoothAdapter {
@@ -227,6 +230,24 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
         }
     }
 
+    /**
+     * Publishes the outcome of an adapter election as a property of the bridge, named after the address of the device.
+     * The property holds the elected adapter, the number of elections and the average RSSI of each adapter at the time
+     * of the election.
+     *
+     * @param roamingDevice the device for which another adapter has been elected
+     */
+    void adapterElected(RoamingBluetoothDevice roamingDevice) {
+        String rssi = roamingDevice.getAdapterRssi().entrySet().stream()
+                .map(e -> e.getKey() + "=" + formatRssi(e.getValue())).collect(Collectors.joining(", "));
+        updateProperty(roamingDevice.getAddress().toString(), roamingDevice.getAdapter().getUID() + ", elections: "
+                + roamingDevice.getElectionCount() + ", RSSI: " + rssi);
+    }
+
+    private static String formatRssi(@Nullable Double rssi) {
+        return rssi == null ? "-" : String.format(Locale.ROOT, "%.1f dBm", rssi);
+    }
+
     @Override
     public boolean hasHandlerForDevice(BluetoothAddress address) {
         String addrStr = address.toString();
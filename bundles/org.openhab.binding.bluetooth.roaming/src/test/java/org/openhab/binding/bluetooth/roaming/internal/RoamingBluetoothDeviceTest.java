@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.roaming.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BaseBluetoothDevice;
+import org.openhab.binding.bluetooth.BluetoothAdapter;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+import org.openhab.binding.bluetooth.BluetoothCharacteristic;
+import org.openhab.binding.bluetooth.BluetoothDescriptor;
+import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.BluetoothDeviceListener;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.core.thing.ThingUID;
+
+/**
+ * Tests the election of the primary adapter of a {@link RoamingBluetoothDevice}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class RoamingBluetoothDeviceTest {
+
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("12:34:56:78:9A:BC");
+
+    private final BluetoothAdapter kitchen = adapter("kitchen");
+    private final BluetoothAdapter garden = adapter("garden");
+    private final AdapterDevice kitchenDevice = new AdapterDevice(kitchen);
+    private final AdapterDevice gardenDevice = new AdapterDevice(garden);
+    private final RoamingBridgeHandler bridge = mock(RoamingBridgeHandler.class);
+    private final RoamingBluetoothDevice device = new RoamingBluetoothDevice(bridge, ADDRESS);
+    private final BluetoothDeviceListener listener = mock(BluetoothDeviceListener.class);
+
+    /**
+     * The device as seen by a single adapter.
+     */
+    private static class AdapterDevice extends BaseBluetoothDevice {
+        private AdapterDevice(BluetoothAdapter adapter) {
+            super(adapter, ADDRESS);
+        }
+
+        private void scan(int rssi) {
+            this.rssi = rssi;
+            BluetoothScanNotification notification = new BluetoothScanNotification();
+            notification.setRssi(rssi);
+            notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+        }
+
+        private void setConnectionState(ConnectionState connectionState) {
+            this.connectionState = connectionState;
+        }
+
+        @Override
+        public boolean connect() {
+            return false;
+        }
+
+        @Override
+        public boolean disconnect() {
+            return false;
+        }
+
+        @Override
+        public boolean discoverServices() {
+            return false;
+        }
+
+        @Override
+        public boolean readCharacteristic(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean writeCharacteristic(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean enableNotifications(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean disableNotifications(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public boolean enableNotifications(BluetoothDescriptor descriptor) {
+            return false;
+        }
+
+        @Override
+        public boolean disableNotifications(BluetoothDescriptor descriptor) {
+            return false;
+        }
+    }
+
+    private static BluetoothAdapter adapter(String id) {
+        BluetoothAdapter adapter = mock(BluetoothAdapter.class);
+        when(adapter.getUID()).thenReturn(new ThingUID("bluetooth", "bluez", id));
+        return adapter;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        device.addListener(listener);
+        device.addBluetoothDevice(kitchenDevice);
+        device.addBluetoothDevice(gardenDevice);
+    }
+
+    @Test
+    public void adapterWithBetterRssiIsElected() {
+        kitchenDevice.scan(-80);
+        assertSame(kitchen, device.getAdapter());
+
+        gardenDevice.scan(-60);
+        assertSame(garden, device.getAdapter());
+        verify(listener).onAdapterChanged(kitchen);
+        verify(listener).onAdapterChanged(garden);
+    }
+
+    @Test
+    public void electionIsPublishedToBridge() {
+        kitchenDevice.scan(-80);
+        gardenDevice.scan(-60);
+
+        assertEquals(2, device.getElectionCount());
+        assertThat(device.getAdapterRssi(),
+                allOf(hasEntry("bluetooth:bluez:kitchen", -80.0), hasEntry("bluetooth:bluez:garden", -60.0)));
+        verify(bridge, times(2)).adapterElected(device);
+    }
+
+    @Test
+    public void adapterMustBeBetterByHysteresis() {
+        kitchenDevice.scan(-70);
+        gardenDevice.scan(-66);
+        assertSame(kitchen, device.getAdapter());
+
+        // the average of the garden adapter is -63 now
+        gardenDevice.scan(-60);
+        assertSame(garden, device.getAdapter());
+    }
+
+    @Test
+    public void onlyScanRecordsOfElectedAdapterArePassedOn() {
+        kitchenDevice.scan(-70);
+        gardenDevice.scan(-68);
+        gardenDevice.scan(-69);
+
+        verify(listener, times(1)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void removedAdapterIsReplaced() {
+        kitchenDevice.scan(-80);
+        gardenDevice.scan(-60);
+        assertSame(garden, device.getAdapter());
+
+        device.removeBluetoothDevice(gardenDevice);
+
+        assertSame(kitchen, device.getAdapter());
+        verify(listener, times(2)).onAdapterChanged(kitchen);
+    }
+
+    @Test
+    public void connectedDeviceStaysWithItsAdapter() {
+        kitchenDevice.scan(-80);
+        kitchenDevice.setConnectionState(ConnectionState.CONNECTED);
+
+        gardenDevice.scan(-40);
+
+        assertSame(kitchen, device.getAdapter());
+    }
+}
@@ -15,7 +15,9 @@ package org.openhab.binding.bluetooth;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 import javax.measure.quantity.Power;
 
@@ -25,6 +27,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
 import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.binding.bluetooth.util.RssiFilter;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.Units;
@@ -64,8 +67,21 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
 
     private @Nullable ZonedDateTime lastActivityTime;
 
+    // the RSSI of scan records is smoothed and published only if it changed enough since it was published last
+    private RssiFilter rssiFilter = new RssiFilter(RssiFilter.Mode.NONE);
+    private long rssiUpdateIntervalNanos = 0;
+    private int rssiUpdateDelta = 0;
+    private @Nullable Integer lastPublishedRssi;
+    private long lastPublishedRssiTime;
+    private final LongSupplier nanoTime;
+
     public BeaconBluetoothHandler(Thing thing) {
+        this(thing, System::nanoTime);
+    }
+
+    BeaconBluetoothHandler(Thing thing, LongSupplier nanoTime) {
         super(thing);
+        this.nanoTime = nanoTime;
         deviceLock = new ReentrantLock();
     }
 
@@ -78,6 +94,10 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
             return;
         }
 
+        if (!initializeRssiUpdates()) {
+            return;
+        }
+
         Bridge bridge = getBridge();
         if (bridge == null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Not associated with any bridge");
@@ -117,6 +137,29 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         updateStatus(ThingStatus.UNKNOWN);
     }
 
+    private boolean initializeRssiUpdates() {
+        Object interval = getConfig().get(BluetoothBindingConstants.CONFIGURATION_RSSI_UPDATE_INTERVAL);
+        rssiUpdateIntervalNanos = interval instanceof Number
+                ? TimeUnit.SECONDS.toNanos(Math.max(0, ((Number) interval).longValue()))
+                : 0;
+        Object delta = getConfig().get(BluetoothBindingConstants.CONFIGURATION_RSSI_UPDATE_DELTA);
+        rssiUpdateDelta = delta instanceof Number ? Math.max(0, ((Number) delta).intValue()) : 0;
+        RssiFilter.Mode mode = RssiFilter.Mode.NONE;
+        Object smoothing = getConfig().get(BluetoothBindingConstants.CONFIGURATION_RSSI_SMOOTHING);
+        if (smoothing != null) {
+            try {
+                mode = RssiFilter.Mode.valueOf(smoothing.toString().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                        "Unknown RSSI smoothing '" + smoothing + "'");
+                return false;
+            }
+        }
+        rssiFilter = new RssiFilter(mode);
+        lastPublishedRssi = null;
+        return true;
+    }
+
     private Channel buildChannel(String channelType, String itemType) {
         return ChannelBuilder.create(new ChannelUID(getThing().getUID(), channelType), itemType).build();
     }
@@ -176,9 +219,34 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
             QuantityType<Power> quantity = new QuantityType<>(rssi, Units.DECIBEL_MILLIWATTS);
             updateState(BluetoothBindingConstants.CHANNEL_TYPE_RSSI, quantity);
             updateStatusBasedOnRssi(true);
+            lastPublishedRssi = rssi;
+            lastPublishedRssiTime = nanoTime.getAsLong();
         } else {
             updateState(BluetoothBindingConstants.CHANNEL_TYPE_RSSI, UnDefType.NULL);
             updateStatusBasedOnRssi(false);
+            rssiFilter.reset();
+            lastPublishedRssi = null;
+        }
+    }
+
+    /**
+     * Smooths the RSSI of a scan record and publishes it, unless the last published value is too recent or differs
+     * too little.
+     *
+     * @param rssi the RSSI of the scan record
+     */
+    private void onRSSIReceived(int rssi) {
+        if (rssi == 0) {
+            updateRSSI(rssi);
+            return;
+        }
+        int smoothedRssi = (int) Math.round(rssiFilter.filter(rssi));
+        Integer lastRssi = lastPublishedRssi;
+        if (lastRssi == null || (nanoTime.getAsLong() - lastPublishedRssiTime >= rssiUpdateIntervalNanos
+                && Math.abs(smoothedRssi - lastRssi) >= rssiUpdateDelta)) {
+            updateRSSI(smoothedRssi);
+        } else if (getThing().getStatus() != ThingStatus.ONLINE) {
+            updateStatusBasedOnRssi(true);
         }
     }
 
@@ -224,7 +292,7 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         onActivity();
         int rssi = scanNotification.getRssi();
         if (rssi != Integer.MIN_VALUE) {
-            updateRSSI(rssi);
+            onRSSIReceived(rssi);
         }
     }
 
@@ -43,6 +43,9 @@ public class BluetoothBindingConstants {
 
     public static final String CONFIGURATION_ADDRESS = "address";
     public static final String CONFIGURATION_DISCOVERY = "backgroundDiscovery";
+    public static final String CONFIGURATION_RSSI_UPDATE_INTERVAL = "rssiUpdateInterval";
+    public static final String CONFIGURATION_RSSI_UPDATE_DELTA = "rssiUpdateDelta";
+    public static final String CONFIGURATION_RSSI_SMOOTHING = "rssiSmoothing";
 
     public static final long BLUETOOTH_BASE_UUID = 0x800000805f9b34fbL;
 
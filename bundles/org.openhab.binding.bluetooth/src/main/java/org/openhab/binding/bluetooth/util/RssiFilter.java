@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.util;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Smooths the RSSI values received from a device, which scatter by several dB even if the device does not move.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class RssiFilter {
+
+    public enum Mode {
+        /** The values are not smoothed */
+        NONE,
+        /** Exponential moving average of the values */
+        EXPONENTIAL,
+        /** One dimensional Kalman filter, which follows the first values quickly and smooths the later ones */
+        KALMAN
+    }
+
+    private static final double EXPONENTIAL_WEIGHT = 0.25;
+    // variance of the change of the real RSSI between two values, in dB²
+    private static final double PROCESS_NOISE = 0.125;
+    // variance of the measured RSSI around the real RSSI, in dB²
+    private static final double MEASUREMENT_NOISE = 4;
+
+    private final Mode mode;
+    private double estimate;
+    private double errorCovariance;
+    private boolean initialized = false;
+
+    public RssiFilter(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Adds a received RSSI value.
+     *
+     * @param rssi the received RSSI in dBm
+     * @return the smoothed RSSI in dBm
+     */
+    public double filter(int rssi) {
+        if (!initialized || mode == Mode.NONE) {
+            estimate = rssi;
+            errorCovariance = MEASUREMENT_NOISE;
+            initialized = true;
+            return estimate;
+        }
+        switch (mode) {
+            case EXPONENTIAL:
+                estimate += EXPONENTIAL_WEIGHT * (rssi - estimate);
+                break;
+            case KALMAN:
+                double predictedCovariance = errorCovariance + PROCESS_NOISE;
+                double gain = predictedCovariance / (predictedCovariance + MEASUREMENT_NOISE);
+                estimate += gain * (rssi - estimate);
+                errorCovariance = (1 - gain) * predictedCovariance;
+                break;
+            default:
+                break;
+        }
+        return estimate;
+    }
+
+    /**
+     * Forgets the previous values, e.g. after the device has not been received for a while.
+     */
+    public void reset() {
+        initialized = false;
+    }
+}
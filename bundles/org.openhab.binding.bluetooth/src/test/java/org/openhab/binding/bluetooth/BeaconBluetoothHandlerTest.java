@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.ThingHandlerCallback;
+
+/**
+ * Tests the throttling of the RSSI channel updates by the {@link BeaconBluetoothHandler}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class BeaconBluetoothHandlerTest {
+
+    private final ThingUID thingUID = new ThingUID(BluetoothBindingConstants.BINDING_ID, "beacon", "test");
+    private final ChannelUID rssiChannel = new ChannelUID(thingUID, BluetoothBindingConstants.CHANNEL_TYPE_RSSI);
+    private final Thing thing = mock(Thing.class);
+    private final ThingHandlerCallback callback = mock(ThingHandlerCallback.class);
+    private long now;
+
+    /**
+     * Creates an initialized handler. The handler has no bridge, so only the RSSI updates are initialized.
+     */
+    private BeaconBluetoothHandler createHandler(int updateInterval, int updateDelta) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(BluetoothBindingConstants.CONFIGURATION_ADDRESS, "12:34:56:78:9A:BC");
+        config.put(BluetoothBindingConstants.CONFIGURATION_RSSI_UPDATE_INTERVAL, BigDecimal.valueOf(updateInterval));
+        config.put(BluetoothBindingConstants.CONFIGURATION_RSSI_UPDATE_DELTA, BigDecimal.valueOf(updateDelta));
+        when(thing.getUID()).thenReturn(thingUID);
+        when(thing.getConfiguration()).thenReturn(new Configuration(config));
+
+        BeaconBluetoothHandler handler = new BeaconBluetoothHandler(thing, () -> now);
+        handler.setCallback(callback);
+        handler.initialize();
+        return handler;
+    }
+
+    private static BluetoothScanNotification scanRecord(int rssi) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        return notification;
+    }
+
+    private static QuantityType<?> dBm(int rssi) {
+        return new QuantityType<>(rssi, Units.DECIBEL_MILLIWATTS);
+    }
+
+    @Test
+    public void rssiIsPublishedOncePerInterval() {
+        BeaconBluetoothHandler handler = createHandler(1, 0);
+
+        handler.onScanRecordReceived(scanRecord(-60));
+        handler.onScanRecordReceived(scanRecord(-70));
+        handler.onScanRecordReceived(scanRecord(-50));
+        verify(callback, times(1)).stateUpdated(eq(rssiChannel), any());
+        verify(callback).stateUpdated(rssiChannel, dBm(-60));
+
+        now += TimeUnit.MILLISECONDS.toNanos(999);
+        handler.onScanRecordReceived(scanRecord(-55));
+        verify(callback, times(1)).stateUpdated(eq(rssiChannel), any());
+
+        now += TimeUnit.MILLISECONDS.toNanos(1);
+        handler.onScanRecordReceived(scanRecord(-65));
+        verify(callback, times(2)).stateUpdated(eq(rssiChannel), any());
+        verify(callback).stateUpdated(rssiChannel, dBm(-65));
+    }
+
+    @Test
+    public void rssiIsPublishedWhenChangedEnough() {
+        BeaconBluetoothHandler handler = createHandler(0, 5);
+
+        handler.onScanRecordReceived(scanRecord(-60));
+        handler.onScanRecordReceived(scanRecord(-62));
+        handler.onScanRecordReceived(scanRecord(-58));
+        handler.onScanRecordReceived(scanRecord(-66));
+
+        verify(callback, times(2)).stateUpdated(eq(rssiChannel), any());
+        verify(callback).stateUpdated(rssiChannel, dBm(-60));
+        verify(callback).stateUpdated(rssiChannel, dBm(-66));
+    }
+
+    @Test
+    public void everyRssiIsPublishedByDefault() {
+        BeaconBluetoothHandler handler = createHandler(0, 0);
+
+        handler.onScanRecordReceived(scanRecord(-60));
+        handler.onScanRecordReceived(scanRecord(-60));
+        handler.onScanRecordReceived(scanRecord(-61));
+
+        verify(callback, times(3)).stateUpdated(eq(rssiChannel), any());
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link RssiFilter}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+class RssiFilterTest {
+
+    private static double maxDeviation(RssiFilter filter, int realRssi) {
+        Random random = new Random(1);
+        double maxDeviation = 0;
+        for (int i = 0; i < 200; i++) {
+            double value = filter.filter(realRssi + (int) Math.round(random.nextGaussian() * 3));
+            if (i >= 50) {
+                maxDeviation = Math.max(maxDeviation, Math.abs(value - realRssi));
+            }
+        }
+        return maxDeviation;
+    }
+
+    @Test
+    void noneReturnsReceivedValues() {
+        RssiFilter filter = new RssiFilter(RssiFilter.Mode.NONE);
+        assertEquals(-70, filter.filter(-70));
+        assertEquals(-60, filter.filter(-60));
+    }
+
+    @Test
+    void smoothingReducesScattering() {
+        double unfiltered = maxDeviation(new RssiFilter(RssiFilter.Mode.NONE), -70);
+        double exponential = maxDeviation(new RssiFilter(RssiFilter.Mode.EXPONENTIAL), -70);
+        double kalman = maxDeviation(new RssiFilter(RssiFilter.Mode.KALMAN), -70);
+
+        assertTrue(exponential < unfiltered / 2, "exponential " + exponential + ", unfiltered " + unfiltered);
+        assertTrue(kalman < unfiltered / 2, "kalman " + kalman + ", unfiltered " + unfiltered);
+    }
+
+    @Test
+    void smoothingFollowsChanges() {
+        for (RssiFilter.Mode mode : RssiFilter.Mode.values()) {
+            RssiFilter filter = new RssiFilter(mode);
+            for (int i = 0; i < 20; i++) {
+                filter.filter(-80);
+            }
+            double value = 0;
+            for (int i = 0; i < 20; i++) {
+                value = filter.filter(-50);
+            }
+            assertEquals(-50, value, 2, mode.name());
+        }
+    }
+
+    @Test
+    void resetStartsWithNextValue() {
+        RssiFilter filter = new RssiFilter(RssiFilter.Mode.KALMAN);
+        filter.filter(-80);
+        filter.filter(-80);
+        filter.reset();
+        assertEquals(-50, filter.filter(-50));
+    }
+}
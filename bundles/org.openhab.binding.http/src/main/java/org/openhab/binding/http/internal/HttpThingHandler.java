@@ -18,6 +18,7 @@ import java.net.URISyntaxException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -67,22 +68,23 @@ public class HttpThingHandler extends BaseThingHandler {
     private final ValueTransformationProvider valueTransformationProvider;
     private final HttpClientProvider httpClientProvider;
     private HttpClient httpClient;
-    private RateLimitedHttpClient rateLimitedHttpClient;
+    private final RefreshingUrlCacheRegistry refreshingUrlCacheRegistry;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
 
     private HttpThingConfig config = new HttpThingConfig();
-    private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
-    private final Map<ChannelUID, String> channelUrls = new HashMap<>();
+    private final Map<ChannelUID, RefreshingUrlCache> channelCaches = new HashMap<>();
+    private final Map<ChannelUID, Consumer<Content>> channelConsumers = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
+            RefreshingUrlCacheRegistry refreshingUrlCacheRegistry,
             HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.httpClient = httpClientProvider.getSecureClient();
-        this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
+        this.refreshingUrlCacheRegistry = refreshingUrlCacheRegistry;
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
     }
 
@@ -95,15 +97,12 @@ public class HttpThingHandler extends BaseThingHandler {
         }
 
         if (command instanceof RefreshType) {
-            String key = channelUrls.get(channelUID);
-            if (key != null) {
-                RefreshingUrlCache refreshingUrlCache = urlHandlers.get(key);
-                if (refreshingUrlCache != null) {
-                    try {
-                        refreshingUrlCache.get().ifPresent(itemValueConverter::process);
-                    } catch (IllegalArgumentException | IllegalStateException e) {
-                        logger.warn("Failed processing REFRESH command for channel {}: {}", channelUID, e.getMessage());
-                    }
+            RefreshingUrlCache refreshingUrlCache = channelCaches.get(channelUID);
+            if (refreshingUrlCache != null) {
+                try {
+                    refreshingUrlCache.get().ifPresent(itemValueConverter::process);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    logger.warn("Failed processing REFRESH command for channel {}: {}", channelUID, e.getMessage());
                 }
             }
         } else {
@@ -135,8 +134,6 @@ public class HttpThingHandler extends BaseThingHandler {
             logger.info("Using the secure client for thing '{}'.", thing.getUID());
             httpClient = httpClientProvider.getSecureClient();
         }
-        rateLimitedHttpClient.setHttpClient(httpClient);
-        rateLimitedHttpClient.setDelay(config.delay);
 
         int channelCount = thing.getChannels().size();
         if (channelCount * config.delay > config.refresh * 1000) {
@@ -191,14 +188,18 @@ public class HttpThingHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
-        rateLimitedHttpClient.shutdown();
+        // release update tasks, they are stopped if no other thing uses them
+        channelCaches.forEach((channelUID, refreshingUrlCache) -> {
+            Consumer<Content> consumer = channelConsumers.get(channelUID);
+            if (consumer != null) {
+                refreshingUrlCacheRegistry.release(refreshingUrlCache, consumer);
+            }
+        });
 
         // clear lists
-        urlHandlers.clear();
+        channelCaches.clear();
+        channelConsumers.clear();
         channels.clear();
-        channelUrls.clear();
 
         // remove state descriptions
         httpDynamicStateDescriptionProvider.removeDescriptionsForThing(thing.getUID());
@@ -272,11 +273,11 @@ public class HttpThingHandler extends BaseThingHandler {
 
         channels.put(channelUID, itemValueConverter);
         if (channelConfig.mode != HttpChannelMode.WRITEONLY) {
-            // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
-            String key = channelConfig.stateContent + "$" + stateUrl;
-            channelUrls.put(channelUID, key);
-            urlHandlers.computeIfAbsent(key, k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                    config, channelConfig.stateContent)).addConsumer(itemValueConverter::process);
+            // channels of all things requesting the same URL with the same parameters share a cache
+            Consumer<Content> consumer = itemValueConverter::process;
+            channelConsumers.put(channelUID, consumer);
+            channelCaches.put(channelUID, refreshingUrlCacheRegistry.acquire(httpClient, stateUrl, config,
+                    channelConfig.stateContent, consumer));
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
@@ -14,6 +14,8 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,10 +30,27 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
+    private @Nullable String asString;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    /**
+     * @param rawContent the content as received
+     * @param encoding the encoding of the content
+     * @param mediaType the media type of the content
+     * @param eTag the value of the ETag header of the response, if present
+     * @param lastModified the value of the Last-Modified header of the response, if present
+     */
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -45,11 +64,38 @@ public class Content {
         return rawContent;
     }
 
+    /**
+     * Get the decoded content. It is decoded only once, all channels receiving this content share the result.
+     */
     public String getAsString() {
-        return new String(rawContent, encoding);
+        String asString = this.asString;
+        if (asString == null) {
+            asString = new String(rawContent, encoding);
+            this.asString = asString;
+        }
+        return asString;
     }
 
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Check if another content has the same data, encoding and media type, i.e. would result in the same states.
+     *
+     * @param other the other content
+     * @return true if the content is the same
+     */
+    public boolean hasSameData(Content other) {
+        return encoding.equals(other.encoding) && Objects.equals(mediaType, other.mediaType)
+                && Arrays.equals(rawContent, other.rawContent);
+    }
 }
@@ -23,6 +23,7 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,7 @@ public class HttpResponseListener extends BufferingResponseListener {
     private final Logger logger = LoggerFactory.getLogger(HttpResponseListener.class);
     private final CompletableFuture<@Nullable Content> future;
     private final String fallbackEncoding;
+    private final @Nullable Content cachedContent;
 
     /**
      * the HttpResponseListener is responsible
@@ -47,9 +49,24 @@ public class HttpResponseListener extends BufferingResponseListener {
      */
     public HttpResponseListener(CompletableFuture<@Nullable Content> future, @Nullable String fallbackEncoding,
             int bufferSize) {
+        this(future, fallbackEncoding, bufferSize, null);
+    }
+
+    /**
+     * the HttpResponseListener is responsible
+     *
+     * @param future Content future to complete with the result of the request
+     * @param fallbackEncoding a fallback encoding for the content (UTF-8 if null)
+     * @param bufferSize the buffer size for the content in kB (default 2048 kB)
+     * @param cachedContent the content the request was made conditional on, the future is completed with this
+     *            instance if the server responds with 304 (Not Modified)
+     */
+    public HttpResponseListener(CompletableFuture<@Nullable Content> future, @Nullable String fallbackEncoding,
+            int bufferSize, @Nullable Content cachedContent) {
         super(bufferSize * 1024);
         this.future = future;
         this.fallbackEncoding = fallbackEncoding != null ? fallbackEncoding : StandardCharsets.UTF_8.name();
+        this.cachedContent = cachedContent;
     }
 
     @Override
@@ -69,12 +86,24 @@ public class HttpResponseListener extends BufferingResponseListener {
                     byte[] content = getContent();
                     String encoding = getEncoding();
                     if (content != null) {
-                        future.complete(
-                                new Content(content, encoding == null ? fallbackEncoding : encoding, getMediaType()));
+                        future.complete(new Content(content, encoding == null ? fallbackEncoding : encoding,
+                                getMediaType(), response.getHeaders().get(HttpHeader.ETAG),
+                                response.getHeaders().get(HttpHeader.LAST_MODIFIED)));
                     } else {
                         future.complete(null);
                     }
                     break;
+                case HttpStatus.NOT_MODIFIED_304:
+                    Content cachedContent = this.cachedContent;
+                    if (cachedContent != null) {
+                        future.complete(cachedContent);
+                    } else {
+                        logger.warn("Requesting '{}' (method='{}', content='{}') failed: Not modified, but not cached",
+                                request.getURI(), request.getMethod(), request.getContent());
+                        future.completeExceptionally(
+                                new IllegalStateException("Response - Code" + response.getStatus()));
+                    }
+                    break;
                 case HttpStatus.UNAUTHORIZED_401:
                     logger.debug("Requesting '{}' (method='{}', content='{}') failed: Authorization error",
                             request.getURI(), request.getMethod(), request.getContent());
@@ -33,7 +33,7 @@ import org.eclipse.jetty.http.HttpMethod;
 public class RateLimitedHttpClient {
     private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
     private HttpClient httpClient;
-    private int delay = 0; // in ms
+    private volatile int delay = 0; // in ms
     private final ScheduledExecutorService scheduler;
     private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
 
@@ -53,7 +53,16 @@ public class RateLimitedHttpClient {
     }
 
     /**
-     * Set a new delay
+     * Get the current delay
+     *
+     * @return delay in ms between to requests
+     */
+    public int getDelay() {
+        return delay;
+    }
+
+    /**
+     * Set a new delay. Requests that are still queued are created immediately if the delay is removed.
      * 
      * @param delay in ms between to requests
      */
@@ -65,6 +74,8 @@ public class RateLimitedHttpClient {
         stopProcessJob();
         if (delay != 0) {
             processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+        } else {
+            drainQueue();
         }
     }
 
@@ -94,6 +105,9 @@ public class RateLimitedHttpClient {
         } else {
             if (!requestQueue.offer(queueEntry)) {
                 future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+            } else if (delay == 0) {
+                // the delay was removed while queueing, nobody else processes the queue anymore
+                drainQueue();
             }
         }
         return future;
@@ -123,6 +137,13 @@ public class RateLimitedHttpClient {
         }
     }
 
+    private void drainQueue() {
+        RequestQueueEntry queueEntry;
+        while ((queueEntry = requestQueue.poll()) != null) {
+            queueEntry.completeFuture(httpClient);
+        }
+    }
+
     private static class RequestQueueEntry {
         private URI finalUrl;
         private HttpMethod method;
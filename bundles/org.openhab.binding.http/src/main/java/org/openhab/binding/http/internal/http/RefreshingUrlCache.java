@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -49,9 +50,11 @@ public class RefreshingUrlCache {
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
+    private final boolean skipUnchangedContent;
 
     private final ScheduledFuture<?> future;
     private @Nullable Content lastContent;
+    private @Nullable URI lastUri;
 
     public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
             HttpThingConfig thingConfig, String httpContent) {
@@ -62,6 +65,7 @@ public class RefreshingUrlCache {
         this.headers = thingConfig.headers;
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
+        this.skipUnchangedContent = thingConfig.skipUnchangedContent;
         fallbackEncoding = thingConfig.encoding;
 
         future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
@@ -95,6 +99,19 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                // make the request conditional if the last content of the same URL has validators
+                final Content cachedContent = httpMethod == HttpMethod.GET && uri.equals(lastUri) ? lastContent : null;
+                if (cachedContent != null) {
+                    String eTag = cachedContent.getETag();
+                    if (eTag != null && !request.getHeaders().contains(HttpHeader.IF_NONE_MATCH)) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = cachedContent.getLastModified();
+                    if (lastModified != null && !request.getHeaders().contains(HttpHeader.IF_MODIFIED_SINCE)) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
                 response.exceptionally(e -> {
                     if (e instanceof HttpAuthException) {
@@ -113,13 +130,13 @@ public class RefreshingUrlCache {
                         }
                     }
                     return null;
-                }).thenAccept(this::processResult);
+                }).thenAccept(content -> processResult(uri, content));
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
                 }
 
-                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize));
+                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize, cachedContent));
             }).exceptionally(e -> {
                 if (e instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
@@ -144,6 +161,10 @@ public class RefreshingUrlCache {
         consumers.add(consumer);
     }
 
+    public void removeConsumer(Consumer<Content> consumer) {
+        consumers.remove(consumer);
+    }
+
     public Optional<Content> get() {
         final Content content = lastContent;
         if (content == null) {
@@ -153,8 +174,12 @@ public class RefreshingUrlCache {
         }
     }
 
-    private void processResult(@Nullable Content content) {
-        if (content != null) {
+    private void processResult(URI uri, @Nullable Content content) {
+        final Content previousContent = lastContent;
+        if (content != null && skipUnchangedContent && previousContent != null
+                && (content == previousContent || content.hasSameData(previousContent))) {
+            logger.trace("Content of '{}' did not change, skipping channel updates", uri);
+        } else if (content != null) {
             for (Consumer<Content> consumer : consumers) {
                 try {
                     consumer.accept(content);
@@ -164,5 +189,6 @@ public class RefreshingUrlCache {
             }
         }
         lastContent = content;
+        lastUri = uri;
     }
 }
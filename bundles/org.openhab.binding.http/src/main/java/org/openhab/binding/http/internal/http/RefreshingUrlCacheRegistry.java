@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IllegalFormatException;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.HttpClient;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} shares {@link RefreshingUrlCache}s between all things. Channels of different
+ * things that request the same URL with the same request parameters are updated from a single request. A cache is
+ * stopped when the last channel using it is released.
+ *
+ * All caches requesting from the same host share one {@link RateLimitedHttpClient}, its delay is the largest delay
+ * of the channels requesting from that host. The delay is not part of the request parameters, channels with
+ * different delays share a cache.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCacheRegistry.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, CacheEntry> caches = new HashMap<>();
+    private final Map<String, RateLimitedHttpClient> hostClients = new HashMap<>();
+
+    private static class CacheEntry {
+        private final RefreshingUrlCache cache;
+        private final String hostKey;
+        // the delay configured for each consumer of the cache
+        private final Map<Consumer<Content>, Integer> delays = new HashMap<>();
+
+        private CacheEntry(RefreshingUrlCache cache, String hostKey) {
+            this.cache = cache;
+            this.hostKey = hostKey;
+        }
+
+        private int getDelay() {
+            return delays.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+    }
+
+    public RefreshingUrlCacheRegistry(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Get the cache for a URL and add a consumer to it. The cache is created if it does not exist yet.
+     *
+     * @param httpClient the secure or insecure Jetty http client
+     * @param url the state URL
+     * @param thingConfig the configuration of the thing requesting the URL
+     * @param httpContent the content of the state request (if method is PUT/POST)
+     * @param consumer the consumer of the content
+     * @return the cache, which needs to be released by {@link #release(RefreshingUrlCache, Consumer)}
+     */
+    public synchronized RefreshingUrlCache acquire(HttpClient httpClient, String url, HttpThingConfig thingConfig,
+            String httpContent, Consumer<Content> consumer) {
+        String key = cacheKey(url, thingConfig, httpContent);
+        CacheEntry entry = caches.get(key);
+        if (entry == null) {
+            String hostKey = thingConfig.ignoreSSLErrors + "$" + getHost(url);
+            RateLimitedHttpClient rateLimitedHttpClient = hostClients.computeIfAbsent(hostKey,
+                    k -> new RateLimitedHttpClient(httpClient, scheduler));
+            entry = new CacheEntry(
+                    new RefreshingUrlCache(scheduler, rateLimitedHttpClient, url, thingConfig, httpContent), hostKey);
+            caches.put(key, entry);
+        } else {
+            logger.debug("Sharing refresh task for URL '{}'", url);
+        }
+        entry.delays.put(consumer, thingConfig.delay);
+        entry.cache.addConsumer(consumer);
+        updateDelay(entry.hostKey);
+        return entry.cache;
+    }
+
+    /**
+     * Only requests that are equal in all parameters influencing the request or its processing can share a cache. The
+     * key contains a hash of the password instead of the password itself.
+     *
+     * @return the key of the cache for the request parameters
+     */
+    private String cacheKey(String url, HttpThingConfig thingConfig, String httpContent) {
+        return String.join("$", thingConfig.stateMethod.asString(), url, httpContent, thingConfig.headers.toString(),
+                thingConfig.username, hash(thingConfig.password), thingConfig.authMode.name(),
+                String.valueOf(thingConfig.ignoreSSLErrors), String.valueOf(thingConfig.refresh),
+                String.valueOf(thingConfig.timeout), String.valueOf(thingConfig.bufferSize),
+                String.valueOf(thingConfig.encoding), String.valueOf(thingConfig.skipUnchangedContent));
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Remove a consumer from a cache. The cache is stopped if it has no more consumers.
+     *
+     * @param cache the cache returned by {@link #acquire}
+     * @param consumer the consumer passed to {@link #acquire}
+     */
+    public synchronized void release(RefreshingUrlCache cache, Consumer<Content> consumer) {
+        cache.removeConsumer(consumer);
+        caches.entrySet().stream().filter(e -> e.getValue().cache == cache).findAny().ifPresent(e -> {
+            CacheEntry entry = e.getValue();
+            entry.delays.remove(consumer);
+            if (entry.delays.isEmpty()) {
+                entry.cache.stop();
+                caches.remove(e.getKey());
+            }
+            updateDelay(entry.hostKey);
+        });
+    }
+
+    /**
+     * Stop all caches
+     */
+    public synchronized void dispose() {
+        caches.values().forEach(entry -> entry.cache.stop());
+        caches.clear();
+        hostClients.values().forEach(RateLimitedHttpClient::shutdown);
+        hostClients.clear();
+    }
+
+    /**
+     * Set the delay of the rate-limited client of a host to the largest delay of the consumers using it, remove the
+     * client if no cache uses it anymore.
+     *
+     * @param hostKey the key of the host
+     */
+    private void updateDelay(String hostKey) {
+        RateLimitedHttpClient rateLimitedHttpClient = hostClients.get(hostKey);
+        if (rateLimitedHttpClient == null) {
+            return;
+        }
+        int delay = caches.values().stream().filter(entry -> entry.hostKey.equals(hostKey))
+                .mapToInt(CacheEntry::getDelay).max().orElse(-1);
+        if (delay < 0) {
+            rateLimitedHttpClient.shutdown();
+            hostClients.remove(hostKey);
+        } else if (delay != rateLimitedHttpClient.getDelay()) {
+            rateLimitedHttpClient.setDelay(delay);
+        }
+    }
+
+    private String getHost(String url) {
+        try {
+            URL finalUrl = new URL(String.format(url, new Date()));
+            return finalUrl.getHost() + ":" + finalUrl.getPort();
+        } catch (IllegalFormatException | MalformedURLException e) {
+            // the request will fail anyway, use a separate client for this URL
+            return url;
+        }
+    }
+}
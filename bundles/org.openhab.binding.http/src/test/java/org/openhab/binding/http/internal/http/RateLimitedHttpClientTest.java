@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link RateLimitedHttpClientTest} is a test class for changing the delay of a {@link RateLimitedHttpClient}
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class RateLimitedHttpClientTest {
+    private static final URI URL = URI.create("http://device.local/api/status");
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> processJob = mock(ScheduledFuture.class);
+    private final HttpClient httpClient = mock(HttpClient.class);
+    private final Request request = mock(Request.class);
+    private final RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(processJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        when(httpClient.newRequest(URL)).thenReturn(request);
+        when(request.method(any(HttpMethod.class))).thenReturn(request);
+    }
+
+    @Test
+    public void queuedRequestsAreCreatedWhenDelayIsRemoved() {
+        rateLimitedHttpClient.setDelay(100);
+        CompletableFuture<Request> queued = rateLimitedHttpClient.newRequest(URL, HttpMethod.GET, "");
+        assertFalse(queued.isDone());
+
+        rateLimitedHttpClient.setDelay(0);
+
+        verify(processJob).cancel(false);
+        assertSame(request, queued.getNow(null));
+        assertSame(request, rateLimitedHttpClient.newRequest(URL, HttpMethod.GET, "").getNow(null));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.http.internal.config.HttpAuthMode;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheRegistryTest} is a test class for sharing {@link RefreshingUrlCache}s between things
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistryTest {
+    private static final String URL = "http://device.local/api/status";
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> refreshJob = mock(ScheduledFuture.class);
+    private final HttpClient httpClient = mock(HttpClient.class);
+    private final RefreshingUrlCacheRegistry registry = new RefreshingUrlCacheRegistry(scheduler);
+
+    private final Consumer<Content> firstConsumer = content -> {
+    };
+    private final Consumer<Content> secondConsumer = content -> {
+    };
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(refreshJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+    }
+
+    @Test
+    public void equalRequestsShareOneCache() {
+        RefreshingUrlCache first = registry.acquire(httpClient, URL, new HttpThingConfig(), "", firstConsumer);
+        RefreshingUrlCache second = registry.acquire(httpClient, URL, new HttpThingConfig(), "", secondConsumer);
+
+        assertSame(first, second);
+        verify(scheduler, times(1)).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+
+        // the cache is stopped when the last consumer is released
+        registry.release(first, firstConsumer);
+        verify(refreshJob, never()).cancel(anyBoolean());
+        registry.release(second, secondConsumer);
+        verify(refreshJob).cancel(false);
+    }
+
+    @Test
+    public void differentRequestsUseDifferentCaches() {
+        HttpThingConfig otherRefresh = new HttpThingConfig();
+        otherRefresh.refresh = 5;
+        HttpThingConfig otherHeaders = new HttpThingConfig();
+        otherHeaders.headers.add("Accept=application/json");
+        HttpThingConfig otherPassword = new HttpThingConfig();
+        otherPassword.password = "secret";
+        HttpThingConfig otherAuthMode = new HttpThingConfig();
+        otherAuthMode.authMode = HttpAuthMode.DIGEST;
+        HttpThingConfig otherDelay = new HttpThingConfig();
+        otherDelay.delay = 500;
+
+        RefreshingUrlCache cache = registry.acquire(httpClient, URL, new HttpThingConfig(), "", firstConsumer);
+
+        assertNotSame(cache, registry.acquire(httpClient, URL + "?x=1", new HttpThingConfig(), "", firstConsumer));
+        assertNotSame(cache, registry.acquire(httpClient, URL, new HttpThingConfig(), "body", firstConsumer));
+        assertNotSame(cache, registry.acquire(httpClient, URL, otherRefresh, "", firstConsumer));
+        assertNotSame(cache, registry.acquire(httpClient, URL, otherHeaders, "", firstConsumer));
+        assertNotSame(cache, registry.acquire(httpClient, URL, otherPassword, "", firstConsumer));
+        assertNotSame(cache, registry.acquire(httpClient, URL, otherAuthMode, "", firstConsumer));
+        // the delay only limits the rate of the requests, it does not change them
+        assertSame(cache, registry.acquire(httpClient, URL, otherDelay, "", secondConsumer));
+    }
+
+    @Test
+    public void rateLimitIsSharedPerHost() {
+        HttpThingConfig slow = new HttpThingConfig();
+        slow.delay = 500;
+        HttpThingConfig fast = new HttpThingConfig();
+        fast.delay = 100;
+
+        RefreshingUrlCache slowCache = registry.acquire(httpClient, URL, slow, "", firstConsumer);
+        RefreshingUrlCache fastCache = registry.acquire(httpClient, "http://device.local/api/power", fast, "",
+                secondConsumer);
+
+        // one rate limiter for the host, started with the largest delay
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(500L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler, never()).scheduleWithFixedDelay(any(Runnable.class), anyLong(), eq(100L),
+                eq(TimeUnit.MILLISECONDS));
+
+        // the delay is lowered when the slow thing is gone
+        registry.release(slowCache, firstConsumer);
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(100L), eq(TimeUnit.MILLISECONDS));
+
+        registry.release(fastCache, secondConsumer);
+    }
+
+    @Test
+    public void sharedCacheUsesLargestDelay() {
+        HttpThingConfig slow = new HttpThingConfig();
+        slow.delay = 500;
+        HttpThingConfig fast = new HttpThingConfig();
+        fast.delay = 100;
+
+        RefreshingUrlCache fastCache = registry.acquire(httpClient, URL, fast, "", firstConsumer);
+        RefreshingUrlCache slowCache = registry.acquire(httpClient, URL, slow, "", secondConsumer);
+        assertSame(fastCache, slowCache);
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(100L), eq(TimeUnit.MILLISECONDS));
+        verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+        // the delay is lowered again when the slow consumer is released
+        registry.release(slowCache, secondConsumer);
+        verify(scheduler, times(2)).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(100L),
+                eq(TimeUnit.MILLISECONDS));
+    }
+}
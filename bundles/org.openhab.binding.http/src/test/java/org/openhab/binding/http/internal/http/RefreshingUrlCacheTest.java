@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * The {@link RefreshingUrlCacheTest} is a test class for the conditional requests of the {@link RefreshingUrlCache}
+ * and the skipping of unchanged content
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheTest {
+    private static final String URL = "http://device.local/api/status";
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> refreshJob = mock(ScheduledFuture.class);
+    private final RateLimitedHttpClient httpClient = mock(RateLimitedHttpClient.class);
+    private final Request request = mock(Request.class);
+    private final List<Content> received = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(refreshJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        when(httpClient.newRequest(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(request));
+        when(request.getHeaders()).thenReturn(new HttpFields());
+        when(request.getMethod()).thenReturn("GET");
+    }
+
+    private Runnable startCache(HttpThingConfig config) {
+        RefreshingUrlCache cache = new RefreshingUrlCache(scheduler, httpClient, URL, config, "");
+        cache.addConsumer(received::add);
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(refresh.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        return refresh.getValue();
+    }
+
+    /**
+     * Refresh the cache and answer the request with the given response
+     */
+    private void refresh(Runnable refresh, int status, String body, @Nullable String eTag) {
+        clearInvocations(request);
+        refresh.run();
+        ArgumentCaptor<Response.CompleteListener> listener = ArgumentCaptor.forClass(Response.CompleteListener.class);
+        verify(request).send(listener.capture());
+        HttpResponseListener responseListener = (HttpResponseListener) listener.getValue();
+
+        HttpFields headers = new HttpFields();
+        headers.put(HttpHeader.CONTENT_TYPE, "application/json; charset=UTF-8");
+        if (eTag != null) {
+            headers.put(HttpHeader.ETAG, eTag);
+        }
+        Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(status);
+        when(response.getHeaders()).thenReturn(headers);
+        when(response.getRequest()).thenReturn(request);
+
+        responseListener.onHeaders(response);
+        if (!body.isEmpty()) {
+            responseListener.onContent(response, ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+        }
+        responseListener.onComplete(new Result(request, response));
+    }
+
+    @Test
+    public void notModifiedResponseProvidesCachedContent() {
+        Runnable refresh = startCache(new HttpThingConfig());
+
+        refresh(refresh, HttpStatus.OK_200, "{\"power\":42}", "\"v1\"");
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+        assertEquals(1, received.size());
+
+        // the next request is conditional and the server answers without content
+        refresh(refresh, HttpStatus.NOT_MODIFIED_304, "", null);
+        verify(request).header(HttpHeader.IF_NONE_MATCH, "\"v1\"");
+        assertEquals(2, received.size());
+        assertSame(received.get(0), received.get(1));
+        assertEquals("{\"power\":42}", received.get(1).getAsString());
+    }
+
+    @Test
+    public void unchangedContentIsSkipped() {
+        HttpThingConfig config = new HttpThingConfig();
+        config.skipUnchangedContent = true;
+        Runnable refresh = startCache(config);
+
+        refresh(refresh, HttpStatus.OK_200, "{\"power\":42}", null);
+        refresh(refresh, HttpStatus.OK_200, "{\"power\":42}", null);
+        assertEquals(1, received.size());
+
+        refresh(refresh, HttpStatus.OK_200, "{\"power\":43}", "\"v2\"");
+        assertEquals(2, received.size());
+        assertEquals("{\"power\":43}", received.get(1).getAsString());
+
+        refresh(refresh, HttpStatus.NOT_MODIFIED_304, "", null);
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    public void unchangedContentIsPassedOnByDefault() {
+        Runnable refresh = startCache(new HttpThingConfig());
+
+        refresh(refresh, HttpStatus.OK_200, "{\"power\":42}", null);
+        refresh(refresh, HttpStatus.OK_200, "{\"power\":42}", null);
+        assertEquals(2, received.size());
+    }
+}
@@ -12,13 +12,17 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -37,6 +41,7 @@ import tuwien.auto.calimero.DetachEvent;
 import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXAckTimeoutException;
 import tuwien.auto.calimero.KNXException;
 import tuwien.auto.calimero.datapoint.CommandDP;
 import tuwien.auto.calimero.datapoint.Datapoint;
@@ -64,6 +69,8 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    // the pause between read requests grows up to this factor of the configured reading pause while the bus is busy
+    private static final int MAX_READING_PAUSE_FACTOR = 16;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -86,10 +93,15 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // listeners per group address, built on demand and cleared whenever a listener (re-)registers or unregisters
+    private final Map<GroupAddress, List<GroupAddressListener>> groupAddressListenerIndex = new ConcurrentHashMap<>();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private final OutboundQueue outboundQueue;
+    private volatile int currentReadingPause;
+    private volatile long nextReadNanos;
 
     @FunctionalInterface
-    private interface ListenerNotification {
+    interface ListenerNotification {
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
@@ -124,14 +136,17 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     };
 
     public AbstractKNXClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, StatusUpdateCallback statusUpdateCallback) {
+            int readRetriesLimit, int writeInterval, ScheduledExecutorService knxScheduler,
+            StatusUpdateCallback statusUpdateCallback) {
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
+        this.currentReadingPause = readingPause;
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.outboundQueue = new OutboundQueue(knxScheduler, writeInterval, this::sendCommand);
     }
 
     public void initialize() {
@@ -225,6 +240,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
         readDatapoints.clear();
+        outboundQueue.clear();
+        currentReadingPause = readingPause;
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -248,15 +265,31 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
-        GroupAddress destination = event.getDestination();
-        IndividualAddress source = event.getSourceAddr();
-        byte[] asdu = event.getASDU();
+        processEvent(task, event.getSourceAddr(), event.getDestination(), event.getASDU(), action);
+    }
+
+    void processEvent(String task, IndividualAddress source, GroupAddress destination, byte[] asdu,
+            ListenerNotification action) {
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
+        List<GroupAddressListener> listeners = groupAddressListenerIndex.get(destination);
+        if (listeners == null) {
+            synchronized (groupAddressListenerIndex) {
+                listeners = groupAddressListenerIndex.computeIfAbsent(destination,
+                        ga -> groupAddressListeners.stream().filter(listener -> listener.listensTo(ga))
+                                .collect(Collectors.toUnmodifiableList()));
             }
         }
+        if (!listeners.isEmpty()) {
+            knxScheduler.execute(() -> {
+                for (GroupAddressListener listener : listeners) {
+                    try {
+                        action.apply(listener, source, destination, asdu);
+                    } catch (RuntimeException e) {
+                        logger.warn("Listener failed to process a {} telegram to '{}'", task, destination, e);
+                    }
+                }
+            });
+        }
     }
 
     /**
@@ -280,18 +313,33 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
+        if (isReadingPaused()) {
+            // the bus is busy, skip this turn
+            return;
+        }
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+                logger.trace("Sending a Group Read Request telegram for {} ({} read requests pending)",
+                        datapoint.getDatapoint().getMainAddress(), readDatapoints.size());
                 processCommunicator.read(datapoint.getDatapoint());
+                readDatapoints.completed(datapoint);
+                adaptReadingPause(false);
             } catch (KNXException e) {
+                if (e instanceof KNXAckTimeoutException) {
+                    adaptReadingPause(true);
+                }
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
+                    if (readDatapoints.add(datapoint)) {
+                        logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                                datapoint.getDatapoint().getMainAddress(), e.getMessage());
+                    } else {
+                        logger.debug("Could not read value for datapoint {}: {}. It is already queued again.",
+                                datapoint.getDatapoint().getMainAddress(), e.getMessage());
+                    }
                 } else {
+                    readDatapoints.completed(datapoint);
                     logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
                             datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
                 }
@@ -302,6 +350,41 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
+    /**
+     * Slows down reading while the bus or the interface does not acknowledge in time, and gradually returns to the
+     * configured reading pause once reads succeed again.
+     *
+     * @param busy true if the last read request timed out
+     */
+    void adaptReadingPause(boolean busy) {
+        int pause = currentReadingPause;
+        if (busy) {
+            pause = Math.min(Math.max(pause, 1) * 2, Math.max(readingPause, 1) * MAX_READING_PAUSE_FACTOR);
+        } else if (pause > readingPause) {
+            pause = Math.max(readingPause, pause - pause / 4);
+        }
+        if (pause != currentReadingPause) {
+            logger.debug("Bridge {} changes the pause between read requests from {} ms to {} ms", thingUID,
+                    currentReadingPause, pause);
+            currentReadingPause = pause;
+        }
+        nextReadNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pause - readingPause);
+    }
+
+    /**
+     * @return the current pause between read requests in milliseconds
+     */
+    int getCurrentReadingPause() {
+        return currentReadingPause;
+    }
+
+    /**
+     * @return true if reading is paused because the bus was busy
+     */
+    boolean isReadingPaused() {
+        return System.nanoTime() - nextReadNanos < 0;
+    }
+
     public void dispose() {
         cancelReconnectJob();
         disconnect(null);
@@ -367,23 +450,26 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        synchronized (groupAddressListenerIndex) {
+            boolean added = groupAddressListeners.add(listener);
+            groupAddressListenerIndex.clear();
+            return added;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListenerIndex) {
+            boolean removed = groupAddressListeners.remove(listener);
+            groupAddressListenerIndex.clear();
+            return removed;
+        }
     }
 
     @Override
@@ -402,7 +488,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void writeToKNX(OutboundSpec commandSpec) throws KNXException {
+    public CompletableFuture<@Nullable Void> writeToKNX(OutboundSpec commandSpec) {
+        if (commandSpec.getGroupAddress() != null) {
+            return outboundQueue.add(commandSpec);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void sendCommand(OutboundSpec commandSpec) throws KNXException {
         ProcessCommunicator processCommunicator = this.processCommunicator;
         KNXNetworkLink link = this.link;
         if (processCommunicator == null || link == null) {
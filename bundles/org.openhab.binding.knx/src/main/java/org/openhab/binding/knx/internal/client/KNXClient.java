@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.handler.GroupAddressListener;
@@ -79,17 +81,25 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * If a read request for the same group address is already pending, no second request is queued, but the pending
+     * one is sent with the higher of both priorities.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
      *
+     * The command is queued and sent asynchronously. A value for a dimmer, rollershutter or number which is still
+     * waiting to be sent is replaced by a newer value for the same group address.
+     *
      * @param commandSpec the outbound spec
-     * @throws KNXException if any problem with the communication arises.
+     * @return a future which completes when the command has been sent, or completes exceptionally with the
+     *         {@link KNXException} if any problem with the communication arises.
      */
-    void writeToKNX(OutboundSpec commandSpec) throws KNXException;
+    CompletableFuture<@Nullable Void> writeToKNX(OutboundSpec commandSpec);
 
     /**
      * Send a state as a read-response to the KNX bus.
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.handler.GroupAddressListener;
@@ -59,11 +61,12 @@ public class NoOpClient implements KNXClient {
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
     }
 
     @Override
-    public void writeToKNX(OutboundSpec commandSpec) throws KNXException {
+    public CompletableFuture<@Nullable Void> writeToKNX(OutboundSpec commandSpec) {
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+
+/**
+ * Queue of the group writes to be sent to the KNX bus.
+ *
+ * Writes are sent in the order they were queued. Writes of absolute values, e.g. the position of a dimmer or a
+ * rollershutter, are coalesced: while a write to the same group address is still waiting in the queue, a new value
+ * replaces the pending one instead of being sent as well. Writes of other datapoint types, e.g. switches, relative
+ * steps or scenes, are never coalesced, and values are never moved across them.
+ *
+ * Two writes of absolute values to the same group address are sent at least the configured interval apart. A write
+ * that has to wait for its interval holds back the later writes to the same group address and all writes behind the
+ * next write that is not coalesced. Values of other group addresses queued in between are sent in the meantime.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class OutboundQueue {
+
+    // main numbers of the datapoint types with absolute values, where only the latest value matters
+    private static final Set<Integer> COALESCED_MAIN_NUMBERS = Set.of(5, 7, 8, 9, 12, 13, 14, 29, 232, 242, 251);
+
+    @FunctionalInterface
+    public interface Sender {
+        void send(OutboundSpec spec) throws KNXException;
+    }
+
+    private static class Write {
+        private final long sequence;
+        private final @Nullable GroupAddress coalescedAddress;
+        private final CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+        private OutboundSpec spec;
+
+        private Write(long sequence, @Nullable GroupAddress coalescedAddress, OutboundSpec spec) {
+            this.sequence = sequence;
+            this.coalescedAddress = coalescedAddress;
+            this.spec = spec;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(OutboundQueue.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final long minIntervalNanos;
+    private final Sender sender;
+    private final LongSupplier nanoTime;
+
+    private final Deque<Write> writes = new ArrayDeque<>();
+    private final Map<GroupAddress, Write> pendingValues = new HashMap<>();
+    private final Map<GroupAddress, Long> lastSentNanos = new HashMap<>();
+    private long sequence;
+    private long lastOrderedSequence = -1;
+    private boolean sending;
+    private @Nullable ScheduledFuture<?> wakeUpJob;
+    private long coalescedCount;
+
+    /**
+     * @param scheduler the scheduler which sends the writes
+     * @param minInterval the minimum interval in milliseconds between two writes of values to the same group address
+     * @param sender sends a write to the bus
+     */
+    public OutboundQueue(ScheduledExecutorService scheduler, int minInterval, Sender sender) {
+        this(scheduler, minInterval, sender, System::nanoTime);
+    }
+
+    OutboundQueue(ScheduledExecutorService scheduler, int minInterval, Sender sender, LongSupplier nanoTime) {
+        this.scheduler = scheduler;
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minInterval));
+        this.sender = sender;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Queues a write to the bus.
+     *
+     * @param spec the outbound spec
+     * @return a future which completes when the value has been sent, or completes exceptionally with the
+     *         {@link KNXException} if it could not be sent. A replaced value completes with the value that replaced it.
+     */
+    public CompletableFuture<@Nullable Void> add(OutboundSpec spec) {
+        Write write;
+        synchronized (this) {
+            GroupAddress groupAddress = spec.getGroupAddress();
+            if (groupAddress != null && isCoalesced(spec.getDPT())) {
+                Write pending = pendingValues.get(groupAddress);
+                if (pending != null && pending.sequence > lastOrderedSequence) {
+                    logger.trace("Replacing pending value '{}' for '{}' by '{}'", pending.spec.getType(), groupAddress,
+                            spec.getType());
+                    pending.spec = spec;
+                    coalescedCount++;
+                    return pending.future;
+                }
+                write = new Write(sequence++, groupAddress, spec);
+                pendingValues.put(groupAddress, write);
+            } else {
+                lastOrderedSequence = sequence;
+                write = new Write(sequence++, null, spec);
+            }
+            writes.add(write);
+        }
+        startSending();
+        return write.future;
+    }
+
+    /**
+     * Drops all writes which have not been sent yet. Their futures complete without an error.
+     */
+    public void clear() {
+        Deque<Write> dropped;
+        synchronized (this) {
+            dropped = new ArrayDeque<>(writes);
+            writes.clear();
+            pendingValues.clear();
+            lastSentNanos.clear();
+            cancelWakeUp();
+        }
+        dropped.forEach(write -> write.future.complete(null));
+    }
+
+    public synchronized int size() {
+        return writes.size();
+    }
+
+    /**
+     * @return the number of values which have been replaced by a newer value before they were sent
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    private void startSending() {
+        synchronized (this) {
+            if (sending || writes.isEmpty()) {
+                return;
+            }
+            sending = true;
+        }
+        scheduler.execute(this::sendQueued);
+    }
+
+    private void sendQueued() {
+        while (true) {
+            Write write;
+            synchronized (this) {
+                write = nextDueWrite();
+                if (write == null) {
+                    sending = false;
+                    return;
+                }
+            }
+            try {
+                sender.send(write.spec);
+                write.future.complete(null);
+            } catch (KNXException e) {
+                logger.debug("Value '{}' could not be sent to '{}': {}", write.spec.getType(),
+                        write.spec.getGroupAddress(), e.getMessage());
+                write.future.completeExceptionally(e);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to send value '{}' to '{}': {}", write.spec.getType(),
+                        write.spec.getGroupAddress(), e.getMessage(), e);
+                write.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Takes the first write that can be sent now from the queue. Writes that wait for the interval of their group
+     * address hold back the later writes to the same group address, and a write that is not coalesced is never sent
+     * before a waiting write queued ahead of it. If no write can be sent now, sending is resumed when the first
+     * waiting write is due.
+     *
+     * @return the write to send, or null if no write can be sent now
+     */
+    private @Nullable Write nextDueWrite() {
+        long now = nanoTime.getAsLong();
+        long minWait = Long.MAX_VALUE;
+        Set<GroupAddress> waiting = new HashSet<>();
+        for (Iterator<Write> iterator = writes.iterator(); iterator.hasNext();) {
+            Write write = iterator.next();
+            GroupAddress groupAddress = write.spec.getGroupAddress();
+            if (groupAddress != null && waiting.contains(groupAddress)) {
+                continue;
+            }
+            GroupAddress coalescedAddress = write.coalescedAddress;
+            if (coalescedAddress == null && !waiting.isEmpty()) {
+                // values are never moved across a write that is not coalesced
+                break;
+            }
+            if (coalescedAddress != null) {
+                Long lastSent = lastSentNanos.get(coalescedAddress);
+                long wait = lastSent == null ? 0 : lastSent + minIntervalNanos - now;
+                if (wait > 0) {
+                    waiting.add(coalescedAddress);
+                    minWait = Math.min(minWait, wait);
+                    continue;
+                }
+                // from now on, new values must be queued behind this write
+                pendingValues.remove(coalescedAddress, write);
+                lastSentNanos.put(coalescedAddress, now);
+            }
+            iterator.remove();
+            return write;
+        }
+        if (minWait != Long.MAX_VALUE) {
+            cancelWakeUp();
+            wakeUpJob = scheduler.schedule(this::startSending, minWait, TimeUnit.NANOSECONDS);
+        }
+        return null;
+    }
+
+    private void cancelWakeUp() {
+        ScheduledFuture<?> wakeUpJob = this.wakeUpJob;
+        if (wakeUpJob != null) {
+            wakeUpJob.cancel(false);
+            this.wakeUpJob = null;
+        }
+    }
+
+    private static boolean isCoalesced(String dpt) {
+        int separator = dpt.indexOf('.');
+        if (separator <= 0) {
+            return false;
+        }
+        try {
+            return COALESCED_MAIN_NUMBERS.contains(Integer.parseInt(dpt.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
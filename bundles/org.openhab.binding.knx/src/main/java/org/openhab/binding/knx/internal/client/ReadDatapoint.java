@@ -18,17 +18,25 @@ import tuwien.auto.calimero.datapoint.Datapoint;
  * Information about a data point which is queued to be read from the KNX bus.
  *
  * @author Karel Goderis - Initial contribution
+ * @author Hilbrand Bouwkamp - Read priority and merging of read requests
  */
 public class ReadDatapoint {
 
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
+    private long queuedNanos = System.nanoTime();
 
     public ReadDatapoint(Datapoint datapoint, int limit) {
+        this(datapoint, limit, ReadPriority.PERIODIC);
+    }
+
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
     }
 
     public Datapoint getDatapoint() {
@@ -47,6 +55,32 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the time in nanoseconds ({@link System#nanoTime()}) when the read request was queued first
+     */
+    public long getQueuedNanos() {
+        return queuedNanos;
+    }
+
+    /**
+     * Merges another read request of the same group address into this one. This request gets the higher priority and
+     * the earlier queue time of both.
+     *
+     * @param other the read request of the same group address
+     */
+    public void merge(ReadDatapoint other) {
+        if (other.priority.compareTo(priority) < 0) {
+            priority = other.priority;
+        }
+        if (other.queuedNanos - queuedNanos < 0) {
+            queuedNanos = other.queuedNanos;
+        }
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
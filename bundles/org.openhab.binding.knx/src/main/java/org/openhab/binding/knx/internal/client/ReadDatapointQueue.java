@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the datapoints to be read from the KNX bus.
+ *
+ * There is at most one pending read request per group address. Queuing a group address which is already queued does
+ * not add a second request, but merges both into the pending request, which gets the higher priority of both. This also
+ * applies to a retry of a read request that was queued again in the meantime. Requests are taken in order
+ * of their {@link ReadPriority} and, within a priority, in the order they were queued.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueue {
+
+    private final Logger logger = LoggerFactory.getLogger(ReadDatapointQueue.class);
+
+    private final Map<ReadPriority, LinkedHashMap<GroupAddress, ReadDatapoint>> lanes = new EnumMap<>(
+            ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+
+    private long readCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    public ReadDatapointQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            lanes.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Queues a read request, unless a request for the same group address is already pending.
+     *
+     * @param datapoint the read request
+     * @return true if the request was queued, false if it was merged into a pending one
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint existing = pending.get(address);
+        if (existing == null) {
+            pending.put(address, datapoint);
+            lane(datapoint.getPriority()).put(address, datapoint);
+            return true;
+        }
+        if (existing != datapoint) {
+            ReadPriority priority = existing.getPriority();
+            existing.merge(datapoint);
+            if (existing.getPriority() != priority) {
+                lane(priority).remove(address);
+                lane(existing.getPriority()).put(address, existing);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next read request to be sent to the bus.
+     *
+     * @return the oldest request of the highest priority, or null if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        for (LinkedHashMap<GroupAddress, ReadDatapoint> lane : lanes.values()) {
+            Iterator<ReadDatapoint> iterator = lane.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint datapoint = iterator.next();
+                iterator.remove();
+                pending.remove(datapoint.getDatapoint().getMainAddress());
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records that a read request has been answered (or given up), for the queue statistics.
+     *
+     * @param datapoint the read request taken from the queue
+     */
+    public synchronized void completed(ReadDatapoint datapoint) {
+        long waitNanos = System.nanoTime() - datapoint.getQueuedNanos();
+        readCount++;
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        if (pending.isEmpty() && logger.isDebugEnabled()) {
+            logger.debug("Read queue drained after {} read requests, average latency {} ms, maximum latency {} ms",
+                    readCount, TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / readCount),
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            readCount = 0;
+            totalWaitNanos = 0;
+            maxWaitNanos = 0;
+        }
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized int size(ReadPriority priority) {
+        return lane(priority).size();
+    }
+
+    public synchronized void clear() {
+        lanes.values().forEach(Map::clear);
+        pending.clear();
+        readCount = 0;
+        totalWaitNanos = 0;
+        maxWaitNanos = 0;
+    }
+
+    @SuppressWarnings("null")
+    private LinkedHashMap<GroupAddress, ReadDatapoint> lane(ReadPriority priority) {
+        return lanes.get(priority);
+    }
+}
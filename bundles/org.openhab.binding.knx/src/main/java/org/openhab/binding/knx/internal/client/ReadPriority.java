@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The priority of a read request. Requests of a higher priority are sent to the bus first.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ *
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** A REFRESH command of the user */
+    REFRESH,
+    /** The first read of a channel after it has been initialized or linked */
+    STARTUP,
+    /** The periodic read of a channel */
+    PERIODIC
+}
@@ -40,10 +40,10 @@ public class SerialClient extends AbstractKNXClient {
     private final String serialPort;
 
     public SerialClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, String serialPort,
+            int readRetriesLimit, int writeInterval, ScheduledExecutorService knxScheduler, String serialPort,
             StatusUpdateCallback statusUpdateCallback) {
-        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, knxScheduler,
-                statusUpdateCallback);
+        super(autoReconnectPeriod, thingUID, responseTimeout, readingPause, readRetriesLimit, writeInterval,
+                knxScheduler, statusUpdateCallback);
         this.serialPort = serialPort;
     }
 
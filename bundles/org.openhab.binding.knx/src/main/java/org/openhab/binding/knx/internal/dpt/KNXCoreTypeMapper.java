@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -107,6 +108,12 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /**
+     * stores an idle translator per KNX datapoint type. A translator keeps the data it translates, so it is removed
+     * while it is in use.
+     */
+    private final Map<String, DPTXlator> idleTranslators = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -585,8 +592,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         }
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
+            DPTXlator translator = getTranslator(mainNumber, dptID);
             dpt = translator.getType();
+            releaseTranslator(dptID, translator);
         } catch (KNXException e) {
             return null;
         }
@@ -672,8 +680,10 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DPTXlator usedTranslator = null;
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            DPTXlator translator = getTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            usedTranslator = translator;
             translator.setData(data);
             String value = translator.getValue();
 
@@ -854,11 +864,40 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     datapoint.getDPT());
         } catch (KNXException e) {
             logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+        } finally {
+            if (usedTranslator != null) {
+                releaseTranslator(datapoint.getDPT(), usedTranslator);
+            }
         }
 
         return null;
     }
 
+    /**
+     * Returns a translator for the given datapoint type for exclusive use. It must be handed back with
+     * {@link #releaseTranslator(String, DPTXlator)} when the translation is done.
+     *
+     * @param mainNumber the main number of the datapoint type or 0 to derive it from the datapoint type id
+     * @param dptID the datapoint type id
+     * @return the translator
+     * @throws KNXException if no translator is available for the datapoint type
+     */
+    private DPTXlator getTranslator(int mainNumber, String dptID) throws KNXException {
+        DPTXlator translator = idleTranslators.remove(dptID);
+        return translator == null ? TranslatorTypes.createTranslator(mainNumber, dptID) : translator;
+    }
+
+    /**
+     * Keeps the translator for the next translation of its datapoint type. At most one translator per datapoint type
+     * is kept.
+     *
+     * @param dptID the datapoint type id the translator was requested for
+     * @param translator the translator that is no longer used
+     */
+    private void releaseTranslator(String dptID, DPTXlator translator) {
+        idleTranslators.putIfAbsent(dptID, translator);
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -15,6 +15,7 @@ package org.openhab.binding.knx.internal.handler;
 import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -34,6 +36,7 @@ import org.openhab.binding.knx.internal.channel.KNXChannelTypes;
 import org.openhab.binding.knx.internal.client.AbstractKNXClient;
 import org.openhab.binding.knx.internal.client.InboundSpec;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
+import org.openhab.binding.knx.internal.client.ReadPriority;
 import org.openhab.binding.knx.internal.config.DeviceConfig;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
 import org.openhab.core.config.core.Configuration;
@@ -74,26 +77,61 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     private final Set<OutboundSpec> groupAddressesRespondingSpec = new HashSet<>();
     private final Map<GroupAddress, ScheduledFuture<?>> readFutures = new HashMap<>();
     private final Map<ChannelUID, ScheduledFuture<?>> channelFutures = new HashMap<>();
+    private volatile Map<GroupAddress, List<ListeningChannel>> listeningChannels = Map.of();
     private int readInterval;
 
+    /**
+     * A channel listening to a group address, together with the spec to decode the telegrams of that address.
+     */
+    private static class ListeningChannel {
+        private final Channel channel;
+        private final KNXChannelType selector;
+        private final InboundSpec listenSpec;
+        private final boolean control;
+
+        private ListeningChannel(Channel channel, KNXChannelType selector, InboundSpec listenSpec, boolean control) {
+            this.channel = channel;
+            this.selector = selector;
+            this.listenSpec = listenSpec;
+            this.control = control;
+        }
+    }
+
     public DeviceThingHandler(Thing thing) {
         super(thing);
     }
 
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // the group addresses must be known before the handler registers as listener at the client
         initializeGroupAddresses();
+        super.initialize();
     }
 
     private void initializeGroupAddresses() {
-        forAllChannels((selector, channelConfiguration) -> {
-            groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
-            groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
-            groupAddresses.addAll(selector.getListenAddresses(channelConfiguration));
-        });
+        Map<GroupAddress, List<ListeningChannel>> listeningChannels = new HashMap<>();
+        for (Channel channel : getThing().getChannels()) {
+            withKNXType(channel, (selector, channelConfiguration) -> {
+                groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
+                groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
+                Set<GroupAddress> listenAddresses = selector.getListenAddresses(channelConfiguration);
+                groupAddresses.addAll(listenAddresses);
+
+                boolean control = isControl(channel.getUID());
+                for (GroupAddress groupAddress : listenAddresses) {
+                    InboundSpec listenSpec = groupAddress != null
+                            ? selector.getListenSpec(channelConfiguration, groupAddress)
+                            : null;
+                    if (listenSpec != null) {
+                        listeningChannels.computeIfAbsent(groupAddress, ga -> new ArrayList<>())
+                                .add(new ListeningChannel(channel, selector, listenSpec, control));
+                    }
+                }
+            });
+        }
+        this.listeningChannels = listeningChannels;
     }
 
     @Override
@@ -113,6 +151,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     }
 
     private void freeGroupAdresses() {
+        listeningChannels = Map.of();
         groupAddresses.clear();
         groupAddressesWriteBlockedOnce.clear();
         groupAddressesRespondingSpec.clear();
@@ -151,17 +190,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         }
     }
 
-    private void forAllChannels(ChannelFunction function) {
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, function);
-        }
-    }
-
     @Override
     public void channelLinked(ChannelUID channelUID) {
         if (!isControl(channelUID)) {
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, false);
             });
         }
     }
@@ -172,17 +205,22 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         for (Channel channel : getThing().getChannels()) {
             if (isLinked(channel.getUID().getId()) && !isControl(channel.getUID())) {
                 withKNXType(channel, (selector, configuration) -> {
-                    scheduleRead(selector, configuration);
+                    scheduleRead(selector, configuration, false);
                 });
             }
         }
     }
 
-    private void scheduleRead(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+    private void scheduleRead(KNXChannelType selector, Configuration configuration, boolean refresh)
+            throws KNXFormatException {
         List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
         for (InboundSpec readSpec : readSpecs) {
             for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
-                scheduleReadJob(groupAddress, readSpec.getDPT());
+                if (refresh) {
+                    getScheduler().submit(() -> readDatapoint(groupAddress, readSpec.getDPT(), ReadPriority.REFRESH));
+                } else {
+                    scheduleReadJob(groupAddress, readSpec.getDPT());
+                }
             }
         }
     }
@@ -191,23 +229,26 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                // the first read after startup goes before the periodic reads of other channels
+                AtomicBoolean firstRead = new AtomicBoolean(true);
+                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt,
+                        firstRead.getAndSet(false) ? ReadPriority.STARTUP : ReadPriority.PERIODIC), 0, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, ReadPriority.STARTUP));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -235,7 +276,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, true);
             });
         } else {
             switch (channelUID.getId()) {
@@ -250,7 +291,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
                         // only send GroupValueWrite to KNX if GA is not blocked once
                         if (commandSpec != null
                                 && !groupAddressesWriteBlockedOnce.remove(commandSpec.getGroupAddress())) {
-                            getClient().writeToKNX(commandSpec);
+                            getClient().writeToKNX(commandSpec).whenComplete((result, e) -> {
+                                if (e != null) {
+                                    logger.warn("An error occurred on channel {}: {}", channelUID, e.getMessage(), e);
+                                }
+                            });
                             if (isControl(channelUID)) {
                                 rememberRespondingSpec(commandSpec, true);
                             }
@@ -345,31 +390,32 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         logger.debug("onGroupWrite Thing '{}' received a GroupValueWrite telegram from '{}' for destination '{}'",
                 getThing().getUID(), source, destination);
 
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, (selector, configuration) -> {
-                InboundSpec listenSpec = selector.getListenSpec(configuration, destination);
-                if (listenSpec != null) {
-                    logger.trace(
-                            "onGroupWrite Thing '{}' processes a GroupValueWrite telegram for destination '{}' for channel '{}'",
-                            getThing().getUID(), destination, channel.getUID());
-                    /**
-                     * Remember current KNXIO outboundSpec only if it is a control channel.
-                     */
-                    if (isControl(channel.getUID())) {
-                        logger.trace("onGroupWrite isControl");
-                        Type type = typeHelper.toType(
-                                new CommandDP(destination, getThing().getUID().toString(), 0, listenSpec.getDPT()),
-                                asdu);
-                        if (type != null) {
-                            OutboundSpec commandSpec = selector.getCommandSpec(configuration, typeHelper, type);
-                            if (commandSpec != null) {
-                                rememberRespondingSpec(commandSpec, true);
-                            }
+        for (ListeningChannel listeningChannel : listeningChannels.getOrDefault(destination, List.of())) {
+            Channel channel = listeningChannel.channel;
+            InboundSpec listenSpec = listeningChannel.listenSpec;
+            logger.trace(
+                    "onGroupWrite Thing '{}' processes a GroupValueWrite telegram for destination '{}' for channel '{}'",
+                    getThing().getUID(), destination, channel.getUID());
+            /**
+             * Remember current KNXIO outboundSpec only if it is a control channel.
+             */
+            if (listeningChannel.control) {
+                logger.trace("onGroupWrite isControl");
+                Type type = typeHelper.toType(
+                        new CommandDP(destination, getThing().getUID().toString(), 0, listenSpec.getDPT()), asdu);
+                if (type != null) {
+                    try {
+                        OutboundSpec commandSpec = listeningChannel.selector.getCommandSpec(channel.getConfiguration(),
+                                typeHelper, type);
+                        if (commandSpec != null) {
+                            rememberRespondingSpec(commandSpec, true);
                         }
+                    } catch (KNXException e) {
+                        logger.warn("An error occurred on channel {}: {}", channel.getUID(), e.getMessage(), e);
                     }
-                    processDataReceived(destination, asdu, listenSpec, channel.getUID());
                 }
-            });
+            }
+            processDataReceived(destination, asdu, listenSpec, channel.getUID());
         }
     }
 
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.core.thing.ThingUID;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ * Tests the dispatching of received telegrams to the group address listeners and the adaptive pause between read
+ * requests of the {@link AbstractKNXClient}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class AbstractKNXClientTest {
+
+    private static final byte[] ASDU = new byte[] { 0x01 };
+    private static final int READING_PAUSE = 50;
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final AbstractKNXClient client = new AbstractKNXClient(0, new ThingUID("knx:ip:bridge"), 10, READING_PAUSE, 3, 0,
+            scheduler, mock(StatusUpdateCallback.class)) {
+        @Override
+        protected KNXNetworkLink establishConnection() throws KNXException {
+            throw new KNXException("not connected");
+        }
+    };
+
+    private GroupAddress switchAddress;
+    private GroupAddress dimmerAddress;
+    private IndividualAddress source;
+
+    @BeforeEach
+    public void setUp() throws KNXFormatException {
+        switchAddress = new GroupAddress("1/2/3");
+        dimmerAddress = new GroupAddress("1/2/4");
+        source = new IndividualAddress("1.1.1");
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduler).execute(any(Runnable.class));
+    }
+
+    private GroupAddressListener listenerOf(GroupAddress address) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.listensTo(any())).thenAnswer(invocation -> address.equals(invocation.getArgument(0)));
+        return listener;
+    }
+
+    private void groupWrite(GroupAddress destination) {
+        client.processEvent("Group Write", source, destination, ASDU,
+                (listener, s, d, asdu) -> listener.onGroupWrite(client, s, d, asdu));
+    }
+
+    @Test
+    public void listenersAreLookedUpOncePerGroupAddress() {
+        GroupAddressListener switchListener = listenerOf(switchAddress);
+        GroupAddressListener dimmerListener = listenerOf(dimmerAddress);
+        client.registerGroupAddressListener(switchListener);
+        client.registerGroupAddressListener(dimmerListener);
+
+        groupWrite(switchAddress);
+        groupWrite(switchAddress);
+
+        verify(switchListener, times(2)).onGroupWrite(client, source, switchAddress, ASDU);
+        verify(dimmerListener, never()).onGroupWrite(any(), any(), any(), any());
+        verify(switchListener, times(1)).listensTo(switchAddress);
+        verify(dimmerListener, times(1)).listensTo(switchAddress);
+    }
+
+    @Test
+    public void registrationChangesUpdateTheListeners() {
+        GroupAddressListener first = listenerOf(switchAddress);
+        client.registerGroupAddressListener(first);
+        groupWrite(switchAddress);
+
+        GroupAddressListener second = listenerOf(switchAddress);
+        client.registerGroupAddressListener(second);
+        client.unregisterGroupAddressListener(first);
+        groupWrite(switchAddress);
+
+        verify(first, times(1)).onGroupWrite(client, source, switchAddress, ASDU);
+        verify(second, times(1)).onGroupWrite(client, source, switchAddress, ASDU);
+    }
+
+    @Test
+    public void failingListenerDoesNotStopOtherListeners() {
+        GroupAddressListener failing = listenerOf(switchAddress);
+        doThrow(new IllegalStateException("failure")).when(failing).onGroupWrite(any(), any(), any(), any());
+        GroupAddressListener other = listenerOf(switchAddress);
+        client.registerGroupAddressListener(failing);
+        client.registerGroupAddressListener(other);
+
+        groupWrite(switchAddress);
+
+        verify(failing).onGroupWrite(client, source, switchAddress, ASDU);
+        verify(other).onGroupWrite(client, source, switchAddress, ASDU);
+    }
+
+    @Test
+    public void readingPauseGrowsWhileBusIsBusy() {
+        client.adaptReadingPause(true);
+        assertEquals(2 * READING_PAUSE, client.getCurrentReadingPause());
+        assertTrue(client.isReadingPaused());
+
+        for (int i = 0; i < 10; i++) {
+            client.adaptReadingPause(true);
+        }
+        assertEquals(16 * READING_PAUSE, client.getCurrentReadingPause());
+    }
+
+    @Test
+    public void readingPauseReturnsToConfiguredPause() {
+        for (int i = 0; i < 5; i++) {
+            client.adaptReadingPause(true);
+        }
+
+        int pause = client.getCurrentReadingPause();
+        for (int i = 0; i < 20 && pause > READING_PAUSE; i++) {
+            client.adaptReadingPause(false);
+            assertTrue(client.getCurrentReadingPause() < pause);
+            pause = client.getCurrentReadingPause();
+        }
+        assertEquals(READING_PAUSE, pause);
+        assertFalse(client.isReadingPaused());
+
+        client.adaptReadingPause(false);
+        assertEquals(READING_PAUSE, client.getCurrentReadingPause());
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXFormatException;
+
+/**
+ * Tests the order, the coalescing and the per group address interval of the writes in the {@link OutboundQueue}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class OutboundQueueTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+    private final List<String> sent = new ArrayList<>();
+    private long now = 0;
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final OutboundQueue queue = new OutboundQueue(scheduler, 0, spec -> {
+        sent.add(spec.getGroupAddress() + "=" + spec.getType());
+    });
+
+    private static OutboundSpec spec(String groupAddress, String dpt, Type type) throws KNXFormatException {
+        GroupAddress address = new GroupAddress(groupAddress);
+        return new OutboundSpec() {
+            @Override
+            public String getDPT() {
+                return dpt;
+            }
+
+            @Override
+            public GroupAddress getGroupAddress() {
+                return address;
+            }
+
+            @Override
+            public Type getType() {
+                return type;
+            }
+        };
+    }
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(scheduler).execute(any(Runnable.class));
+        doAnswer(invocation -> {
+            scheduledTasks.add(invocation.getArgument(0));
+            return null;
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    public void testAdd_pendingValueIsReplaced() throws KNXFormatException {
+        for (int i = 0; i <= 50; i++) {
+            queue.add(spec("1/2/3", "5.001", new PercentType(i)));
+        }
+        queue.add(spec("1/2/4", "5.001", new PercentType(10)));
+        queue.add(spec("1/2/3", "5.001", new PercentType(80)));
+        runTasks();
+
+        assertEquals(List.of("1/2/3=80", "1/2/4=10"), sent);
+        assertEquals(51, queue.getCoalescedCount());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testAdd_switchesKeepOrder() throws KNXFormatException {
+        queue.add(spec("1/2/3", "5.001", new PercentType(20)));
+        queue.add(spec("1/2/1", "1.001", OnOffType.OFF));
+        queue.add(spec("1/2/3", "5.001", new PercentType(30)));
+        queue.add(spec("1/2/1", "1.001", OnOffType.ON));
+        queue.add(spec("1/2/1", "1.001", OnOffType.ON));
+        runTasks();
+
+        assertEquals(List.of("1/2/3=20", "1/2/1=OFF", "1/2/3=30", "1/2/1=ON", "1/2/1=ON"), sent);
+    }
+
+    @Test
+    public void testAdd_valueAfterSendIsQueuedAgain() throws KNXFormatException {
+        queue.add(spec("1/2/3", "5.001", new PercentType(20)));
+        runTasks();
+        queue.add(spec("1/2/3", "5.001", new PercentType(30)));
+        runTasks();
+
+        assertEquals(List.of("1/2/3=20", "1/2/3=30"), sent);
+        verify(scheduler, times(2)).execute(any(Runnable.class));
+    }
+
+    private OutboundQueue queueWithInterval() {
+        return new OutboundQueue(scheduler, 100, spec -> {
+            sent.add(spec.getGroupAddress() + "=" + spec.getType());
+        }, () -> now);
+    }
+
+    @Test
+    public void testAdd_waitingValueDoesNotHoldBackOtherValues() throws Exception {
+        OutboundQueue queue = queueWithInterval();
+        queue.add(spec("1/2/3", "5.001", new PercentType(20)));
+        runTasks();
+        queue.add(spec("1/2/3", "5.001", new PercentType(30)));
+        queue.add(spec("1/2/4", "5.001", new PercentType(10)));
+        runTasks();
+
+        assertEquals(List.of("1/2/3=20", "1/2/4=10"), sent);
+        assertEquals(1, queue.size());
+        assertFalse(scheduledTasks.isEmpty());
+
+        // the value is sent when the interval of its group address has passed
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        scheduledTasks.remove(scheduledTasks.size() - 1).run();
+        runTasks();
+        assertEquals(List.of("1/2/3=20", "1/2/4=10", "1/2/3=30"), sent);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testAdd_switchIsNotSentBeforeWaitingValue() throws Exception {
+        OutboundQueue queue = queueWithInterval();
+        queue.add(spec("1/2/3", "5.001", new PercentType(20)));
+        runTasks();
+        // the dimmer is switched off after its brightness has been changed
+        queue.add(spec("1/2/3", "5.001", new PercentType(30)));
+        queue.add(spec("1/2/1", "1.001", OnOffType.OFF));
+        queue.add(spec("1/2/4", "5.001", new PercentType(10)));
+        runTasks();
+
+        assertEquals(List.of("1/2/3=20"), sent);
+        assertEquals(3, queue.size());
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        scheduledTasks.remove(scheduledTasks.size() - 1).run();
+        runTasks();
+        assertEquals(List.of("1/2/3=20", "1/2/3=30", "1/2/1=OFF", "1/2/4=10"), sent);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testAdd_sendErrorCompletesFuture() throws KNXFormatException {
+        KNXException error = new KNXException("no acknowledge");
+        OutboundQueue queue = new OutboundQueue(scheduler, 0, spec -> {
+            throw error;
+        });
+        CompletableFuture<@Nullable Void> replaced = queue.add(spec("1/2/3", "5.001", new PercentType(20)));
+        CompletableFuture<@Nullable Void> future = queue.add(spec("1/2/3", "5.001", new PercentType(30)));
+        runTasks();
+
+        assertSame(replaced, future);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get());
+        assertSame(error, e.getCause());
+    }
+}
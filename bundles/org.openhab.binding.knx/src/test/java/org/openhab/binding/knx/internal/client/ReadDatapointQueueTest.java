@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * Tests the order and the merging of read requests in the {@link ReadDatapointQueue}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class ReadDatapointQueueTest {
+
+    private static ReadDatapoint read(String groupAddress, ReadPriority priority) throws KNXFormatException {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(groupAddress), "test", 0, "1.001"), 3, priority);
+    }
+
+    private static String pollAddress(ReadDatapointQueue queue) {
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().toString();
+    }
+
+    @Test
+    public void testPollOrder_priorityBeforeQueueOrder() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        queue.add(read("1/0/1", ReadPriority.PERIODIC));
+        queue.add(read("1/0/2", ReadPriority.STARTUP));
+        queue.add(read("1/0/3", ReadPriority.PERIODIC));
+        queue.add(read("1/0/4", ReadPriority.REFRESH));
+        queue.add(read("1/0/5", ReadPriority.STARTUP));
+
+        assertEquals("1/0/4", pollAddress(queue));
+        assertEquals("1/0/2", pollAddress(queue));
+        assertEquals("1/0/5", pollAddress(queue));
+        assertEquals("1/0/1", pollAddress(queue));
+        assertEquals("1/0/3", pollAddress(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testAdd_duplicateGroupAddressIsMergedAndPromoted() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        assertTrue(queue.add(read("1/0/1", ReadPriority.PERIODIC)));
+        assertTrue(queue.add(read("1/0/2", ReadPriority.PERIODIC)));
+        assertFalse(queue.add(read("1/0/2", ReadPriority.PERIODIC)));
+        assertFalse(queue.add(read("1/0/2", ReadPriority.REFRESH)));
+        assertFalse(queue.add(read("1/0/2", ReadPriority.STARTUP)));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.size(ReadPriority.REFRESH));
+        assertEquals("1/0/2", pollAddress(queue));
+        assertEquals("1/0/1", pollAddress(queue));
+        assertEquals(0, queue.size());
+
+        // once taken from the queue, the group address can be queued again
+        assertTrue(queue.add(read("1/0/2", ReadPriority.PERIODIC)));
+    }
+
+    @Test
+    public void testAdd_retryIsMergedWithPendingRequest() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        queue.add(read("1/0/1", ReadPriority.STARTUP));
+        ReadDatapoint retry = queue.poll();
+        assertNotNull(retry);
+        retry.incrementRetries();
+
+        // the group address is queued again while the first read request is on the bus
+        queue.add(read("1/0/2", ReadPriority.PERIODIC));
+        ReadDatapoint pending = read("1/0/1", ReadPriority.PERIODIC);
+        queue.add(pending);
+        assertFalse(queue.add(retry));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.size(ReadPriority.STARTUP));
+        assertEquals(ReadPriority.STARTUP, pending.getPriority());
+        assertEquals(retry.getQueuedNanos(), pending.getQueuedNanos());
+        assertSame(pending, queue.poll());
+        assertEquals("1/0/2", pollAddress(queue));
+    }
+}
@@ -16,6 +16,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
  *
@@ -29,4 +36,17 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_reusedTranslatorDecodesEveryTelegram() throws KNXFormatException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Datapoint switchDatapoint = new CommandDP(new GroupAddress("1/2/3"), "test", 0, "1.001");
+        Datapoint dimmerDatapoint = new CommandDP(new GroupAddress("1/2/4"), "test", 0, "5.001");
+
+        assertEquals(OnOffType.ON, mapper.toType(switchDatapoint, new byte[] { 0x01 }));
+        assertEquals(OnOffType.OFF, mapper.toType(switchDatapoint, new byte[] { 0x00 }));
+        assertEquals(new PercentType(100), mapper.toType(dimmerDatapoint, new byte[] { (byte) 0xFF }));
+        assertEquals(OnOffType.ON, mapper.toType(switchDatapoint, new byte[] { 0x01 }));
+        assertEquals(new PercentType(0), mapper.toType(dimmerDatapoint, new byte[] { 0x00 }));
+    }
 }
@@ -23,9 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,11 +31,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
-import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
-import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
-import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
-import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
@@ -81,10 +75,10 @@ public class HeliosEasyControlsHandler extends BaseThingHandler {
     private @Nullable Map<String, HeliosVariable> variableMap;
 
     /**
-     * This flag is used to ensure read requests (consisting of a write and subsequent read) are not influenced by
+     * Queue of transactions, ensures read requests (consisting of a write and subsequent read) are not influenced by
      * another transaction
      */
-    private final Map<ModbusSlaveEndpoint, Semaphore> transactionLocks = new ConcurrentHashMap<>();
+    private volatile @Nullable HeliosTransactionQueue transactionQueue;
 
     private final Gson gson = new Gson();
 
@@ -242,25 +236,44 @@ public class HeliosEasyControlsHandler extends BaseThingHandler {
         this.readVariableDefinition();
         this.connectEndpoint();
         if ((this.comms != null) && (this.variableMap != null) && (this.config != null)) {
-            this.transactionLocks.putIfAbsent(this.comms.getEndpoint(), new Semaphore(1, true));
+            this.transactionQueue = new HeliosTransactionQueue(this.comms, HeliosEasyControlsHandler::preparePayload,
+                    new HeliosTransactionQueue.Listener() {
+                        @Override
+                        public void onReadResult(HeliosVariable variable, ModbusRegisterArray registers) {
+                            processResponse(variable, registers);
+                        }
+
+                        @Override
+                        public void onWriteResult(HeliosVariable variable) {
+                            updateStatus(ThingStatus.ONLINE);
+                        }
+
+                        @Override
+                        public void onFailure(String message) {
+                            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, message);
+                        }
+                    });
             updateStatus(ThingStatus.UNKNOWN);
 
-            // background initialization
-            scheduler.execute(() -> {
-                readValue(HeliosEasyControlsBindingConstants.DATE_FORMAT);
-                // status will be updated to ONLINE by the read callback function (via processResponse)
-            });
+            // status will be updated to ONLINE by the read callback function (via processResponse)
+            readValue(HeliosEasyControlsBindingConstants.DATE_FORMAT);
 
             // poll for status updates regularly
             HeliosEasyControlsConfiguration config = this.config;
             if (config != null) {
                 this.pollingJob = scheduler.scheduleWithFixedDelay(() -> {
                     if (variableMap != null) {
+                        HeliosTransactionQueue transactionQueue = this.transactionQueue;
+                        if (transactionQueue != null && logger.isDebugEnabled()) {
+                            logger.debug("Last refresh cycle took {} ms for {} transactions, {} still queued",
+                                    transactionQueue.getLastCycleMillis(),
+                                    transactionQueue.getLastCycleTransactions(), transactionQueue.size());
+                        }
                         for (Map.Entry<String, HeliosVariable> entry : variableMap.entrySet()) {
-                            if (this.isProperty(entry.getKey()) || isLinked(entry.getValue().getGroupAndName())
-                                    || HeliosEasyControlsBindingConstants.ALWAYS_UPDATE_VARIABLES
-                                            .contains(entry.getKey())) {
-                                readValue(entry.getKey());
+                            HeliosTransactionQueue.Priority priority = getRefreshPriority(entry.getKey(),
+                                    entry.getValue());
+                            if (priority != null) {
+                                readValue(entry.getKey(), priority);
                             }
                         }
                     } else {
@@ -287,6 +300,11 @@ public class HeliosEasyControlsHandler extends BaseThingHandler {
         if (this.pollingJob != null) {
             this.pollingJob.cancel(true);
         }
+        HeliosTransactionQueue transactionQueue = this.transactionQueue;
+        if (transactionQueue != null) {
+            transactionQueue.close();
+            this.transactionQueue = null;
+        }
         this.comms = null;
     }
 
@@ -295,16 +313,16 @@ public class HeliosEasyControlsHandler extends BaseThingHandler {
         String channelId = channelUID.getIdWithoutGroup();
         if (command instanceof RefreshType) {
             if (channelId.equals(HeliosEasyControlsBindingConstants.SYS_DATE)) {
-                scheduler.submit(() -> readValue(HeliosEasyControlsBindingConstants.DATE));
-                scheduler.submit(() -> readValue(HeliosEasyControlsBindingConstants.TIME));
+                readValue(HeliosEasyControlsBindingConstants.DATE);
+                readValue(HeliosEasyControlsBindingConstants.TIME);
             } else if (channelId.equals(HeliosEasyControlsBindingConstants.BYPASS_FROM)) {
-                scheduler.submit(() -> readValue(HeliosEasyControlsBindingConstants.BYPASS_FROM_DAY));
-                scheduler.submit(() -> readValue(HeliosEasyControlsBindingConstants.BYPASS_FROM_MONTH));
+                readValue(HeliosEasyControlsBindingConstants.BYPASS_FROM_DAY);
+                readValue(HeliosEasyControlsBindingConstants.BYPASS_FROM_MONTH);
             } else if (channelId.equals(HeliosEasyControlsBindingConstants.BYPASS_TO)) {
-                scheduler.submit(() -> readValue(HeliosEasyControlsBindingConstants.BYPASS_TO_DAY));
-                scheduler.submit(() -> readValue(HeliosEasyControlsBindingConstants.BYPASS_TO_MONTH));
+                readValue(HeliosEasyControlsBindingConstants.BYPASS_TO_DAY);
+                readValue(HeliosEasyControlsBindingConstants.BYPASS_TO_MONTH);
             } else {
-                scheduler.submit(() -> readValue(channelId));
+                readValue(channelId);
             }
         } else { // write command
             String value = null;
@@ -401,107 +419,54 @@ public class HeliosEasyControlsHandler extends BaseThingHandler {
      *
      * @param variableName The variable name
      * @param value The new value
-     * @return The value if the transaction succeeded, <tt>null</tt> otherwise
      * @throws HeliosException Thrown if the variable is read-only or the provided value is out of range
      */
     public void writeValue(String variableName, String value) throws HeliosException {
-        if (this.variableMap == null) {
+        Map<String, HeliosVariable> variableMap = this.variableMap;
+        if (variableMap == null) {
             this.handleError("Variable definition is unavailable.", ThingStatusDetail.CONFIGURATION_ERROR);
             return;
+        }
+        HeliosVariable v = variableMap.get(variableName);
+        if (!v.hasWriteAccess()) {
+            throw new HeliosException("Variable " + variableName + " is read-only");
+        } else if (!v.isInAllowedRange(value)) {
+            throw new HeliosException("Value " + value + " is outside of allowed range of variable " + variableName);
+        }
+        HeliosTransactionQueue transactionQueue = this.transactionQueue;
+        if (transactionQueue != null) {
+            transactionQueue.write(v, value);
         } else {
-            Map<String, HeliosVariable> variableMap = this.variableMap;
-            if (variableMap != null) {
-                HeliosVariable v = variableMap.get(variableName);
-
-                if (!v.hasWriteAccess()) {
-                    throw new HeliosException("Variable " + variableName + " is read-only");
-                } else if (!v.isInAllowedRange(value)) {
-                    throw new HeliosException(
-                            "Value " + value + " is outside of allowed range of variable " + variableName);
-                } else if (this.comms != null) {
-                    // write to device
-                    String payload = v.getVariableString() + "=" + value;
-                    ModbusCommunicationInterface comms = this.comms;
-                    if (comms != null) {
-                        final Semaphore lock = transactionLocks.get(comms.getEndpoint());
-                        try {
-                            lock.acquire();
-                            comms.submitOneTimeWrite(
-                                    new ModbusWriteRegisterRequestBlueprint(HeliosEasyControlsBindingConstants.UNIT_ID,
-                                            HeliosEasyControlsBindingConstants.START_ADDRESS, preparePayload(payload),
-                                            true, HeliosEasyControlsBindingConstants.MAX_TRIES),
-                                    result -> {
-                                        lock.release();
-                                        updateStatus(ThingStatus.ONLINE);
-                                    }, failureInfo -> {
-                                        lock.release();
-                                        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
-                                                "Error writing to device: " + failureInfo.getCause().getMessage());
-                                    });
-                        } catch (InterruptedException e) {
-                            logger.warn(
-                                    "{} encountered Exception when trying to lock Semaphore for writing variable {} to the device: {}",
-                                    HeliosEasyControlsHandler.class.getSimpleName(), variableName, e.getMessage());
-                        }
-                    }
-                } else { // comms is null
-                    this.handleError("Modbus communication interface is null", ThingStatusDetail.COMMUNICATION_ERROR);
-                }
-            }
+            this.handleError("Modbus communication interface is null", ThingStatusDetail.COMMUNICATION_ERROR);
         }
     }
 
     /**
-     * Read a variable from the Helios device
+     * Read a variable from the Helios device with high priority
      *
      * @param variableName The variable name
-     * @return The value
      */
     public void readValue(String variableName) {
+        readValue(variableName, HeliosTransactionQueue.Priority.HIGH);
+    }
+
+    /**
+     * Queue the read of a variable from the Helios device. The value is processed asynchronously when the response is
+     * received.
+     *
+     * @param variableName The variable name
+     * @param priority The priority of the read
+     */
+    private void readValue(String variableName, HeliosTransactionQueue.Priority priority) {
         Map<String, HeliosVariable> variableMap = this.variableMap;
-        ModbusCommunicationInterface comms = this.comms;
-        if ((comms != null) && (variableMap != null)) {
-            final Semaphore lock = transactionLocks.get(comms.getEndpoint());
+        HeliosTransactionQueue transactionQueue = this.transactionQueue;
+        if ((transactionQueue != null) && (variableMap != null)) {
             HeliosVariable v = variableMap.get(variableName);
-            if (v.hasReadAccess()) {
-                try {
-                    lock.acquire(); // will block until lock is available
-                } catch (InterruptedException e) {
-                    logger.warn("{} encountered Exception when trying to read variable {} from the device: {}",
-                            HeliosEasyControlsHandler.class.getSimpleName(), variableName, e.getMessage());
-                    return;
-                }
-                // write variable name to register
-                String payload = v.getVariableString();
-                comms.submitOneTimeWrite(new ModbusWriteRegisterRequestBlueprint(
-                        HeliosEasyControlsBindingConstants.UNIT_ID, HeliosEasyControlsBindingConstants.START_ADDRESS,
-                        preparePayload(payload), true, HeliosEasyControlsBindingConstants.MAX_TRIES), result -> {
-                            comms.submitOneTimePoll(
-                                    new ModbusReadRequestBlueprint(HeliosEasyControlsBindingConstants.UNIT_ID,
-                                            ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
-                                            HeliosEasyControlsBindingConstants.START_ADDRESS, v.getCount(),
-                                            HeliosEasyControlsBindingConstants.MAX_TRIES),
-                                    pollResult -> {
-                                        lock.release();
-                                        Optional<ModbusRegisterArray> registers = pollResult.getRegisters();
-                                        if (registers.isPresent()) {
-                                            processResponse(v, registers.get());
-                                        }
-                                    }, failureInfo -> {
-                                        lock.release();
-                                        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
-                                                "Error reading from device: " + failureInfo.getCause().getMessage());
-                                    });
-                        }, failureInfo -> {
-                            lock.release();
-                            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
-                                    "Error writing to device: " + failureInfo.getCause().getMessage());
-
-                        });
+            if (v != null && v.hasReadAccess()) {
+                transactionQueue.read(v, priority);
             }
-
         } else {
-            if (this.comms == null) {
+            if (transactionQueue == null) {
                 this.handleError("Modbus communication interface is unavailable",
                         ThingStatusDetail.COMMUNICATION_ERROR);
             }
@@ -511,6 +476,24 @@ public class HeliosEasyControlsHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Determine the priority of a variable read during the regular refresh
+     *
+     * @param variableName The variable name
+     * @param v The variable
+     * @return The priority, or null if the variable does not need to be refreshed
+     */
+    private HeliosTransactionQueue.@Nullable Priority getRefreshPriority(String variableName, HeliosVariable v) {
+        if (HeliosEasyControlsBindingConstants.ALWAYS_UPDATE_VARIABLES.contains(variableName)) {
+            return HeliosTransactionQueue.Priority.HIGH;
+        } else if (isLinked(v.getGroupAndName())) {
+            return HeliosTransactionQueue.Priority.NORMAL;
+        } else if (this.isProperty(variableName)) {
+            return HeliosTransactionQueue.Priority.LOW;
+        }
+        return null;
+    }
+
     private void updateSysDate(DateTimeType dateTime) {
         this.updateSysDateTime(dateTime.getZonedDateTime(), true, sysDate.getOffset().getTotalSeconds() / 60 / 60);
     }
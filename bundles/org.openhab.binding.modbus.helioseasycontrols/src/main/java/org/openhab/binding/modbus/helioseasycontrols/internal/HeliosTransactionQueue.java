@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.helioseasycontrols.internal;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HeliosTransactionQueue} serializes the transactions with the Helios device without blocking any threads.
+ *
+ * Reading a variable consists of writing the variable name to the device and reading the response from the same
+ * registers afterwards, so only one transaction can be active at a time. Pending transactions are queued and the next
+ * one is started from the callback of the previous one. Writes are executed before reads, reads are ordered by
+ * priority and a read of a variable that is already queued is not queued again.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class HeliosTransactionQueue {
+
+    /**
+     * Priority of a read transaction
+     */
+    public enum Priority {
+        /** Explicit refresh requests and variables needed to interpret other variables */
+        HIGH,
+        /** Variables of linked channels */
+        NORMAL,
+        /** Properties, which rarely change */
+        LOW
+    }
+
+    /**
+     * Receives the results of the transactions
+     */
+    public interface Listener {
+        void onReadResult(HeliosVariable variable, ModbusRegisterArray registers);
+
+        void onWriteResult(HeliosVariable variable);
+
+        void onFailure(String message);
+    }
+
+    private static class Write {
+        private final HeliosVariable variable;
+        private final String payload;
+
+        private Write(HeliosVariable variable, String payload) {
+            this.variable = variable;
+            this.payload = payload;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HeliosTransactionQueue.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final Function<String, ModbusRegisterArray> encoder;
+    private final Listener listener;
+
+    private final Queue<Write> writes = new ArrayDeque<>();
+    private final Map<Priority, Map<String, HeliosVariable>> reads = new EnumMap<>(Priority.class);
+    private final Map<String, Priority> queuedReads = new HashMap<>();
+
+    private boolean busy;
+    private boolean closed;
+
+    // cycle metrics: a cycle starts when the queue becomes busy and ends when it is drained
+    private long cycleStartNanos;
+    private int cycleTransactions;
+    private long lastCycleMillis = -1;
+    private int lastCycleTransactions;
+
+    /**
+     * Creates a transaction queue
+     *
+     * @param comms The Modbus communication interface of the device
+     * @param encoder Converts a payload string into registers
+     * @param listener Receives the results of the transactions
+     */
+    public HeliosTransactionQueue(ModbusCommunicationInterface comms, Function<String, ModbusRegisterArray> encoder,
+            Listener listener) {
+        this.comms = comms;
+        this.encoder = encoder;
+        this.listener = listener;
+        for (Priority priority : Priority.values()) {
+            reads.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Queues a read of the variable. If the variable is already queued with a lower priority, it is moved to the
+     * given priority, otherwise the request is ignored.
+     *
+     * @param variable The variable to be read
+     * @param priority The priority of the read
+     */
+    public void read(HeliosVariable variable, Priority priority) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            String name = variable.getName();
+            Priority queued = queuedReads.get(name);
+            if (queued != null) {
+                if (queued.compareTo(priority) <= 0) {
+                    return;
+                }
+                getReads(queued).remove(name);
+            }
+            getReads(priority).put(name, variable);
+            queuedReads.put(name, priority);
+        }
+        next();
+    }
+
+    /**
+     * Queues a write of the variable. Writes are executed before any queued reads, in the order they were queued.
+     *
+     * @param variable The variable to be written
+     * @param value The new value
+     */
+    public void write(HeliosVariable variable, String value) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            writes.add(new Write(variable, variable.getVariableString() + "=" + value));
+        }
+        next();
+    }
+
+    /**
+     * Discards all queued transactions and ignores further requests. A transaction in progress is completed, but its
+     * result is discarded.
+     */
+    public synchronized void close() {
+        closed = true;
+        writes.clear();
+        reads.values().forEach(Map::clear);
+        queuedReads.clear();
+    }
+
+    /**
+     * @return The duration of the last completed cycle in milliseconds, or -1 if no cycle has been completed yet. A
+     *         cycle lasts from the first queued transaction until the queue is drained.
+     */
+    public synchronized long getLastCycleMillis() {
+        return lastCycleMillis;
+    }
+
+    /**
+     * @return The number of transactions executed in the last completed cycle
+     */
+    public synchronized int getLastCycleTransactions() {
+        return lastCycleTransactions;
+    }
+
+    /**
+     * @return The number of queued transactions
+     */
+    public synchronized int size() {
+        return writes.size() + queuedReads.size();
+    }
+
+    private Map<String, HeliosVariable> getReads(Priority priority) {
+        Map<String, HeliosVariable> map = reads.get(priority);
+        if (map == null) { // cannot happen, map is initialized for all priorities
+            throw new IllegalStateException("No queue for priority " + priority);
+        }
+        return map;
+    }
+
+    /**
+     * Starts the next transaction, unless a transaction is in progress or the queue is empty
+     */
+    private void next() {
+        Write write;
+        HeliosVariable read = null;
+        synchronized (this) {
+            if (busy) {
+                return;
+            }
+            write = writes.poll();
+            if (write == null) {
+                read = pollRead();
+                if (read == null) {
+                    if (cycleTransactions > 0) {
+                        lastCycleMillis = (System.nanoTime() - cycleStartNanos) / 1_000_000;
+                        lastCycleTransactions = cycleTransactions;
+                        cycleTransactions = 0;
+                        logger.debug("Executed {} transactions in {} ms", lastCycleTransactions, lastCycleMillis);
+                    }
+                    return;
+                }
+            }
+            if (cycleTransactions++ == 0) {
+                cycleStartNanos = System.nanoTime();
+            }
+            busy = true;
+        }
+        try {
+            if (write != null) {
+                startWrite(write);
+            } else if (read != null) {
+                startRead(read);
+            }
+        } catch (RuntimeException e) {
+            complete();
+            listener.onFailure("Error submitting request to device: " + e.getMessage());
+            next();
+        }
+    }
+
+    private @Nullable HeliosVariable pollRead() {
+        for (Priority priority : Priority.values()) {
+            Map<String, HeliosVariable> map = getReads(priority);
+            if (!map.isEmpty()) {
+                HeliosVariable variable = map.values().iterator().next();
+                map.remove(variable.getName());
+                queuedReads.remove(variable.getName());
+                return variable;
+            }
+        }
+        return null;
+    }
+
+    private void startWrite(Write write) {
+        comms.submitOneTimeWrite(writeRequest(write.payload), result -> {
+            boolean active = complete();
+            if (active) {
+                listener.onWriteResult(write.variable);
+            }
+            next();
+        }, failureInfo -> {
+            boolean active = complete();
+            if (active) {
+                listener.onFailure("Error writing to device: " + failureInfo.getCause().getMessage());
+            }
+            next();
+        });
+    }
+
+    private void startRead(HeliosVariable variable) {
+        // write variable name to register, then read the response
+        comms.submitOneTimeWrite(writeRequest(variable.getVariableString()), result -> {
+            try {
+                comms.submitOneTimePoll(new ModbusReadRequestBlueprint(HeliosEasyControlsBindingConstants.UNIT_ID,
+                        ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                        HeliosEasyControlsBindingConstants.START_ADDRESS, variable.getCount(),
+                        HeliosEasyControlsBindingConstants.MAX_TRIES), pollResult -> {
+                            boolean active = complete();
+                            if (active && pollResult.getRegisters().isPresent()) {
+                                listener.onReadResult(variable, pollResult.getRegisters().get());
+                            }
+                            next();
+                        }, failureInfo -> {
+                            boolean active = complete();
+                            if (active) {
+                                listener.onFailure(
+                                        "Error reading from device: " + failureInfo.getCause().getMessage());
+                            }
+                            next();
+                        });
+            } catch (RuntimeException e) {
+                complete();
+                listener.onFailure("Error submitting request to device: " + e.getMessage());
+                next();
+            }
+        }, failureInfo -> {
+            boolean active = complete();
+            if (active) {
+                listener.onFailure("Error writing to device: " + failureInfo.getCause().getMessage());
+            }
+            next();
+        });
+    }
+
+    private ModbusWriteRegisterRequestBlueprint writeRequest(String payload) {
+        return new ModbusWriteRegisterRequestBlueprint(HeliosEasyControlsBindingConstants.UNIT_ID,
+                HeliosEasyControlsBindingConstants.START_ADDRESS, encoder.apply(payload), true,
+                HeliosEasyControlsBindingConstants.MAX_TRIES);
+    }
+
+    /**
+     * Marks the current transaction as completed
+     *
+     * @return false if the queue has been closed in the meantime
+     */
+    private synchronized boolean complete() {
+        busy = false;
+        return !closed;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.helioseasycontrols.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+
+/**
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class HeliosTransactionQueueTest {
+
+    private final HeliosVariable a = new HeliosVariable(1, "a", "general", "R", 8, 1, "string");
+    private final HeliosVariable b = new HeliosVariable(2, "b", "general", "R", 8, 1, "string");
+    private final HeliosVariable c = new HeliosVariable(3, "c", "general", "R", 8, 1, "string");
+    private final HeliosVariable d = new HeliosVariable(4, "d", "general", "RW", 8, 1, "string");
+
+    private final List<String> payloads = new ArrayList<>();
+    private final Deque<ModbusWriteCallback> writeCallbacks = new ArrayDeque<>();
+    private final Deque<ModbusReadCallback> readCallbacks = new ArrayDeque<>();
+    private ModbusCommunicationInterface comms;
+    private HeliosTransactionQueue.Listener listener;
+    private HeliosTransactionQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        doAnswer(invocation -> {
+            writeCallbacks.add(invocation.getArgument(1));
+            return null;
+        }).when(comms).submitOneTimeWrite(any(), any(), any());
+        doAnswer(invocation -> {
+            readCallbacks.add(invocation.getArgument(1));
+            return null;
+        }).when(comms).submitOneTimePoll(any(), any(), any());
+        listener = mock(HeliosTransactionQueue.Listener.class);
+        queue = new HeliosTransactionQueue(comms, payload -> {
+            payloads.add(payload);
+            return new ModbusRegisterArray(0);
+        }, listener);
+    }
+
+    private void completeWrite() {
+        writeCallbacks.remove().handle(mock(AsyncModbusWriteResult.class));
+    }
+
+    private void completeRead() {
+        completeWrite();
+        readCallbacks.remove()
+                .handle(new AsyncModbusReadResult(mock(ModbusReadRequestBlueprint.class), new ModbusRegisterArray(0)));
+    }
+
+    @Test
+    public void testOneTransactionAtATime() {
+        queue.read(a, HeliosTransactionQueue.Priority.NORMAL);
+        queue.read(b, HeliosTransactionQueue.Priority.NORMAL);
+
+        assertEquals(List.of("v00001"), payloads);
+        assertEquals(1, queue.size());
+
+        completeRead();
+        verify(listener).onReadResult(eq(a), any());
+        assertEquals(List.of("v00001", "v00002"), payloads);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testOrderingAndDeduplication() {
+        queue.read(a, HeliosTransactionQueue.Priority.NORMAL); // in progress
+        queue.read(b, HeliosTransactionQueue.Priority.LOW);
+        queue.read(c, HeliosTransactionQueue.Priority.NORMAL);
+        queue.read(b, HeliosTransactionQueue.Priority.HIGH); // promoted
+        queue.read(c, HeliosTransactionQueue.Priority.LOW); // already queued
+        queue.write(d, "1");
+        assertEquals(3, queue.size());
+
+        completeRead();
+        completeWrite();
+        verify(listener).onWriteResult(d);
+        completeRead();
+        completeRead();
+
+        assertEquals(List.of("v00001", "v00004=1", "v00002", "v00003"), payloads);
+        assertEquals(0, queue.size());
+        assertEquals(4, queue.getLastCycleTransactions());
+    }
+
+    @Test
+    public void testCloseDiscardsQueuedTransactions() {
+        queue.read(a, HeliosTransactionQueue.Priority.NORMAL);
+        queue.read(b, HeliosTransactionQueue.Priority.NORMAL);
+        queue.close();
+
+        completeRead();
+        verify(listener, never()).onReadResult(any(), any());
+        assertEquals(List.of("v00001"), payloads);
+    }
+}
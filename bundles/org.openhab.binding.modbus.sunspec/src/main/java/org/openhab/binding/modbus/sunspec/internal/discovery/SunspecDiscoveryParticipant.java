@@ -14,14 +14,20 @@ package org.openhab.binding.modbus.sunspec.internal.discovery;
 
 import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.SUPPORTED_THING_TYPES_UIDS;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.discovery.ModbusDiscoveryListener;
 import org.openhab.binding.modbus.discovery.ModbusDiscoveryParticipant;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.thing.ThingTypeUID;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
@@ -37,8 +43,19 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class SunspecDiscoveryParticipant implements ModbusDiscoveryParticipant {
 
+    /**
+     * Time for which the results of a finished discovery are reused, so repeated scans of the same slave do not
+     * walk the model chain again
+     */
+    private static final long CACHE_TTL_MILLIS = 10 * 60 * 1000;
+
     private final Logger logger = LoggerFactory.getLogger(SunspecDiscoveryParticipant.class);
 
+    /**
+     * Discovery processes per endpoint and slave id, finished or in progress
+     */
+    private final Map<String, CachedScan> scans = new HashMap<>();
+
     @Override
     public Set<ThingTypeUID> getSupportedThingTypeUIDs() {
         return new HashSet<ThingTypeUID>(SUPPORTED_THING_TYPES_UIDS.values());
@@ -47,11 +64,75 @@ public class SunspecDiscoveryParticipant implements ModbusDiscoveryParticipant {
     @Override
     public void startDiscovery(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener) {
         logger.trace("Starting sunspec discovery");
+        String key;
         try {
-            new SunspecDiscoveryProcess(handler, listener).detectModel();
+            key = handler.getUID().getAsString() + ":" + handler.getSlaveId();
         } catch (EndpointNotInitializedException ex) {
             logger.debug("Could not start discovery process");
             listener.discoveryFinished();
+            return;
+        }
+
+        CachedScan newScan = new CachedScan();
+        @Nullable
+        List<DiscoveryResult> cachedResults = null;
+        synchronized (scans) {
+            CachedScan scan = scans.get(key);
+            long now = System.currentTimeMillis();
+            if (scan != null && scan.finished && !scan.results.isEmpty()
+                    && now - scan.finishedAt < CACHE_TTL_MILLIS) {
+                cachedResults = new ArrayList<>(scan.results);
+            } else if (scan != null && !scan.finished && now - scan.startedAt < CACHE_TTL_MILLIS) {
+                logger.debug("SunSpec discovery of {} is already in progress", key);
+                listener.discoveryFinished();
+                return;
+            } else {
+                scans.put(key, newScan);
+            }
+        }
+        if (cachedResults != null) {
+            logger.debug("Using cached SunSpec discovery results of {}", key);
+            cachedResults.forEach(listener::thingDiscovered);
+            listener.discoveryFinished();
+            return;
         }
+
+        ModbusDiscoveryListener cachingListener = new ModbusDiscoveryListener() {
+            @Override
+            public void thingDiscovered(DiscoveryResult result) {
+                synchronized (scans) {
+                    newScan.results.add(result);
+                }
+                listener.thingDiscovered(result);
+            }
+
+            @Override
+            public void discoveryFinished() {
+                synchronized (scans) {
+                    newScan.finished = true;
+                    newScan.finishedAt = System.currentTimeMillis();
+                }
+                listener.discoveryFinished();
+            }
+        };
+        try {
+            new SunspecDiscoveryProcess(handler, cachingListener).detectModel();
+        } catch (EndpointNotInitializedException ex) {
+            logger.debug("Could not start discovery process");
+            synchronized (scans) {
+                scans.remove(key);
+            }
+            listener.discoveryFinished();
+        }
+    }
+
+    /**
+     * Results of a discovery process of an endpoint and slave id
+     */
+    private static class CachedScan {
+        private final List<DiscoveryResult> results = new ArrayList<>();
+        private final long startedAt = System.currentTimeMillis();
+        private boolean finished = false;
+        private long finishedAt;
     }
 }
@@ -14,11 +14,10 @@ package org.openhab.binding.modbus.sunspec.internal.discovery;
 
 import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,6 +32,7 @@ import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
@@ -83,15 +83,45 @@ public class SunspecDiscoveryProcess {
     private static final int maxTries = 3;
 
     /**
-     * List of start addresses to try
+     * Preferred and alternate base registers, in order of preference
+     *
+     * @see SunSpec Information Model Overview
+     */
+    private static final int[] POSSIBLE_ADDRESSES = { 40000, 50000, 0 };
+
+    /**
+     * Maximum number of registers read at once when reading model blocks
+     */
+    private static final int MAX_WINDOW_SIZE = ModbusConstants.MAX_REGISTERS_READ_COUNT;
+
+    /**
+     * Responses of the header probes, indexed like {@link #POSSIBLE_ADDRESSES}. null means that no response has been
+     * received yet
      */
-    private Queue<Integer> possibleAddresses;
+    private final @Nullable Boolean[] headerFound = new @Nullable Boolean[POSSIBLE_ADDRESSES.length];
+
+    /**
+     * Set when the model blocks are being scanned at one of the possible addresses
+     */
+    private boolean scanStarted = false;
+
+    /**
+     * Index of the possible address the model blocks are being scanned at
+     */
+    private int scanIndex = -1;
 
     /**
      * This is the base address where the next block should be searched for
      */
     private int baseAddress = 40000;
 
+    /**
+     * When true, as many registers as possible are read at once, so multiple model headers and the whole common
+     * block are read with a single request. Reset to false on the first failure, after which only the model headers
+     * are read, like in the SunSpec specification.
+     */
+    private boolean windowedReads = true;
+
     /**
      * Count of valid Sunspec blocks found
      */
@@ -131,56 +161,86 @@ public class SunspecDiscoveryProcess {
         slaveId = handler.getSlaveId();
         this.listener = listener;
         commonBlockParser = new CommonModelParser();
-        possibleAddresses = new ConcurrentLinkedQueue<>();
-        // Preferred and alternate base registers
-        // @see SunSpec Information Model Overview
-        possibleAddresses.add(40000);
-        possibleAddresses.add(50000);
-        possibleAddresses.add(0);
     }
 
     /**
      * Start model detection
      *
-     * @param uid the thing type to look for
-     * @throws EndpointNotInitializedException
+     * The SunSpec header is probed at all possible base addresses at once, the model blocks are scanned at the most
+     * preferred address where the header has been found. If the model blocks can't be read there, the next address
+     * where the header has been found is tried.
      */
     public void detectModel() {
-
-        if (possibleAddresses.isEmpty()) {
-            parsingFinished();
-            return;
+        for (int i = 0; i < POSSIBLE_ADDRESSES.length; i++) {
+            final int index = i;
+            logger.trace("Probing SunSpec header at address {}", POSSIBLE_ADDRESSES[index]);
+
+            ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, POSSIBLE_ADDRESSES[index], // Start address
+                    SUNSPEC_ID_SIZE, // number or words to return
+                    maxTries);
+
+            comms.submitOneTimePoll(request, result -> headerReceived(index, result.getRegisters()), failure -> {
+                logger.debug("Error with read at address {}: {} {}", POSSIBLE_ADDRESSES[index],
+                        failure.getCause().getClass().getName(), failure.getCause().getMessage());
+                headerReceived(index, Optional.empty());
+            });
         }
-        // Try the next address from the possibles
-        baseAddress = possibleAddresses.poll();
-        logger.trace("Beginning scan for SunSpec device at address {}", baseAddress);
+    }
 
-        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, baseAddress, // Start address
-                SUNSPEC_ID_SIZE, // number or words to return
-                maxTries);
+    /**
+     * We received the first two words at one of the possible addresses, that should equal to SunS
+     */
+    private void headerReceived(int index, Optional<ModbusRegisterArray> registers) {
+        logger.trace("Received response from device {}", registers);
+
+        boolean found = registers.flatMap(r -> ModbusBitUtilities.extractStateFromRegisters(r, 0, ValueType.UINT32))
+                .map(id -> id.longValue() == SUNSPEC_ID).orElse(false);
+        if (!found) {
+            logger.debug("Could not find SunSpec DID at address {}, received: {}, expected: {}",
+                    POSSIBLE_ADDRESSES[index], registers, SUNSPEC_ID);
+        }
 
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::headerReceived),
-                this::handleError);
+        synchronized (this) {
+            headerFound[index] = found;
+        }
+        scanNextAddress();
     }
 
     /**
-     * We received the first two words, that should equal to SunS
+     * Start scanning the model blocks at the most preferred address where the header has been found and that has not
+     * been scanned yet, as soon as all more preferred addresses have responded.
      */
-    private void headerReceived(ModbusRegisterArray registers) {
-        logger.trace("Received response from device {}", registers.toString());
-
-        Optional<DecimalType> id = ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT32);
+    private void scanNextAddress() {
+        int address = -1;
+        synchronized (this) {
+            if (scanStarted) {
+                return;
+            }
+            for (int i = scanIndex + 1; i < headerFound.length; i++) {
+                Boolean probe = headerFound[i];
+                if (probe == null) {
+                    // a more preferred address has not responded yet
+                    return;
+                }
+                if (probe) {
+                    address = i;
+                    break;
+                }
+            }
+            scanStarted = true;
+            scanIndex = address < 0 ? headerFound.length : address;
+        }
 
-        if (!id.isPresent() || id.get().longValue() != SUNSPEC_ID) {
-            logger.debug("Could not find SunSpec DID at address {}, received: {}, expected: {}", baseAddress, id,
-                    SUNSPEC_ID);
-            detectModel();
+        if (address < 0) {
+            logger.debug("No SunSpec header found at any of the remaining possible addresses");
+            parsingFinished();
             return;
         }
 
-        logger.trace("Header looks correct");
-        baseAddress += SUNSPEC_ID_SIZE;
+        logger.trace("Header looks correct at address {}", POSSIBLE_ADDRESSES[address]);
+        baseAddress = POSSIBLE_ADDRESSES[address] + SUNSPEC_ID_SIZE;
+        windowedReads = true;
 
         lookForModelBlock();
     }
@@ -189,52 +249,70 @@ public class SunspecDiscoveryProcess {
      * Look for a valid model block at the current base address
      */
     private void lookForModelBlock() {
-
+        final int windowStart = baseAddress;
         ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
-                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, baseAddress, // Start address
-                MODEL_HEADER_SIZE, // number or words to return
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, windowStart, // Start address
+                windowedReads ? MAX_WINDOW_SIZE : MODEL_HEADER_SIZE, // number or words to return
                 maxTries);
 
-        comms.submitOneTimePoll(request, result -> result.getRegisters().ifPresent(this::modelBlockReceived),
+        comms.submitOneTimePoll(request,
+                result -> result.getRegisters().ifPresent(registers -> modelBlocksReceived(windowStart, registers)),
                 this::handleError);
     }
 
     /**
-     * We received a model block header
+     * We received one or more model block headers, starting with the block at the given address
      */
-    private void modelBlockReceived(ModbusRegisterArray registers) {
+    private void modelBlocksReceived(int windowStart, ModbusRegisterArray registers) {
         logger.debug("Received response from device {}", registers.toString());
 
-        Optional<DecimalType> moduleID = ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT16);
-        Optional<DecimalType> blockLength = ModbusBitUtilities.extractStateFromRegisters(registers, 1,
-                ValueType.UINT16);
+        int offset = 0;
+        while (offset + MODEL_HEADER_SIZE <= registers.size()) {
+            Optional<DecimalType> moduleID = ModbusBitUtilities.extractStateFromRegisters(registers, offset,
+                    ValueType.UINT16);
+            Optional<DecimalType> blockLength = ModbusBitUtilities.extractStateFromRegisters(registers, offset + 1,
+                    ValueType.UINT16);
 
-        if (!moduleID.isPresent() || !blockLength.isPresent()) {
-            logger.info("Could not find valid module id or block length field.");
-            parsingFinished();
-            return;
-        }
-        ModelBlock block = new ModelBlock();
-        block.address = baseAddress;
-        block.moduleID = moduleID.get().intValue();
-        block.length = blockLength.get().intValue() + MODEL_HEADER_SIZE;
-        logger.debug("SunSpec detector found block {}", block);
+            if (!moduleID.isPresent() || !blockLength.isPresent()) {
+                logger.info("Could not find valid module id or block length field.");
+                parsingFinished();
+                return;
+            }
+            ModelBlock block = new ModelBlock();
+            block.address = windowStart + offset;
+            block.moduleID = moduleID.get().intValue();
+            block.length = blockLength.get().intValue() + MODEL_HEADER_SIZE;
+            logger.debug("SunSpec detector found block {}", block);
 
-        blocksFound++;
+            blocksFound++;
 
-        if (block.moduleID == FINAL_BLOCK) {
-            parsingFinished();
-        } else {
-            baseAddress += block.length;
-            if (block.moduleID == COMMON_BLOCK) {
-                readCommonBlock(block); // This is an asynchronous task
+            if (block.moduleID == FINAL_BLOCK) {
+                parsingFinished();
                 return;
+            }
+            offset += block.length;
+            baseAddress = windowStart + offset;
+            if (block.moduleID == COMMON_BLOCK) {
+                if (offset <= registers.size()) {
+                    // the whole common block has been read already
+                    lastCommonBlock = commonBlockParser.parse(slice(registers, offset - block.length, block.length));
+                } else {
+                    readCommonBlock(block); // This is an asynchronous task
+                    return;
+                }
             } else {
                 createDiscoveryResult(block);
-                lookForModelBlock();
             }
-
         }
+        lookForModelBlock();
+    }
+
+    /**
+     * Get a part of the registers
+     */
+    private static ModbusRegisterArray slice(ModbusRegisterArray registers, int start, int length) {
+        byte[] bytes = registers.getBytes();
+        return new ModbusRegisterArray(Arrays.copyOfRange(bytes, start * 2, (start + length) * 2));
     }
 
     /**
@@ -318,6 +396,14 @@ public class SunspecDiscoveryProcess {
      * Handle errors received during communication
      */
     private void handleError(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        if (windowedReads) {
+            // Reading past the last model block might not be supported by the slave, retry reading only the header
+            logger.debug("Windowed read at address {} failed, continuing with reading model headers only",
+                    baseAddress);
+            windowedReads = false;
+            lookForModelBlock();
+            return;
+        }
         if (blocksFound > 1 && failure.getCause() instanceof ModbusSlaveErrorResponseException) {
             int code = ((ModbusSlaveErrorResponseException) failure.getCause()).getExceptionCode();
             if (code == ModbusSlaveErrorResponseException.ILLEGAL_DATA_ACCESS
@@ -336,6 +422,10 @@ public class SunspecDiscoveryProcess {
 
         logger.warn("Error with read at address {}: {} {}", baseAddress, cls, msg);
 
-        detectModel();
+        // Try the next address where the header has been found
+        synchronized (this) {
+            scanStarted = false;
+        }
+        scanNextAddress();
     }
 }
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.discovery.ModbusDiscoveryListener;
+import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.core.config.discovery.DiscoveryResult;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.thing.ThingUID;
+
+/**
+ * Tests the model detection of {@link SunspecDiscoveryProcess} against a simulated slave, which answers reads of
+ * existing registers and fails reads of any other register.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class SunspecDiscoveryProcessTest {
+
+    private static final int COMMON_BLOCK_LENGTH = 66;
+    private static final int INVERTER_BLOCK_LENGTH = 50;
+
+    private final Map<Integer, Integer> registers = new HashMap<>();
+    private final List<DiscoveryResult> results = new ArrayList<>();
+    private int finishedCount = 0;
+
+    private final ModbusEndpointThingHandler handler = mock(ModbusEndpointThingHandler.class);
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private final ModbusDiscoveryListener listener = new ModbusDiscoveryListener() {
+        @Override
+        public void thingDiscovered(DiscoveryResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void discoveryFinished() {
+            finishedCount++;
+        }
+    };
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(handler.getCommunicationInterface()).thenReturn(comms);
+        when(handler.getSlaveId()).thenReturn(1);
+        when(handler.getUID()).thenReturn(new ThingUID("modbus:tcp:inverter"));
+        when(comms.submitOneTimePoll(any(), any(), any())).thenAnswer(invocation -> {
+            ModbusReadRequestBlueprint request = invocation.getArgument(0);
+            byte[] bytes = new byte[request.getDataLength() * 2];
+            for (int i = 0; i < request.getDataLength(); i++) {
+                Integer value = registers.get(request.getReference() + i);
+                if (value == null) {
+                    ((ModbusFailureCallback<ModbusReadRequestBlueprint>) invocation.getArgument(2))
+                            .handle(new AsyncModbusFailure<>(request, new Exception("Illegal data address")));
+                    return null;
+                }
+                bytes[i * 2] = (byte) (value >> 8);
+                bytes[i * 2 + 1] = (byte) (value & 0xff);
+            }
+            ((ModbusReadCallback) invocation.getArgument(1))
+                    .handle(new AsyncModbusReadResult(request, new ModbusRegisterArray(bytes)));
+            return null;
+        });
+    }
+
+    private void putSunSpecHeader(int address) {
+        registers.put(address, (int) (SUNSPEC_ID >> 16));
+        registers.put(address + 1, (int) (SUNSPEC_ID & 0xffff));
+    }
+
+    /**
+     * Puts a model chain with a common block, a single phase inverter and the end block at the given address
+     *
+     * @return the address of the inverter block
+     */
+    private int putModelChain(int address) {
+        putSunSpecHeader(address);
+        int blockAddress = address + SUNSPEC_ID_SIZE;
+        registers.put(blockAddress, COMMON_BLOCK);
+        registers.put(blockAddress + 1, COMMON_BLOCK_LENGTH);
+        for (int i = 0; i < COMMON_BLOCK_LENGTH; i++) {
+            registers.put(blockAddress + MODEL_HEADER_SIZE + i, 0x4141);
+        }
+        int inverterAddress = blockAddress + MODEL_HEADER_SIZE + COMMON_BLOCK_LENGTH;
+        registers.put(inverterAddress, INVERTER_SINGLE_PHASE);
+        registers.put(inverterAddress + 1, INVERTER_BLOCK_LENGTH);
+        for (int i = 0; i < INVERTER_BLOCK_LENGTH; i++) {
+            registers.put(inverterAddress + MODEL_HEADER_SIZE + i, 0);
+        }
+        int endAddress = inverterAddress + MODEL_HEADER_SIZE + INVERTER_BLOCK_LENGTH;
+        registers.put(endAddress, FINAL_BLOCK);
+        registers.put(endAddress + 1, 0);
+        return inverterAddress;
+    }
+
+    private void detect() throws Exception {
+        new SunspecDiscoveryProcess(handler, listener).detectModel();
+    }
+
+    @Test
+    public void inverterIsFoundAtPreferredAddress() throws Exception {
+        int inverterAddress = putModelChain(40000);
+
+        detect();
+
+        assertEquals(1, finishedCount);
+        assertEquals(1, results.size());
+        assertEquals(inverterAddress, results.get(0).getProperties().get(PROPERTY_BLOCK_ADDRESS));
+        assertEquals(INVERTER_BLOCK_LENGTH + MODEL_HEADER_SIZE,
+                results.get(0).getProperties().get(PROPERTY_BLOCK_LENGTH));
+    }
+
+    @Test
+    public void inverterIsFoundAtAlternateAddress() throws Exception {
+        int inverterAddress = putModelChain(0);
+
+        detect();
+
+        assertEquals(1, finishedCount);
+        assertEquals(1, results.size());
+        assertEquals(inverterAddress, results.get(0).getProperties().get(PROPERTY_BLOCK_ADDRESS));
+    }
+
+    @Test
+    public void nextAddressIsTriedWhenModelBlocksCannotBeRead() throws Exception {
+        // a SunSpec header without model blocks at the preferred address
+        putSunSpecHeader(40000);
+        int inverterAddress = putModelChain(50000);
+
+        detect();
+
+        assertEquals(1, finishedCount);
+        assertEquals(1, results.size());
+        assertEquals(inverterAddress, results.get(0).getProperties().get(PROPERTY_BLOCK_ADDRESS));
+    }
+
+    @Test
+    public void discoveryFinishesWithoutSunSpecHeader() throws Exception {
+        registers.put(40000, 0);
+        registers.put(40001, 0);
+
+        detect();
+
+        assertEquals(1, finishedCount);
+        assertTrue(results.isEmpty());
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.modbus.handler;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -21,6 +22,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.PolledDataSnapshot;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
@@ -48,6 +50,9 @@ import org.slf4j.LoggerFactory;
  * The {@link ModbusPollerThingHandler} is responsible for polling Modbus slaves. Errors and data is delegated to
  * child thing handlers inheriting from {@link ModbusReadCallback} -- in practice: {@link ModbusDataThingHandler}.
  *
+ * The raw data of each poll is compared against the data of the previous poll. Only child things reading changed
+ * data, or child things requiring an update of unchanged values, are notified.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @NonNullByDefault
@@ -67,6 +72,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
 
         private volatile @Nullable AtomicStampedValue<PollResult> lastResult;
+        private volatile @Nullable PolledDataSnapshot lastSnapshot;
 
         public synchronized void handleResult(PollResult result) {
             // Ignore all incoming data and errors if configuration is not correct
@@ -83,7 +89,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 }
             }
             logger.debug("Thing {} received response {}", thing.getUID(), result);
-            notifyChildren(result);
+            notifyChildren(result, changedElements(result));
             if (result.failure != null) {
                 Exception error = result.failure.getCause();
                 assert error != null;
@@ -123,19 +129,47 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             return Optional.ofNullable(this.lastResult).map(result -> result.copyIfStampAfter(oldestStamp))
                     .map(result -> {
                         logger.debug("Thing {} reusing cached data: {}", thing.getUID(), result.getValue());
-                        notifyChildren(result.getValue());
+                        notifyChildren(result.getValue(), null);
                         return true;
                     }).orElse(false);
         }
 
-        private void notifyChildren(PollResult pollResult) {
+        /**
+         * Compare the data of the poll against the data of the previous poll
+         *
+         * @param pollResult result of the poll
+         * @return data elements that changed, or null if all children should be notified
+         */
+        private @Nullable BitSet changedElements(PollResult pollResult) {
+            AsyncModbusReadResult result = pollResult.result;
+            if (result == null) {
+                lastSnapshot = null;
+                return null;
+            }
+            PolledDataSnapshot snapshot = PolledDataSnapshot.of(result);
+            BitSet changedElements = snapshot == null ? null : snapshot.changedElements(lastSnapshot);
+            lastSnapshot = snapshot;
+            return changedElements;
+        }
+
+        /**
+         * Notify children about the poll result
+         *
+         * @param pollResult result of the poll
+         * @param changedElements data elements that changed since the previous poll, or null to notify all children
+         */
+        private void notifyChildren(PollResult pollResult, @Nullable BitSet changedElements) {
             @Nullable
             AsyncModbusReadResult result = pollResult.result;
             @Nullable
             AsyncModbusFailure<ModbusReadRequestBlueprint> failure = pollResult.failure;
+            long now = System.currentTimeMillis();
             childCallbacks.forEach(handler -> {
                 if (result != null) {
-                    handler.onReadResult(result);
+                    if (changedElements == null || handler.isReadDataChanged(changedElements)
+                            || handler.isReadUpdateRequired(now)) {
+                        handler.onReadResult(result);
+                    }
                 } else if (failure != null) {
                     handler.handleReadError(failure);
                 }
@@ -147,6 +181,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
          */
         public void resetCache() {
             lastResult = null;
+            lastSnapshot = null;
         }
     }
 
@@ -0,0 +1,358 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ModbusCommunicationInterface} that coalesces regular polls of the same slave, function code and poll period
+ * into as few read requests as possible. The results of the merged requests are split back to the callbacks of the
+ * original polls.
+ *
+ * Registering or unregistering a poll does not change the scheduled requests right away. The requests of the affected
+ * groups are planned again {@link #REPLAN_DELAY_MILLIS} after the last change, so the many polls registered when a
+ * bridge comes online result in a single plan. The scheduled requests keep the initial delay and the phase of the
+ * polls they contain.
+ *
+ * All other operations are delegated as is.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescingModbusCommunicationInterface implements ModbusCommunicationInterface {
+
+    /**
+     * Time to wait for further registrations before the requests are planned again
+     */
+    static final long REPLAN_DELAY_MILLIS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescingModbusCommunicationInterface.class);
+
+    private final ModbusCommunicationInterface delegate;
+    private final int maxGap;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final Map<GroupKey, Group> groups = new HashMap<>();
+    private final Set<Group> changedGroups = new LinkedHashSet<>();
+    private @Nullable ScheduledFuture<?> replanJob;
+
+    /**
+     * Create coalescing communication interface
+     *
+     * @param delegate communication interface that executes the (merged) requests
+     * @param maxGap maximum number of unused registers or bits between two polls that are merged
+     * @param scheduler scheduler used to plan the requests after registrations have settled
+     */
+    public CoalescingModbusCommunicationInterface(ModbusCommunicationInterface delegate, int maxGap,
+            ScheduledExecutorService scheduler) {
+        this(delegate, maxGap, scheduler, System::currentTimeMillis);
+    }
+
+    CoalescingModbusCommunicationInterface(ModbusCommunicationInterface delegate, int maxGap,
+            ScheduledExecutorService scheduler, LongSupplier clock) {
+        this.delegate = delegate;
+        this.maxGap = maxGap;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return delegate.getEndpoint();
+    }
+
+    @Override
+    public Future<?> submitOneTimePoll(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return delegate.submitOneTimePoll(request, resultCallback, failureCallback);
+    }
+
+    @Override
+    public synchronized PollTask registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            long initialDelayMillis, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        CoalescedPollTask task = new CoalescedPollTask(request, resultCallback, failureCallback,
+                clock.getAsLong() + initialDelayMillis);
+        GroupKey key = new GroupKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis);
+        Group group = Objects.requireNonNull(groups.computeIfAbsent(key, k -> new Group(pollPeriodMillis)));
+        group.tasks.add(task);
+        scheduleReplan(group);
+        return task;
+    }
+
+    @Override
+    public synchronized boolean unregisterRegularPoll(PollTask task) {
+        for (Map.Entry<GroupKey, Group> entry : groups.entrySet()) {
+            Group group = entry.getValue();
+            if (group.tasks.remove(task)) {
+                if (group.tasks.isEmpty()) {
+                    group.unregisterScheduled(delegate);
+                    groups.remove(entry.getKey());
+                    changedGroups.remove(group);
+                } else {
+                    // the task is not called back anymore, the requests are adapted with the next plan
+                    group.callbacks.forEach(callback -> callback.tasks.remove(task));
+                    scheduleReplan(group);
+                }
+                return true;
+            }
+        }
+        return delegate.unregisterRegularPoll(task);
+    }
+
+    @Override
+    public Future<?> submitOneTimeWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+            ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+        return delegate.submitOneTimeWrite(request, resultCallback, failureCallback);
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            ScheduledFuture<?> localReplanJob = replanJob;
+            if (localReplanJob != null) {
+                localReplanJob.cancel(false);
+                replanJob = null;
+            }
+            changedGroups.clear();
+            for (Group group : groups.values()) {
+                group.unregisterScheduled(delegate);
+            }
+            groups.clear();
+        }
+        delegate.close();
+    }
+
+    /**
+     * Plan the requests of the group again after registrations have settled
+     */
+    private void scheduleReplan(Group group) {
+        changedGroups.add(group);
+        if (replanJob == null) {
+            replanJob = scheduler.schedule(this::replanChangedGroups, REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void replanChangedGroups() {
+        replanJob = null;
+        changedGroups.forEach(this::replan);
+        changedGroups.clear();
+    }
+
+    /**
+     * Replace the scheduled requests of the group with a new plan
+     */
+    private void replan(Group group) {
+        group.unregisterScheduled(delegate);
+        if (group.tasks.isEmpty()) {
+            return;
+        }
+        Map<ModbusReadRequestBlueprint, List<CoalescedPollTask>> tasksByRequest = new LinkedHashMap<>();
+        for (CoalescedPollTask task : group.tasks) {
+            tasksByRequest.computeIfAbsent(task.getRequest(), r -> new ArrayList<>()).add(task);
+        }
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner.plan(tasksByRequest.keySet(), maxGap);
+        long now = clock.getAsLong();
+        for (ModbusPollPlanner.Block block : blocks) {
+            List<CoalescedPollTask> blockTasks = block.getMembers().stream()
+                    .flatMap(request -> tasksByRequest.getOrDefault(request, List.of()).stream())
+                    .collect(Collectors.toList());
+            // poll the block when the first of its polls is due
+            long initialDelayMillis = blockTasks.stream()
+                    .mapToLong(task -> task.getNextPollMillis(now, group.pollPeriodMillis)).min().orElse(now) - now;
+            BlockCallback callback = new BlockCallback(blockTasks);
+            group.callbacks.add(callback);
+            group.scheduled.add(delegate.registerRegularPoll(block.getRequest(), group.pollPeriodMillis,
+                    initialDelayMillis, callback, callback));
+        }
+        logger.debug("Coalesced {} polls with period {} ms into {} requests: {}", group.tasks.size(),
+                group.pollPeriodMillis, blocks.size(),
+                blocks.stream().map(ModbusPollPlanner.Block::getRequest).collect(Collectors.toList()));
+    }
+
+    /**
+     * Polls with the same slave, function code and poll period can be coalesced
+     */
+    private static class GroupKey {
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+
+        GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis) {
+            this.unitId = unitId;
+            this.functionCode = functionCode;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode
+                    && pollPeriodMillis == other.pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unitId, functionCode, pollPeriodMillis);
+        }
+    }
+
+    private static class Group {
+        private final long pollPeriodMillis;
+        private final List<CoalescedPollTask> tasks = new ArrayList<>();
+        private final List<PollTask> scheduled = new ArrayList<>();
+        private final List<BlockCallback> callbacks = new ArrayList<>();
+
+        Group(long pollPeriodMillis) {
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        void unregisterScheduled(ModbusCommunicationInterface delegate) {
+            scheduled.forEach(delegate::unregisterRegularPoll);
+            scheduled.clear();
+            callbacks.clear();
+        }
+    }
+
+    /**
+     * Poll task as seen by the caller of {@link #registerRegularPoll}
+     */
+    private class CoalescedPollTask implements PollTask {
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private final long firstPollMillis;
+
+        CoalescedPollTask(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback, long firstPollMillis) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+            this.firstPollMillis = firstPollMillis;
+        }
+
+        /**
+         * Time of the next poll at or after now, following the initial delay and the poll period
+         */
+        long getNextPollMillis(long now, long pollPeriodMillis) {
+            if (firstPollMillis >= now || pollPeriodMillis <= 0) {
+                return Math.max(now, firstPollMillis);
+            }
+            long periods = (now - firstPollMillis + pollPeriodMillis - 1) / pollPeriodMillis;
+            return firstPollMillis + periods * pollPeriodMillis;
+        }
+
+        @Override
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return delegate.getEndpoint();
+        }
+
+        @Override
+        public ModbusReadCallback getResultCallback() {
+            return resultCallback;
+        }
+
+        @Override
+        public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+            return failureCallback;
+        }
+    }
+
+    /**
+     * Splits the result of a merged request to the original polls
+     */
+    private class BlockCallback implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<CoalescedPollTask> tasks;
+
+        BlockCallback(List<CoalescedPollTask> tasks) {
+            this.tasks = new CopyOnWriteArrayList<>(tasks);
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            int blockStart = result.getRequest().getReference();
+            for (CoalescedPollTask task : tasks) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int offset = request.getReference() - blockStart;
+                int length = request.getDataLength();
+                try {
+                    if (result.getRegisters().isPresent()) {
+                        byte[] bytes = result.getRegisters().get().getBytes();
+                        task.getResultCallback().handle(new AsyncModbusReadResult(request,
+                                new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2, (offset + length) * 2))));
+                    } else if (result.getBits().isPresent()) {
+                        BitArray bits = result.getBits().get();
+                        BitArray slice = new BitArray(length);
+                        for (int i = 0; i < length; i++) {
+                            slice.setBit(i, bits.getBit(offset + i));
+                        }
+                        task.getResultCallback().handle(new AsyncModbusReadResult(request, slice));
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Error handling coalesced poll result for request {}: {}", request, e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (CoalescedPollTask task : tasks) {
+                task.getFailureCallback().handle(new AsyncModbusFailure<>(task.getRequest(), failure.getCause()));
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+
+/**
+ * Plans the read requests of polls that can be coalesced into as few read requests as possible.
+ *
+ * Read requests are merged when they are overlapping, adjacent, or separated by at most a configurable number of
+ * unused registers or bits. The merged request never exceeds the maximum number of registers or bits that can be read
+ * with a single request due to protocol limitations.
+ *
+ * All requests passed to the planner are expected to have the same slave id and function code.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public final class ModbusPollPlanner {
+
+    /**
+     * Merged read request and the original requests it contains
+     */
+    public static class Block {
+        private final ModbusReadRequestBlueprint request;
+        private final List<ModbusReadRequestBlueprint> members;
+
+        Block(ModbusReadRequestBlueprint request, List<ModbusReadRequestBlueprint> members) {
+            this.request = request;
+            this.members = members;
+        }
+
+        /**
+         * @return merged request covering all member requests
+         */
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        /**
+         * @return original requests contained in this block
+         */
+        public List<ModbusReadRequestBlueprint> getMembers() {
+            return members;
+        }
+    }
+
+    private ModbusPollPlanner() {
+        // Utility class
+    }
+
+    /**
+     * Get the maximum number of data elements that can be read with one request of the given function code
+     *
+     * @param functionCode read function code
+     * @return maximum number of registers or bits
+     */
+    public static int maxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * Merge the requests into blocks
+     *
+     * @param requests requests with same slave id and function code
+     * @param maxGap maximum number of unused registers or bits between two requests that are merged
+     * @return blocks, each containing one or more of the requests
+     */
+    public static List<Block> plan(Collection<ModbusReadRequestBlueprint> requests, int maxGap) {
+        List<ModbusReadRequestBlueprint> sorted = new ArrayList<>(requests);
+        sorted.sort(Comparator.comparingInt(ModbusReadRequestBlueprint::getReference)
+                .thenComparingInt(ModbusReadRequestBlueprint::getDataLength));
+
+        List<Block> blocks = new ArrayList<>();
+        List<ModbusReadRequestBlueprint> members = new ArrayList<>();
+        int blockStart = 0;
+        int blockEnd = 0;
+        for (ModbusReadRequestBlueprint request : sorted) {
+            int start = request.getReference();
+            int end = start + request.getDataLength();
+            if (!members.isEmpty() && start - blockEnd <= maxGap
+                    && Math.max(end, blockEnd) - blockStart <= maxLength(request.getFunctionCode())) {
+                blockEnd = Math.max(end, blockEnd);
+            } else {
+                if (!members.isEmpty()) {
+                    blocks.add(createBlock(members, blockStart, blockEnd));
+                }
+                members = new ArrayList<>();
+                blockStart = start;
+                blockEnd = end;
+            }
+            members.add(request);
+        }
+        if (!members.isEmpty()) {
+            blocks.add(createBlock(members, blockStart, blockEnd));
+        }
+        return blocks;
+    }
+
+    private static Block createBlock(List<ModbusReadRequestBlueprint> members, int start, int end) {
+        ModbusReadRequestBlueprint first = members.get(0);
+        if (members.size() == 1) {
+            return new Block(first, members);
+        }
+        int maxTries = members.stream().mapToInt(ModbusReadRequestBlueprint::getMaxTries).max().orElse(1);
+        return new Block(new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start, end - start,
+                maxTries), members);
+    }
+}
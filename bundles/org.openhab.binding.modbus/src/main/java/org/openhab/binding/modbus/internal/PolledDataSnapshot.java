@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.BitSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Raw data of a single poll, decoded once per poll, so it can be compared against the data of the previous poll.
+ *
+ * Data elements are registers in case of register reads, and bits in case of coil or discrete input reads.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class PolledDataSnapshot {
+
+    private final boolean registers;
+    private final int[] elements;
+
+    private PolledDataSnapshot(boolean registers, int[] elements) {
+        this.registers = registers;
+        this.elements = elements;
+    }
+
+    /**
+     * Create snapshot of the data in the read result
+     *
+     * @param result read result
+     * @return snapshot of the data, or null if the result has no data
+     */
+    public static @Nullable PolledDataSnapshot of(AsyncModbusReadResult result) {
+        if (result.getRegisters().isPresent()) {
+            return of(result.getRegisters().get());
+        } else if (result.getBits().isPresent()) {
+            return of(result.getBits().get());
+        }
+        return null;
+    }
+
+    /**
+     * Create snapshot of registers
+     *
+     * @param registers polled registers
+     * @return snapshot of the registers
+     */
+    public static PolledDataSnapshot of(ModbusRegisterArray registers) {
+        int[] elements = new int[registers.size()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = registers.getRegister(i);
+        }
+        return new PolledDataSnapshot(true, elements);
+    }
+
+    /**
+     * Create snapshot of bits
+     *
+     * @param bits polled coils or discrete inputs
+     * @return snapshot of the bits
+     */
+    public static PolledDataSnapshot of(BitArray bits) {
+        int[] elements = new int[bits.size()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = bits.getBit(i) ? 1 : 0;
+        }
+        return new PolledDataSnapshot(false, elements);
+    }
+
+    /**
+     * Determine the data elements that changed compared to the previous snapshot
+     *
+     * @param previous snapshot of the previous poll, or null if there was no (successful) previous poll
+     * @return data elements that changed, or null if all data elements should be considered changed (no previous
+     *         snapshot, or previous snapshot has different type or size of data)
+     */
+    public @Nullable BitSet changedElements(@Nullable PolledDataSnapshot previous) {
+        if (previous == null || previous.registers != registers || previous.elements.length != elements.length) {
+            return null;
+        }
+        BitSet changed = new BitSet(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] != previous.elements[i]) {
+                changed.set(i);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Check if any of the data elements in the given range changed
+     *
+     * @param changedElements changed data elements as returned by {@link #changedElements(PolledDataSnapshot)}
+     * @param start index of the first data element, relative to the start of the poll
+     * @param length number of data elements
+     * @return true if any data element in the range changed
+     */
+    public static boolean isChanged(BitSet changedElements, int start, int length) {
+        int next = changedElements.nextSetBit(start);
+        return next >= 0 && next < start + length;
+    }
+}
@@ -16,6 +16,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.binding.modbus.internal.CoalescingModbusCommunicationInterface;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
@@ -75,7 +76,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                     throw new IllegalStateException("endpoint null after configuration!");
                 }
                 try {
-                    comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    ModbusCommunicationInterface newComms = modbusManager.newModbusCommunicationInterface(endpoint,
+                            poolConfiguration);
+                    int maxGap = getPollCoalescingMaxGap();
+                    comms = maxGap >= 0 ? new CoalescingModbusCommunicationInterface(newComms, maxGap, scheduler)
+                            : newComms;
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -123,6 +128,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
+    /**
+     * Maximum number of unused registers or bits between regular polls that are coalesced into a single read request.
+     * Negative value disables coalescing.
+     *
+     * Subclasses can override this to make coalescing configurable. By default, coalescing is disabled.
+     */
+    protected int getPollCoalescingMaxGap() {
+        return -1;
+    }
+
     /**
      * Format error message in case some other endpoint has been configured with different
      * {@link EndpointPoolConfiguration}
@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +35,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.PolledDataSnapshot;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -148,6 +150,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile long lastReadUpdateMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -414,6 +417,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastReadUpdateMillis = 0L;
     }
 
     @Override
@@ -658,6 +662,42 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         });
     }
 
+    /**
+     * Check if the polled data read by this thing is among the changed data elements
+     *
+     * @param changedElements data elements (registers or bits) of the poll that changed since the previous poll
+     * @return true if the data read by this thing changed
+     */
+    public boolean isReadDataChanged(BitSet changedElements) {
+        Optional<Integer> localReadIndex = readIndex;
+        ValueType localReadValueType = readValueType;
+        if (!isReadEnabled || !localReadIndex.isPresent() || localReadValueType == null) {
+            return false;
+        }
+        // Values of 16 bits or less are contained in a single register (or a single bit with coils)
+        int length = Math.max(1, localReadValueType.getBits() / 16);
+        return PolledDataSnapshot.isChanged(changedElements, localReadIndex.get() - pollStart, length);
+    }
+
+    /**
+     * Check if this thing needs to process polled data even if the data it reads did not change. This is the case
+     * when unchanged values need to be updated periodically, when the last read success channel is linked or when the
+     * thing is not yet online.
+     *
+     * @param now current time in milliseconds
+     * @return true if the polled data should be processed regardless if it changed
+     */
+    public boolean isReadUpdateRequired(long now) {
+        if (!isReadEnabled) {
+            return false;
+        }
+        long localLastReadUpdateMillis = lastReadUpdateMillis;
+        return localLastReadUpdateMillis <= 0L || updateUnchangedValuesEveryMillis <= 0L
+                || now - localLastReadUpdateMillis > updateUnchangedValuesEveryMillis
+                || statusInfo.getStatus() != ThingStatus.ONLINE
+                || isLinked(getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS));
+    }
+
     public synchronized void onReadResult(AsyncModbusReadResult result) {
         result.getRegisters().ifPresent(registers -> onRegisters(result.getRequest(), registers));
         result.getBits().ifPresent(bits -> onBits(result.getRequest(), bits));
@@ -706,10 +746,12 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex,
+                    numericState, boolValue, registers, request);
+        }
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -721,9 +763,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        }
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
@@ -895,6 +939,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             // Update channels that have not been updated in a while, or when their values has changed
             states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
             channelLastState = states;
+            lastReadUpdateMillis = now;
         }
     }
 
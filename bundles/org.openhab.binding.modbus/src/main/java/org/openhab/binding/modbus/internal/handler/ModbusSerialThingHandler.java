@@ -103,6 +103,12 @@ public class ModbusSerialThingHandler
         return config.getId();
     }
 
+    @Override
+    protected int getPollCoalescingMaxGap() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig == null ? -1 : localConfig.getPollCoalescingMaxGap();
+    }
+
     @Override
     public ThingUID getUID() {
         return getThing().getUID();
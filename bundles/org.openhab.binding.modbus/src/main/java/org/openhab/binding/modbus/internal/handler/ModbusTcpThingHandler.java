@@ -81,6 +81,12 @@ public class ModbusTcpThingHandler
         return localConfig.getId();
     }
 
+    @Override
+    protected int getPollCoalescingMaxGap() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig == null ? -1 : localConfig.getPollCoalescingMaxGap();
+    }
+
     @Override
     public ThingUID getUID() {
         return getThing().getUID();
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class CoalescingModbusCommunicationInterfaceTest {
+
+    private static final long POLL_PERIOD = 1000;
+
+    private final ModbusCommunicationInterface delegate = mock(ModbusCommunicationInterface.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Runnable> scheduledJobs = new ArrayList<>();
+    private long now = 0;
+
+    private final CoalescingModbusCommunicationInterface comms = new CoalescingModbusCommunicationInterface(
+            delegate, 0, scheduler, () -> now);
+
+    @SuppressWarnings("unchecked")
+    private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(
+            ModbusFailureCallback.class);
+
+    private static ModbusReadRequestBlueprint registers(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 3);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            scheduledJobs.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        when(delegate.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+    }
+
+    private void runScheduledJobs() {
+        List<Runnable> jobs = new ArrayList<>(scheduledJobs);
+        scheduledJobs.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testRegistrationsArePlannedOnce() {
+        for (int i = 0; i < 10; i++) {
+            comms.registerRegularPoll(registers(i * 2, 2), POLL_PERIOD, 500 + i * 100, mock(ModbusReadCallback.class),
+                    failureCallback);
+        }
+
+        // nothing is registered until the registrations have settled
+        verify(delegate, never()).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        assertThat(scheduledJobs.size(), is(equalTo(1)));
+
+        now = CoalescingModbusCommunicationInterface.REPLAN_DELAY_MILLIS;
+        runScheduledJobs();
+
+        // a single merged request, polled when the first poll is due
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(delegate, times(1)).registerRegularPoll(request.capture(), eq(POLL_PERIOD),
+                eq(500 - CoalescingModbusCommunicationInterface.REPLAN_DELAY_MILLIS), any(), any());
+        verify(delegate, never()).unregisterRegularPoll(any());
+        assertThat(request.getValue().getReference(), is(equalTo(0)));
+        assertThat(request.getValue().getDataLength(), is(equalTo(20)));
+    }
+
+    @Test
+    public void testReplanKeepsPhaseOfExistingPolls() {
+        comms.registerRegularPoll(registers(0, 2), POLL_PERIOD, 0, mock(ModbusReadCallback.class), failureCallback);
+        runScheduledJobs();
+        verify(delegate).registerRegularPoll(any(), eq(POLL_PERIOD), eq(0L), any(), any());
+
+        // the existing poll is next due at 3000, the new one at 3800
+        now = 2300;
+        comms.registerRegularPoll(registers(2, 2), POLL_PERIOD, 1500, mock(ModbusReadCallback.class),
+                failureCallback);
+        now = 2400;
+        runScheduledJobs();
+
+        verify(delegate, times(1)).unregisterRegularPoll(any());
+        verify(delegate).registerRegularPoll(any(), eq(POLL_PERIOD), eq(600L), any(), any());
+        verify(delegate, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    public void testUnregisteredPollIsNotCalledBack() {
+        ModbusReadCallback first = mock(ModbusReadCallback.class);
+        ModbusReadCallback second = mock(ModbusReadCallback.class);
+        PollTask firstTask = comms.registerRegularPoll(registers(0, 2), POLL_PERIOD, 0, first, failureCallback);
+        PollTask secondTask = comms.registerRegularPoll(registers(2, 2), POLL_PERIOD, 0, second, failureCallback);
+        runScheduledJobs();
+
+        ArgumentCaptor<ModbusReadCallback> blockCallback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(delegate).registerRegularPoll(any(), anyLong(), anyLong(), blockCallback.capture(), any());
+
+        comms.unregisterRegularPoll(firstTask);
+        blockCallback.getValue()
+                .handle(new AsyncModbusReadResult(registers(0, 4), new ModbusRegisterArray(new byte[8])));
+        verify(first, never()).handle(any(AsyncModbusReadResult.class));
+        verify(second).handle(any(AsyncModbusReadResult.class));
+
+        // the merged request is only replaced after the registrations have settled
+        verify(delegate, never()).unregisterRegularPoll(any());
+        runScheduledJobs();
+        verify(delegate, times(1)).unregisterRegularPoll(any());
+        verify(delegate, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+
+        // the request is unregistered right away when the last poll is unregistered
+        comms.unregisterRegularPoll(secondTask);
+        verify(delegate, times(2)).unregisterRegularPoll(any());
+        assertThat(scheduledJobs.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+
+/**
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class ModbusPollPlannerTest {
+
+    private static ModbusReadRequestBlueprint registers(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 3);
+    }
+
+    private static ModbusReadRequestBlueprint coils(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, start, length, 3);
+    }
+
+    @Test
+    public void testAdjacentRequestsAreMerged() {
+        ModbusReadRequestBlueprint first = registers(0, 10);
+        ModbusReadRequestBlueprint second = registers(10, 5);
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner.plan(List.of(second, first), 0);
+
+        assertThat(blocks.size(), is(equalTo(1)));
+        assertThat(blocks.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(blocks.get(0).getRequest().getDataLength(), is(equalTo(15)));
+        assertThat(blocks.get(0).getMembers(), is(equalTo(List.of(first, second))));
+    }
+
+    @Test
+    public void testGapLargerThanMaxGapIsNotMerged() {
+        ModbusReadRequestBlueprint first = registers(0, 10);
+        ModbusReadRequestBlueprint second = registers(15, 5);
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner.plan(List.of(first, second), 4);
+
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertThat(blocks.get(0).getRequest(), is(sameInstance(first)));
+        assertThat(blocks.get(1).getRequest(), is(sameInstance(second)));
+    }
+
+    @Test
+    public void testGapWithinMaxGapIsMerged() {
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner.plan(List.of(registers(0, 10), registers(15, 5)), 5);
+
+        assertThat(blocks.size(), is(equalTo(1)));
+        assertThat(blocks.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(blocks.get(0).getRequest().getDataLength(), is(equalTo(20)));
+    }
+
+    @Test
+    public void testOverlappingRequestsAreMerged() {
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner.plan(List.of(registers(0, 10), registers(2, 3)), 0);
+
+        assertThat(blocks.size(), is(equalTo(1)));
+        assertThat(blocks.get(0).getRequest().getDataLength(), is(equalTo(10)));
+        assertThat(blocks.get(0).getMembers().size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testMaximumRegisterCountIsRespected() {
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner
+                .plan(List.of(registers(0, 100), registers(100, 25), registers(125, 1)), 0);
+
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertThat(blocks.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(blocks.get(1).getRequest().getReference(), is(equalTo(125)));
+    }
+
+    @Test
+    public void testMaximumBitCountIsRespected() {
+        List<ModbusPollPlanner.Block> blocks = ModbusPollPlanner.plan(List.of(coils(0, 1000), coils(1000, 500)), 0);
+
+        assertThat(blocks.size(), is(equalTo(1)));
+        assertThat(blocks.get(0).getRequest().getDataLength(), is(equalTo(1500)));
+        assertThat(blocks.get(0).getRequest().getFunctionCode(), is(equalTo(ModbusReadFunctionCode.READ_COILS)));
+    }
+}
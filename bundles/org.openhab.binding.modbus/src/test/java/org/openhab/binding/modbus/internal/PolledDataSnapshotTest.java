@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class PolledDataSnapshotTest {
+
+    @Test
+    public void testNoPreviousSnapshot() {
+        PolledDataSnapshot snapshot = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2, 3));
+        assertThat(snapshot.changedElements(null), is(nullValue()));
+    }
+
+    @Test
+    public void testDifferentSize() {
+        PolledDataSnapshot previous = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2));
+        PolledDataSnapshot snapshot = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2, 3));
+        assertThat(snapshot.changedElements(previous), is(nullValue()));
+    }
+
+    @Test
+    public void testDifferentType() {
+        PolledDataSnapshot previous = PolledDataSnapshot.of(new BitArray(true, false));
+        PolledDataSnapshot snapshot = PolledDataSnapshot.of(new ModbusRegisterArray(1, 0));
+        assertThat(snapshot.changedElements(previous), is(nullValue()));
+    }
+
+    @Test
+    public void testChangedRegisters() {
+        PolledDataSnapshot previous = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2, 3, 4, 5));
+        PolledDataSnapshot snapshot = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2, 30, 4, 5));
+        BitSet changed = snapshot.changedElements(previous);
+
+        assertThat(changed, is(notNullValue()));
+        assertThat(changed.cardinality(), is(equalTo(1)));
+        assertThat(PolledDataSnapshot.isChanged(changed, 0, 2), is(false));
+        assertThat(PolledDataSnapshot.isChanged(changed, 1, 2), is(true));
+        assertThat(PolledDataSnapshot.isChanged(changed, 2, 1), is(true));
+        assertThat(PolledDataSnapshot.isChanged(changed, 3, 2), is(false));
+    }
+
+    @Test
+    public void testChangedBits() {
+        PolledDataSnapshot previous = PolledDataSnapshot.of(new BitArray(true, false, true));
+        PolledDataSnapshot snapshot = PolledDataSnapshot.of(new BitArray(true, true, true));
+        BitSet changed = snapshot.changedElements(previous);
+
+        assertThat(changed, is(notNullValue()));
+        assertThat(PolledDataSnapshot.isChanged(changed, 0, 1), is(false));
+        assertThat(PolledDataSnapshot.isChanged(changed, 1, 1), is(true));
+        assertThat(PolledDataSnapshot.isChanged(changed, 2, 1), is(false));
+    }
+
+    @Test
+    public void testUnchanged() {
+        PolledDataSnapshot previous = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2, 3));
+        PolledDataSnapshot snapshot = PolledDataSnapshot.of(new ModbusRegisterArray(1, 2, 3));
+        BitSet changed = snapshot.changedElements(previous);
+
+        assertThat(changed, is(notNullValue()));
+        assertThat(changed.isEmpty(), is(true));
+        assertThat(PolledDataSnapshot.isChanged(changed, 0, 3), is(false));
+    }
+}
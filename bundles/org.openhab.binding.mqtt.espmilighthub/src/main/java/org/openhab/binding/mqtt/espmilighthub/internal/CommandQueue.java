@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.espmilighthub.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CommandQueue} collects the JSON commands of one globe and publishes them no faster than a minimum
+ * interval. State changes that are still waiting to be sent are merged into one JSON command where the latest value
+ * of a field wins, so dragging a slider only sends the most recent level or colour instead of every step.
+ *
+ * A command that turns the globe on again is not merged into a waiting command that turned it off, because the fields
+ * sent with the off command (like a level of 0) must not be applied to the globe in its new state.
+ *
+ * Raw remote commands like {"command":"pair"} are never merged and are sent in the order they were received.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class CommandQueue {
+    // Only one of these fields decides the colour of a globe, setting one of them replaces the others.
+    private static final Set<String> COLOUR_FIELDS = Set.of("hue", "saturation", "color_temp", "mode");
+    private static final String STATE_FIELD = "state";
+    private static final String STATE_OFF = "\"OFF\"";
+
+    private final Logger logger = LoggerFactory.getLogger(CommandQueue.class);
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<String> publisher;
+    private final long interval;
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    private long lastPublish;
+    private long publishedCount = 0;
+    private long mergedCount = 0;
+
+    private static class Entry {
+        private final @Nullable String rawCommand;
+        private final Map<String, String> fields;
+
+        private Entry(@Nullable String rawCommand, Map<String, String> fields) {
+            this.rawCommand = rawCommand;
+            this.fields = fields;
+        }
+
+        private String toJSON() {
+            String localRawCommand = rawCommand;
+            if (localRawCommand != null) {
+                return localRawCommand;
+            }
+            StringBuilder json = new StringBuilder("{");
+            fields.forEach((key, value) -> {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append('"').append(key).append("\":").append(value);
+            });
+            return json.append('}').toString();
+        }
+    }
+
+    /**
+     * @param scheduler The scheduler used to send the commands that had to wait
+     * @param publisher Publishes a JSON command to the hub
+     * @param interval The minimum time in milliseconds between two commands, 0 sends every command immediately
+     */
+    public CommandQueue(ScheduledExecutorService scheduler, Consumer<String> publisher, int interval) {
+        this.scheduler = scheduler;
+        this.publisher = publisher;
+        this.interval = TimeUnit.MILLISECONDS.toNanos(Math.max(0, interval));
+        this.lastPublish = System.nanoTime() - this.interval;
+    }
+
+    /**
+     * Queue a JSON command. If the minimum interval has passed since the last command it is sent straight away.
+     *
+     * @param json A flat JSON object like {"state":"ON","level":50}
+     */
+    public synchronized void add(String json) {
+        if (interval == 0) {
+            publish(json);
+            return;
+        }
+        Entry entry = parse(json);
+        Entry last = pending.peekLast();
+        if (last != null && last.rawCommand == null && entry.rawCommand == null
+                && canMerge(last.fields, entry.fields)) {
+            merge(last.fields, entry.fields);
+            mergedCount++;
+        } else {
+            pending.add(entry);
+        }
+        if (flushJob == null) {
+            long delay = lastPublish + interval - System.nanoTime();
+            if (delay <= 0) {
+                flush();
+            } else {
+                flushJob = scheduler.schedule(this::scheduledFlush, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Drop all commands that have not been sent yet.
+     */
+    public synchronized void clear() {
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+            flushJob = null;
+        }
+        pending.clear();
+        logger.debug("Command queue stopped, {} commands sent and {} merged into a later command", publishedCount,
+                mergedCount);
+    }
+
+    public synchronized int getQueueDepth() {
+        return pending.size();
+    }
+
+    public synchronized long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * @return The number of commands that were never sent on their own, because a later command replaced them.
+     */
+    public synchronized long getMergedCount() {
+        return mergedCount;
+    }
+
+    private synchronized void scheduledFlush() {
+        flushJob = null;
+        flush();
+    }
+
+    private void flush() {
+        Entry entry = pending.poll();
+        if (entry == null) {
+            return;
+        }
+        publish(entry.toJSON());
+        if (!pending.isEmpty()) {
+            flushJob = scheduler.schedule(this::scheduledFlush, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void publish(String json) {
+        lastPublish = System.nanoTime();
+        publishedCount++;
+        logger.trace("Sending {}, queue depth {}, {} commands merged so far", json, pending.size(), mergedCount);
+        publisher.accept(json);
+    }
+
+    /**
+     * Fields of a waiting command only remain valid if the update does not change the state of the globe, unless it
+     * turns the globe off. Everything before an off command can be dropped.
+     */
+    private static boolean canMerge(Map<String, String> target, Map<String, String> update) {
+        String state = update.get(STATE_FIELD);
+        String targetState = target.get(STATE_FIELD);
+        return state == null || targetState == null || STATE_OFF.equals(state) || state.equals(targetState);
+    }
+
+    private static void merge(Map<String, String> target, Map<String, String> update) {
+        if (STATE_OFF.equals(update.get(STATE_FIELD))) {
+            // Nothing else matters if the globe gets turned off
+            target.clear();
+        } else if (update.keySet().stream().anyMatch(COLOUR_FIELDS::contains)) {
+            target.keySet().removeAll(COLOUR_FIELDS);
+        }
+        target.putAll(update);
+    }
+
+    /**
+     * Splits the flat JSON objects created by the handler into their fields. The values are kept in their JSON form.
+     */
+    private static Entry parse(String json) {
+        String trimmed = json.trim();
+        if (trimmed.startsWith("{\"command\"") || !trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+            return new Entry(json, Map.of());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (String field : trimmed.substring(1, trimmed.length() - 1).split(",")) {
+            int separator = field.indexOf("\":");
+            if (!field.startsWith("\"") || separator < 0) {
+                // Not created by this binding, send it as it is
+                return new Entry(json, Map.of());
+            }
+            fields.put(field.substring(1, separator), field.substring(separator + 2));
+        }
+        return new Entry(null, fields);
+    }
+}
@@ -28,4 +28,5 @@ public class ConfigOptions {
     public boolean oneTriggersNightMode = false;
     public boolean powerFailsToMinimum = false;
     public int dimmedCT = -1;
+    public int commandInterval = 100;
 }
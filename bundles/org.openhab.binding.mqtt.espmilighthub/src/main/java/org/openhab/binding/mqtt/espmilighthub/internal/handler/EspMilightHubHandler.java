@@ -21,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.espmilighthub.internal.CommandQueue;
 import org.openhab.binding.mqtt.espmilighthub.internal.ConfigOptions;
 import org.openhab.binding.mqtt.espmilighthub.internal.Helper;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
@@ -69,6 +70,7 @@ public class EspMilightHubHandler extends BaseThingHandler implements MqttConnec
     private BigDecimal minColourTemp = BigDecimal.ZERO;
     private BigDecimal savedLevel = BIG_DECIMAL_100;
     private ConfigOptions config = new ConfigOptions();
+    private @Nullable CommandQueue commandQueue;
 
     public EspMilightHubHandler(Thing thing, ThingRegistry thingRegistry) {
         super(thing);
@@ -278,6 +280,7 @@ public class EspMilightHubHandler extends BaseThingHandler implements MqttConnec
     @Override
     public void initialize() {
         config = getConfigAs(ConfigOptions.class);
+        commandQueue = new CommandQueue(scheduler, this::publishMQTT, config.commandInterval);
         if (config.dimmedCT > 0) {
             maxColourTemp = new BigDecimal(config.favouriteWhite);
             minColourTemp = new BigDecimal(config.dimmedCT);
@@ -313,6 +316,13 @@ public class EspMilightHubHandler extends BaseThingHandler implements MqttConnec
     }
 
     private void sendMQTT(String payload) {
+        CommandQueue localCommandQueue = commandQueue;
+        if (localCommandQueue != null) {
+            localCommandQueue.add(payload);
+        }
+    }
+
+    private void publishMQTT(String payload) {
         MqttBrokerConnection localConnection = connection;
         if (localConnection != null) {
             localConnection.publish(fullCommandTopic, payload.getBytes(), 1, false);
@@ -379,6 +389,11 @@ public class EspMilightHubHandler extends BaseThingHandler implements MqttConnec
 
     @Override
     public void dispose() {
+        CommandQueue localCommandQueue = commandQueue;
+        if (localCommandQueue != null) {
+            localCommandQueue.clear();
+            commandQueue = null;
+        }
         MqttBrokerConnection localConnection = connection;
         if (localConnection != null) {
             localConnection.unsubscribe(fullStatesTopic + "/#", this);
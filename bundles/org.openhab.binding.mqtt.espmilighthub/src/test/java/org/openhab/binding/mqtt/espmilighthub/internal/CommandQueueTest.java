@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.espmilighthub.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the merging of waiting commands by the {@link CommandQueue}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class CommandQueueTest {
+    private static final String FIRST_COMMAND = "{\"state\":\"ON\",\"level\":10}";
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Runnable> scheduledJobs = new ArrayList<>();
+    private final List<String> published = new ArrayList<>();
+    private final CommandQueue queue = new CommandQueue(scheduler, published::add, 100);
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            scheduledJobs.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        // The first command is sent immediately, all further commands have to wait
+        queue.add(FIRST_COMMAND);
+        assertEquals(List.of(FIRST_COMMAND), published);
+        published.clear();
+    }
+
+    private List<String> sendWaitingCommands() {
+        while (!scheduledJobs.isEmpty()) {
+            scheduledJobs.remove(0).run();
+        }
+        return published;
+    }
+
+    @Test
+    public void latestLevelWins() {
+        queue.add("{\"level\":20}");
+        queue.add("{\"level\":30}");
+        queue.add("{\"level\":40}");
+
+        assertEquals(List.of("{\"level\":40}"), sendWaitingCommands());
+        assertEquals(2, queue.getMergedCount());
+    }
+
+    @Test
+    public void colourFieldsReplaceEachOther() {
+        queue.add("{\"hue\":120,\"saturation\":100,\"level\":50}");
+        queue.add("{\"color_temp\":200}");
+
+        assertEquals(List.of("{\"level\":50,\"color_temp\":200}"), sendWaitingCommands());
+    }
+
+    @Test
+    public void offReplacesWaitingFields() {
+        queue.add("{\"state\":\"ON\",\"level\":50,\"hue\":120}");
+        queue.add("{\"state\":\"OFF\",\"level\":0}");
+
+        assertEquals(List.of("{\"state\":\"OFF\",\"level\":0}"), sendWaitingCommands());
+    }
+
+    @Test
+    public void onIsNotMergedIntoWaitingOff() {
+        queue.add("{\"state\":\"OFF\",\"level\":0}");
+        queue.add("{\"state\":\"ON\",\"color_temp\":200}");
+
+        // The level of the off command must not be sent with the on command
+        assertEquals(List.of("{\"state\":\"OFF\",\"level\":0}", "{\"state\":\"ON\",\"color_temp\":200}"),
+                sendWaitingCommands());
+        assertEquals(0, queue.getMergedCount());
+    }
+
+    @Test
+    public void rawCommandsAreNotMerged() {
+        queue.add("{\"level\":20}");
+        queue.add("{\"command\":\"pair\"}");
+        queue.add("{\"level\":30}");
+
+        assertEquals(List.of("{\"level\":20}", "{\"command\":\"pair\"}", "{\"level\":30}"), sendWaitingCommands());
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -31,7 +32,7 @@ import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.Command;
-import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.State;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +63,9 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    /** Payload and resulting state of the last message, used to skip parsing of unchanged payloads */
+    private byte @Nullable [] lastPayload;
+    private @Nullable State lastState;
 
     /**
      * Creates a new channel state.
@@ -153,29 +157,48 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        // Without transformations, the payload can be parsed directly and an unchanged payload does not need to be
+        // parsed again, as the cached value is already up to date.
+        final boolean plainPayload = transformationsIn.isEmpty() && !config.trigger;
+        if (plainPayload && cachedValue.getChannelState() == lastState && Arrays.equals(payload, lastPayload)) {
+            publishCachedValue(channelStateUpdateListener);
+            receivedOrTimeout();
+            return;
+        }
+        lastPayload = null;
+
+        String strValue = null;
+        Command command;
+        if (plainPayload) {
+            command = cachedValue.parseCommand(payload);
+        } else {
+            // String value: Apply transformations
+            strValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
 
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
+            command = cachedValue.parseCommand(strValue);
         }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
         if (command == null) {
-            logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
+            logger.warn("Incoming payload '{}' not supported by type '{}'",
+                    strValue != null ? strValue : new String(payload, StandardCharsets.UTF_8),
                     cachedValue.getClass().getSimpleName());
             receivedOrTimeout();
             return;
@@ -192,18 +215,30 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
-                    e.getMessage());
+            logger.warn("Command '{}' not supported by type '{}': {}",
+                    strValue != null ? strValue : new String(payload, StandardCharsets.UTF_8),
+                    cachedValue.getClass().getSimpleName(), e.getMessage());
             receivedOrTimeout();
             return;
         }
 
+        // Only an absolute command, which sets the state to itself, gives the same state when applied again.
+        // Relative commands like INCREASE or UP depend on the previous state and always need to be applied.
+        State newState = cachedValue.getChannelState();
+        if (plainPayload && command.equals(newState)) {
+            lastPayload = payload;
+            lastState = newState;
+        }
+        publishCachedValue(channelStateUpdateListener);
+        receivedOrTimeout();
+    }
+
+    private void publishCachedValue(ChannelStateUpdateListener channelStateUpdateListener) {
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
         } else {
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
         }
-        receivedOrTimeout();
     }
 
     /**
@@ -255,6 +290,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastPayload = null;
         cachedValue.resetState();
     }
 
@@ -333,6 +369,7 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         cachedValue.update(command);
+        lastPayload = null;
 
         Value mqttCommandValue = cachedValue;
 
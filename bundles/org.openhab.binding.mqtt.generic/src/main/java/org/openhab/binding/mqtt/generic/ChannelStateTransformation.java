@@ -12,8 +12,6 @@
  */
 package org.openhab.binding.mqtt.generic;
 
-import java.lang.ref.WeakReference;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
@@ -30,7 +28,7 @@ import org.slf4j.LoggerFactory;
 public class ChannelStateTransformation {
     private final Logger logger = LoggerFactory.getLogger(ChannelStateTransformation.class);
     private final TransformationServiceProvider provider;
-    private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
+    private volatile @Nullable TransformationService transformationService;
     final String pattern;
     final String serviceName;
 
@@ -77,14 +75,15 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected @Nullable String processValue(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        TransformationService transformationService = this.transformationService;
         if (transformationService == null) {
             transformationService = provider.getTransformationService(serviceName);
             if (transformationService == null) {
                 logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
                 return value;
             }
-            this.transformationService = new WeakReference<>(transformationService);
+            // Keep the resolved service, it is looked up for every message otherwise
+            this.transformationService = transformationService;
         }
         String returnValue = null;
         try {
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.TopicTreeDispatcher;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,6 +108,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     protected transient AttributeChanged attributeChangedListener = (b, c, d, e, f) -> {
     };
     private transient boolean complete = false;
+    private transient @Nullable TopicTreeDispatcher dispatcher;
 
     /**
      * Implement this interface to be notified of an updated field.
@@ -139,6 +141,13 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
      * @return Returns a future that completes as soon as all unsubscriptions have been performed.
      */
     public CompletableFuture<@Nullable Void> unsubscribe() {
+        final TopicTreeDispatcher dispatcher = this.dispatcher;
+        if (dispatcher != null) {
+            final CompletableFuture<?>[] futures = subscriptions.stream().map(m -> dispatcher.unsubscribe(m.topic, m))
+                    .toArray(CompletableFuture[]::new);
+            subscriptions.clear();
+            return CompletableFuture.allOf(futures);
+        }
         final MqttBrokerConnection connection = this.connection.get();
         if (connection == null) {
             subscriptions.clear();
@@ -191,11 +200,32 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         subscriptions = getAllFields(getFieldsOf().getClass()).stream().filter(AbstractMqttAttributeClass::filterField)
                 .map(this::mapFieldToSubscriber).collect(Collectors.toList());
 
+        final TopicTreeDispatcher dispatcher = this.dispatcher;
         final CompletableFuture<?>[] futures = subscriptions.stream()
-                .map(m -> m.subscribeAndReceive(connection, timeout)).toArray(CompletableFuture[]::new);
+                .map(m -> dispatcher != null ? m.subscribeAndReceive(dispatcher, timeout)
+                        : m.subscribeAndReceive(connection, timeout))
+                .toArray(CompletableFuture[]::new);
         return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
     }
 
+    /**
+     * Receive the topics of this attribute class via a dispatcher of an already subscribed topic tree instead of
+     * subscribing to each topic on the broker. Must be called before
+     * {@link #subscribeAndReceive(MqttBrokerConnection, ScheduledExecutorService, String, AttributeChanged, int)}.
+     *
+     * @param dispatcher A topic tree dispatcher or null to subscribe to each topic on the broker
+     */
+    public void setDispatcher(@Nullable TopicTreeDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Return the topic tree dispatcher, if one has been set.
+     */
+    public @Nullable TopicTreeDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * Return fields of the given class as well as all super classes.
      *
@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.TopicTreeDispatcher;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttException;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
@@ -180,7 +181,11 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
      * @throws MqttException If an MQTT IO exception happens this exception is thrown.
      */
     public CompletableFuture<@Nullable Void> subscribeAndReceive(MqttBrokerConnection connection, int timeout) {
-        connection.subscribe(topic, this).exceptionally(e -> {
+        return receive(connection.subscribe(topic, this), timeout);
+    }
+
+    private CompletableFuture<@Nullable Void> receive(CompletableFuture<Boolean> subscribeFuture, int timeout) {
+        subscribeFuture.exceptionally(e -> {
             logger.debug("Failed to subscribe to topic {}", topic, e);
             final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
             if (scheduledFuture != null) { // Cancel timeout
@@ -197,6 +202,34 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
         return future;
     }
 
+    /**
+     * Subscribe to the MQTT topic via a dispatcher of the topic tree, instead of a subscription on the broker.
+     * If the dispatcher already knows the value of the topic, the returned future completes immediately. If the
+     * dispatcher considers the topic tree to be complete without a value for this topic, the timeout is reached
+     * immediately as well. This only applies if the tree was not complete yet when subscribing, topics of parts that
+     * are added to the tree later wait for the timeout.
+     * You need to manually unsubscribe from the {@link #topic} before disposing.
+     *
+     * @param dispatcher A topic tree dispatcher.
+     * @param timeout Timeout in milliseconds. The returned future completes after this time even if no message has
+     *            been received for the MQTT topic.
+     * @return Returns a future that completes if either a value is received for the topic or a timeout happens.
+     */
+    public CompletableFuture<@Nullable Void> subscribeAndReceive(TopicTreeDispatcher dispatcher, int timeout) {
+        final boolean settled = dispatcher.isSettled();
+        receive(dispatcher.subscribe(topic, this), timeout);
+        if (!settled) {
+            dispatcher.settled().thenRun(() -> {
+                final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
+                if (!future.isDone() && scheduledFuture != null && scheduledFuture.cancel(false)) {
+                    this.scheduledFuture = null;
+                    timeoutReached();
+                }
+            });
+        }
+        return future;
+    }
+
     /**
      * Return true if the corresponding field has received a value at least once.
      */
@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes once to a whole topic tree ("base/topic/#") and dispatches the received messages to subscribers of
+ * single topics within that tree. This replaces one broker subscription per topic, which is expensive for conventions
+ * like Homie with hundreds of attribute topics per device.
+ *
+ * The retained messages that the broker sends in response to the subscription are kept, if they match the given
+ * filter, and are replayed to subscribers registering later. If no expected topic is missing anymore and no further
+ * kept message arrived for a quiet period, the tree is considered to be complete ("settled"). Topics that have not been
+ * received until then do not exist and subscribers do not need to wait for them.
+ *
+ * Once the tree is settled, the subscribers are subscribed to their topics on the broker and the tree subscription is
+ * removed. The tree subscription would otherwise deliver every message of the tree a second time, for example the
+ * values of topics that are subscribed by channels. Subscribers registering later are subscribed on the broker as well.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class TopicTreeDispatcher implements MqttMessageSubscriber {
+    private final Logger logger = LoggerFactory.getLogger(TopicTreeDispatcher.class);
+
+    private final String treeTopic;
+    private final Predicate<String> keepValue;
+    private final Function<TopicTreeDispatcher, @Nullable String> missingTopic;
+    private final ScheduledExecutorService scheduler;
+    private final int quietPeriod;
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<MqttMessageSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final CompletableFuture<@Nullable Void> settled = new CompletableFuture<>();
+    private @Nullable MqttBrokerConnection connection;
+    private @Nullable ScheduledFuture<?> settleFuture;
+    // The first expected topic that was missing in the last check, or null if none was missing
+    private @Nullable String awaitedTopic;
+    private volatile boolean handedOver = false;
+
+    /**
+     * Creates a dispatcher for a topic tree.
+     *
+     * @param baseTopic The base topic of the tree, e.g. "homie/device"
+     * @param keepValue Decides which received topic values are kept for subscribers registering later
+     * @param missingTopic Returns an expected topic of the tree that has not been received yet, or null if all
+     *            expected topics have been received. It is only called again when this topic or an already received
+     *            topic changes.
+     * @param scheduler A scheduler for the quiet period
+     * @param quietPeriod Time in milliseconds without further kept messages after the tree is complete, before it is
+     *            considered settled. Optional topics are usually received within this time. Can be 0.
+     */
+    public TopicTreeDispatcher(String baseTopic, Predicate<String> keepValue,
+            Function<TopicTreeDispatcher, @Nullable String> missingTopic, ScheduledExecutorService scheduler,
+            int quietPeriod) {
+        this.treeTopic = baseTopic + "/#";
+        this.keepValue = keepValue;
+        this.missingTopic = missingTopic;
+        this.scheduler = scheduler;
+        this.quietPeriod = quietPeriod;
+    }
+
+    /**
+     * Subscribe to the topic tree.
+     *
+     * @param connection A broker connection
+     * @return A future that completes as soon as the subscription has been performed.
+     */
+    public CompletableFuture<Boolean> start(MqttBrokerConnection connection) {
+        this.connection = connection;
+        return connection.subscribe(treeTopic, this);
+    }
+
+    /**
+     * Unsubscribe from the topic tree and forget all received values and subscribers.
+     *
+     * @return A future that completes as soon as the unsubscription has been performed.
+     */
+    public synchronized CompletableFuture<Boolean> stop() {
+        final MqttBrokerConnection connection = this.connection;
+        this.connection = null;
+        values.clear();
+        subscribers.clear();
+        cancelSettle();
+        settled.cancel(false);
+        if (connection == null || handedOver) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return connection.unsubscribe(treeTopic, this);
+    }
+
+    /**
+     * Subscribe to a single topic of the tree. A kept value of that topic is passed to the subscriber immediately.
+     * After the tree has settled, the topic is subscribed on the broker.
+     *
+     * @param topic A topic within the tree
+     * @param subscriber The subscriber
+     * @return A future that completes as soon as the subscription has been performed.
+     */
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        synchronized (this) {
+            final MqttBrokerConnection connection = this.connection;
+            if (handedOver && connection != null) {
+                return connection.subscribe(topic, subscriber);
+            }
+            subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArraySet<>()).add(subscriber);
+        }
+        final byte[] payload = values.get(topic);
+        if (payload != null) {
+            subscriber.processMessage(topic, payload);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Unsubscribe from a single topic of the tree.
+     *
+     * @param topic A topic within the tree
+     * @param subscriber The subscriber
+     * @return A future that completes as soon as the unsubscription has been performed.
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        final MqttBrokerConnection connection = this.connection;
+        if (handedOver && connection != null) {
+            return connection.unsubscribe(topic, subscriber);
+        }
+        Set<MqttMessageSubscriber> topicSubscribers = subscribers.get(topic);
+        if (topicSubscribers != null) {
+            topicSubscribers.remove(subscriber);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Return the last kept value of the given topic as UTF-8 string or null if none has been received.
+     *
+     * @param topic A topic within the tree
+     */
+    public @Nullable String getValue(String topic) {
+        final byte[] payload = values.get(topic);
+        return payload != null ? new String(payload, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Return a future that completes as soon as the tree is complete. It never completes if the tree stays incomplete
+     * and is cancelled on {@link #stop()}. Only subscribers that registered before can rely on the tree to contain
+     * their topic.
+     */
+    public CompletableFuture<@Nullable Void> settled() {
+        return settled;
+    }
+
+    /**
+     * Return true if the tree is complete.
+     */
+    public boolean isSettled() {
+        return settled.isDone();
+    }
+
+    private synchronized void cancelSettle() {
+        final ScheduledFuture<?> settleFuture = this.settleFuture;
+        if (settleFuture != null) {
+            settleFuture.cancel(false);
+            this.settleFuture = null;
+        }
+    }
+
+    private synchronized void scheduleSettle() {
+        cancelSettle();
+        if (quietPeriod > 0) {
+            settleFuture = scheduler.schedule(this::settle, quietPeriod, TimeUnit.MILLISECONDS);
+        } else {
+            settle();
+        }
+    }
+
+    private void settle() {
+        logger.debug("Topic tree {} complete with {} values", treeTopic, values.size());
+        settled.complete(null);
+        handOver();
+    }
+
+    /**
+     * Subscribe all subscribers to their topics on the broker and remove the tree subscription, as soon as the broker
+     * acknowledged the subscriptions. The broker sends the retained messages again in response.
+     */
+    private synchronized void handOver() {
+        final MqttBrokerConnection connection = this.connection;
+        if (connection == null || handedOver) {
+            return;
+        }
+        handedOver = true;
+        final CompletableFuture<?>[] futures = subscribers.entrySet().stream()
+                .flatMap(e -> e.getValue().stream().map(subscriber -> connection.subscribe(e.getKey(), subscriber)))
+                .toArray(CompletableFuture[]::new);
+        subscribers.clear();
+        values.clear();
+        CompletableFuture.allOf(futures).whenComplete((v, e) -> connection.unsubscribe(treeTopic, this));
+    }
+
+    /**
+     * Check if the tree is complete, if the given topic may have changed the result of the last check.
+     *
+     * @param topic The topic of a received kept value
+     * @param changed True if the topic had a different value before
+     */
+    private synchronized void checkTree(String topic, boolean changed) {
+        final String awaitedTopic = this.awaitedTopic;
+        // The tree cannot be complete as long as the awaited topic is missing, unless the announced structure changed
+        if (awaitedTopic != null && !awaitedTopic.equals(topic) && !changed) {
+            return;
+        }
+        this.awaitedTopic = missingTopic.apply(this);
+        if (this.awaitedTopic == null) {
+            scheduleSettle();
+        } else {
+            cancelSettle();
+        }
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        if (handedOver) {
+            // The subscribers receive the message by their own subscriptions
+            return;
+        }
+        final boolean keep = keepValue.test(topic);
+        final byte[] previous;
+        if (payload.length == 0) {
+            previous = values.remove(topic);
+        } else if (keep) {
+            previous = values.put(topic, payload);
+        } else {
+            previous = null;
+        }
+
+        Set<MqttMessageSubscriber> topicSubscribers = subscribers.get(topic);
+        if (topicSubscribers != null) {
+            for (MqttMessageSubscriber subscriber : topicSubscribers) {
+                subscriber.processMessage(topic, payload);
+            }
+        }
+
+        if (keep && !settled.isDone()) {
+            checkTree(topic, previous != null && !Arrays.equals(previous, payload));
+        }
+    }
+}
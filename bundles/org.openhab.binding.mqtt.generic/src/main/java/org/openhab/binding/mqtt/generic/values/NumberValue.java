@@ -133,6 +133,51 @@ public class NumberValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        BigDecimal value = parseDecimal(payload);
+        return value != null ? new DecimalType(value) : super.parseCommand(payload);
+    }
+
+    /**
+     * Parses a plain decimal number like "-12" or "23.50" with at most 18 digits straight from the payload,
+     * without decoding it into a String first.
+     *
+     * @param payload The UTF-8 encoded payload
+     * @return The number or null if the payload is not a plain decimal number
+     */
+    static @Nullable BigDecimal parseDecimal(byte[] payload) {
+        int i = 0;
+        boolean negative = false;
+        if (payload.length > 0 && payload[0] == '-') {
+            negative = true;
+            i = 1;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < payload.length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
     @Override
     public StateDescriptionFragmentBuilder createStateDescription(boolean readOnly) {
         StateDescriptionFragmentBuilder builder = super.createStateDescription(readOnly);
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +37,11 @@ public class OnOffValue extends Value {
     private final String offState;
     private final String onCommand;
     private final String offCommand;
+    private final byte[] onStateBytes;
+    private final byte[] offStateBytes;
+
+    private static final byte[] ON_BYTES = OnOffType.ON.name().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OFF_BYTES = OnOffType.OFF.name().getBytes(StandardCharsets.UTF_8);
 
     /**
      * Creates a switch On/Off type, that accepts "ON", "1" for on and "OFF","0" for off.
@@ -70,6 +77,23 @@ public class OnOffValue extends Value {
         this.offState = offState == null ? OnOffType.OFF.name() : offState;
         this.onCommand = onCommand == null ? OnOffType.ON.name() : onCommand;
         this.offCommand = offCommand == null ? OnOffType.OFF.name() : offCommand;
+        this.onStateBytes = this.onState.getBytes(StandardCharsets.UTF_8);
+        this.offStateBytes = this.offState.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        // Same precedence as parsing the text: the ON / OFF keywords first, then the configured states
+        if (Arrays.equals(ON_BYTES, payload)) {
+            return OnOffType.ON;
+        } else if (Arrays.equals(OFF_BYTES, payload)) {
+            return OnOffType.OFF;
+        } else if (Arrays.equals(onStateBytes, payload)) {
+            return OnOffType.ON;
+        } else if (Arrays.equals(offStateBytes, payload)) {
+            return OnOffType.OFF;
+        }
+        return super.parseCommand(payload);
     }
 
     @Override
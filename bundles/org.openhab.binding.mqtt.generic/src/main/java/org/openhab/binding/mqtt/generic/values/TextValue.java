@@ -68,6 +68,11 @@ public class TextValue extends Value {
         state = new StringType(valueStr);
     }
 
+    @Override
+    public @Nullable Command parseCommand(String value) {
+        return new StringType(value);
+    }
+
     /**
      * @return valid states. Can be null.
      */
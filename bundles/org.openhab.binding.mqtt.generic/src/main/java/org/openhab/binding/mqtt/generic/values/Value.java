@@ -15,6 +15,7 @@ package org.openhab.binding.mqtt.generic.values;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -27,6 +28,7 @@ import org.openhab.core.types.Command;
 import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 
 /**
@@ -136,6 +138,28 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses the payload of an incoming MQTT message into a command for {@link #update(Command)}.
+     * The default implementation decodes the payload as UTF-8 text and calls {@link #parseCommand(String)}.
+     * Subclasses may override this to parse the payload without creating an intermediate String.
+     *
+     * @param payload The UTF-8 encoded payload
+     * @return The command or null if the payload is not supported by this value
+     */
+    public @Nullable Command parseCommand(byte[] payload) {
+        return parseCommand(new String(payload, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses an incoming (transformed) MQTT value into a command for {@link #update(Command)}.
+     *
+     * @param value The incoming value
+     * @return The command or null if the value is not supported by this value
+     */
+    public @Nullable Command parseCommand(String value) {
+        return TypeParser.parseCommand(commandTypes, value);
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -172,6 +172,46 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener, times(3)).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveUnchangedDecimalTest() {
+        NumberValue value = spy(new NumberValue(null, null, null, null));
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState().toString(), is("15"));
+        verify(value, times(1)).parseCommand(any(byte[].class));
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+
+        value.resetState();
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState().toString(), is("15"));
+        verify(value, times(2)).parseCommand(any(byte[].class));
+    }
+
+    @Test
+    public void receiveRepeatedRelativeCommandTest() {
+        PercentageValue value = spy(new PercentageValue(null, null, new BigDecimal(10), null, null));
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "50".getBytes());
+        assertThat(value.getChannelState().toString(), is("50"));
+
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("60"));
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("70"));
+
+        c.processMessage("state", "DECREASE".getBytes());
+        c.processMessage("state", "DECREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("50"));
+
+        verify(value, times(5)).parseCommand(any(byte[].class));
+        verify(channelStateUpdateListener, times(5)).updateChannelState(eq(channelUID), any());
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
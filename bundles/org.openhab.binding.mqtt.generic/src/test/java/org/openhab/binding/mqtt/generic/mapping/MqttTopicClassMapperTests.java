@@ -136,7 +136,8 @@ public class MqttTopicClassMapperTests {
         final boolean mandatory = (boolean) invocation.getArguments()[3];
         final SubscribeFieldToMQTTtopic s = spy(
                 new SubscribeFieldToMQTTtopic(scheduler, field, attributes, topic, mandatory));
-        doReturn(CompletableFuture.completedFuture(true)).when(s).subscribeAndReceive(any(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(s).subscribeAndReceive(any(MqttBrokerConnection.class),
+                anyInt());
         return s;
     }
 
@@ -186,7 +187,7 @@ public class MqttTopicClassMapperTests {
                 continue;
             }
 
-            verify(f).subscribeAndReceive(any(), anyInt());
+            verify(f).subscribeAndReceive(any(MqttBrokerConnection.class), anyInt());
 
             // Simulate a received MQTT value and use the annotation data as input.
             f.processMessage(f.topic, annotation.value().getBytes());
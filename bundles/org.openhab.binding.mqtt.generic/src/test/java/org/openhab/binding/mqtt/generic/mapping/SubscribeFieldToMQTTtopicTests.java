@@ -17,7 +17,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.*;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -30,6 +30,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -41,6 +42,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.mqtt.generic.mapping.SubscribeFieldToMQTTtopic.FieldChanged;
+import org.openhab.binding.mqtt.generic.tools.TopicTreeDispatcher;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 
 /**
@@ -158,4 +160,100 @@ public class SubscribeFieldToMQTTtopicTests {
         future.get(50, TimeUnit.MILLISECONDS);
         assertThat(attributes.Int, is(10));
     }
+
+    @Test
+    public void DispatcherReplaysKnownValue()
+            throws InterruptedException, NoSuchFieldException, ExecutionException, TimeoutException {
+        final Field field = Attributes.class.getField("Int");
+        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
+
+        TopicTreeDispatcher dispatcher = new TopicTreeDispatcher("homie/device123", topic -> true,
+                d -> "homie/device123/$state", scheduler, 0);
+        dispatcher.processMessage("homie/device123/$int", "10".getBytes());
+
+        SubscribeFieldToMQTTtopic subscriber = new SubscribeFieldToMQTTtopic(scheduler, field, fieldChanged,
+                "homie/device123/$int", true);
+        // The value is already known, no timeout should happen
+        subscriber.subscribeAndReceive(dispatcher, 1000).get(50, TimeUnit.MILLISECONDS);
+        assertTrue(subscriber.hasReceivedValue());
+    }
+
+    @Test
+    public void DispatcherSettledWithoutValue()
+            throws InterruptedException, NoSuchFieldException, ExecutionException, TimeoutException {
+        final Field field = Attributes.class.getField("Int");
+        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
+
+        TopicTreeDispatcher dispatcher = new TopicTreeDispatcher("homie/device123", topic -> true,
+                d -> d.getValue("homie/device123/$state") != null ? null : "homie/device123/$state", scheduler, 0);
+
+        SubscribeFieldToMQTTtopic subscriber = new SubscribeFieldToMQTTtopic(scheduler, field, fieldChanged,
+                "homie/device123/$int", false);
+        CompletableFuture<@Nullable Void> future = subscriber.subscribeAndReceive(dispatcher, 10000);
+        assertFalse(future.isDone());
+
+        // The tree is complete without a value for the field, the field does not need to wait for the timeout
+        dispatcher.processMessage("homie/device123/$state", "ready".getBytes());
+        future.get(50, TimeUnit.MILLISECONDS);
+        assertFalse(subscriber.hasReceivedValue());
+    }
+
+    @Test
+    public void DispatcherHandsOverToBrokerSubscriptions()
+            throws InterruptedException, NoSuchFieldException, ExecutionException, TimeoutException {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        final Field field = Attributes.class.getField("Int");
+        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
+
+        TopicTreeDispatcher dispatcher = new TopicTreeDispatcher("homie/device123", topic -> true,
+                d -> d.getValue("homie/device123/$state") != null ? null : "homie/device123/$state", scheduler, 0);
+        dispatcher.start(connection);
+        verify(connection).subscribe("homie/device123/#", dispatcher);
+
+        SubscribeFieldToMQTTtopic subscriber = new SubscribeFieldToMQTTtopic(scheduler, field, fieldChanged,
+                "homie/device123/$int", false);
+        subscriber.subscribeAndReceive(dispatcher, 10000);
+        verify(connection, never()).subscribe("homie/device123/$int", subscriber);
+
+        // The subscribers are subscribed on the broker and the tree subscription is removed once the tree is complete
+        dispatcher.processMessage("homie/device123/$state", "ready".getBytes());
+        verify(connection).subscribe("homie/device123/$int", subscriber);
+        verify(connection).unsubscribe("homie/device123/#", dispatcher);
+
+        // Messages of the tree subscription are not delivered a second time
+        dispatcher.processMessage("homie/device123/$int", "10".getBytes());
+        assertFalse(subscriber.hasReceivedValue());
+
+        // Topics subscribed later, for example of a new node, are subscribed on the broker and wait for the timeout
+        SubscribeFieldToMQTTtopic laterSubscriber = new SubscribeFieldToMQTTtopic(scheduler, field, fieldChanged,
+                "homie/device123/node/$int", false);
+        CompletableFuture<@Nullable Void> future = laterSubscriber.subscribeAndReceive(dispatcher, 10000);
+        verify(connection).subscribe("homie/device123/node/$int", laterSubscriber);
+        assertThrows(TimeoutException.class, () -> future.get(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void DispatcherChecksTreeWhenAwaitedTopicArrives() {
+        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
+        AtomicInteger checks = new AtomicInteger();
+
+        TopicTreeDispatcher dispatcher = new TopicTreeDispatcher("homie/device123", topic -> true, d -> {
+            checks.incrementAndGet();
+            return d.getValue("homie/device123/$state") != null ? null : "homie/device123/$state";
+        }, scheduler, 0);
+
+        dispatcher.processMessage("homie/device123/$name", "name".getBytes());
+        dispatcher.processMessage("homie/device123/$homie", "3.0".getBytes());
+        dispatcher.processMessage("homie/device123/$nodes", "node".getBytes());
+        assertThat(checks.get(), is(1));
+        assertFalse(dispatcher.isSettled());
+
+        // A changed structure is checked again
+        dispatcher.processMessage("homie/device123/$nodes", "node,other".getBytes());
+        assertThat(checks.get(), is(2));
+
+        dispatcher.processMessage("homie/device123/$state", "ready".getBytes());
+        assertThat(checks.get(), is(3));
+        assertTrue(dispatcher.isSettled());
+    }
 }
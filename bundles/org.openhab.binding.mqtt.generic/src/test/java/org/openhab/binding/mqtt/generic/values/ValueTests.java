@@ -316,4 +316,28 @@ public class ValueTests {
                 null);
         assertThrows(IllegalArgumentException.class, () -> v.update(new DecimalType(9.0)));
     }
+
+    @Test
+    public void numberParseFromPayload() {
+        assertThat(NumberValue.parseDecimal("23.50".getBytes()), is(new BigDecimal("23.50")));
+        assertThat(NumberValue.parseDecimal("-12".getBytes()), is(new BigDecimal("-12")));
+        assertNull(NumberValue.parseDecimal("".getBytes()));
+        assertNull(NumberValue.parseDecimal("-".getBytes()));
+        assertNull(NumberValue.parseDecimal("1.2.3".getBytes()));
+        assertNull(NumberValue.parseDecimal("1e3".getBytes()));
+        assertNull(NumberValue.parseDecimal("1234567890123456789".getBytes()));
+
+        NumberValue v = new NumberValue(null, null, null, null);
+        v.update(v.parseCommand("42.1".getBytes()));
+        assertThat(v.getChannelState(), is(new DecimalType("42.1")));
+    }
+
+    @Test
+    public void onOffParseFromPayload() {
+        OnOffValue v = new OnOffValue("fancyON", "fancyOff");
+        assertThat(v.parseCommand("fancyON".getBytes()), is(OnOffType.ON));
+        assertThat(v.parseCommand("fancyOff".getBytes()), is(OnOffType.OFF));
+        assertThat(v.parseCommand("ON".getBytes()), is(OnOffType.ON));
+        assertThat(v.parseCommand("other".getBytes()), is(new StringType("other")));
+    }
 }
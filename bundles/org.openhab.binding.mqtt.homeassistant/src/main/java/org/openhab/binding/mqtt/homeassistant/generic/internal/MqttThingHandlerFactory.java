@@ -21,6 +21,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationCache;
 import org.openhab.binding.mqtt.homeassistant.internal.handler.HomeAssistantThingHandler;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -45,6 +46,7 @@ import org.osgi.service.component.annotations.Reference;
 @NonNullByDefault
 public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements TransformationServiceProvider {
     private @NonNullByDefault({}) MqttChannelTypeProvider typeProvider;
+    private @NonNullByDefault({}) ChannelConfigurationCache channelConfigurationCache;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.HOMEASSISTANT_MQTT_THING).collect(Collectors.toSet());
 
@@ -79,12 +81,21 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         this.typeProvider = null;
     }
 
+    @Reference
+    protected void setChannelConfigurationCache(ChannelConfigurationCache channelConfigurationCache) {
+        this.channelConfigurationCache = channelConfigurationCache;
+    }
+
+    protected void unsetChannelConfigurationCache(ChannelConfigurationCache channelConfigurationCache) {
+        this.channelConfigurationCache = null;
+    }
+
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (supportsThingType(thingTypeUID)) {
-            return new HomeAssistantThingHandler(thing, typeProvider, this, 10000, 2000);
+            return new HomeAssistantThingHandler(thing, typeProvider, this, channelConfigurationCache, 10000, 2000);
         }
         return null;
     }
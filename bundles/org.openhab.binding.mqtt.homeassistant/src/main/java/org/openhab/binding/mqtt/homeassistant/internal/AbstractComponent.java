@@ -193,6 +193,20 @@ public abstract class AbstractComponent<C extends BaseChannelConfiguration> {
         return configHash;
     }
 
+    /**
+     * Return the HomeAssistant topic ID of this component.
+     */
+    public HaID getHaID() {
+        return haID;
+    }
+
+    /**
+     * Return the configuration string this component was created from.
+     */
+    public String getConfigJSON() {
+        return channelConfigurationJson;
+    }
+
     /**
      * Return the channel group type.
      */
@@ -44,15 +44,17 @@ public class CFactory {
      * @param configJSON Most components expect a "name", a "state_topic" and "command_topic" like with
      *            "{name:'Name',state_topic:'homeassistant/switch/0/object/state',command_topic:'homeassistant/switch/0/object/set'".
      * @param updateListener A channel state update listener
+     * @param channelConfigurationCache The cache of the parsed configurations, shared with the discovery
      * @return A HA MQTT Component
      */
     public static @Nullable AbstractComponent<?> createComponent(ThingUID thingUID, HaID haID,
             String channelConfigurationJSON, ChannelStateUpdateListener updateListener, AvailabilityTracker tracker,
-            ScheduledExecutorService scheduler, Gson gson,
-            TransformationServiceProvider transformationServiceProvider) {
+            ScheduledExecutorService scheduler, Gson gson, TransformationServiceProvider transformationServiceProvider,
+            ChannelConfigurationCache channelConfigurationCache) {
         ComponentConfiguration componentConfiguration = new ComponentConfiguration(thingUID, haID,
                 channelConfigurationJSON, gson, updateListener, tracker, scheduler)
-                        .transformationProvider(transformationServiceProvider);
+                        .transformationProvider(transformationServiceProvider)
+                        .channelConfigurationCache(channelConfigurationCache);
         try {
             switch (haID.component) {
                 case "alarm_control_panel":
@@ -82,6 +84,38 @@ public class CFactory {
         return null;
     }
 
+    /**
+     * Return the configuration class of a HA MQTT component.
+     *
+     * @param component The component type, like "switch"
+     * @return The configuration class or null if the component is not supported
+     */
+    public static @Nullable Class<? extends BaseChannelConfiguration> getConfigurationClass(String component) {
+        switch (component) {
+            case "alarm_control_panel":
+                return ComponentAlarmControlPanel.ChannelConfiguration.class;
+            case "binary_sensor":
+                return ComponentBinarySensor.ChannelConfiguration.class;
+            case "camera":
+                return ComponentCamera.ChannelConfiguration.class;
+            case "cover":
+                return ComponentCover.ChannelConfiguration.class;
+            case "fan":
+                return ComponentFan.ChannelConfiguration.class;
+            case "climate":
+                return ComponentClimate.ChannelConfiguration.class;
+            case "light":
+                return ComponentLight.ChannelConfiguration.class;
+            case "lock":
+                return ComponentLock.ChannelConfiguration.class;
+            case "sensor":
+                return ComponentSensor.ChannelConfiguration.class;
+            case "switch":
+                return ComponentSwitch.ChannelConfiguration.class;
+        }
+        return null;
+    }
+
     protected static class ComponentConfiguration {
         private final ThingUID thingUID;
         private final HaID haID;
@@ -91,6 +125,7 @@ public class CFactory {
         private final Gson gson;
         private final ScheduledExecutorService scheduler;
         private @Nullable TransformationServiceProvider transformationServiceProvider;
+        private @Nullable ChannelConfigurationCache channelConfigurationCache;
 
         protected ComponentConfiguration(ThingUID thingUID, HaID haID, String configJSON, Gson gson,
                 ChannelStateUpdateListener updateListener, AvailabilityTracker tracker,
@@ -110,6 +145,11 @@ public class CFactory {
             return this;
         }
 
+        public ComponentConfiguration channelConfigurationCache(ChannelConfigurationCache channelConfigurationCache) {
+            this.channelConfigurationCache = channelConfigurationCache;
+            return this;
+        }
+
         public ThingUID getThingUID() {
             return thingUID;
         }
@@ -144,7 +184,11 @@ public class CFactory {
         }
 
         public <C extends BaseChannelConfiguration> C getConfig(Class<C> clazz) {
-            return BaseChannelConfiguration.fromString(configJSON, gson, clazz);
+            ChannelConfigurationCache channelConfigurationCache = this.channelConfigurationCache;
+            if (channelConfigurationCache == null) {
+                return BaseChannelConfiguration.fromString(configJSON, gson, clazz);
+            }
+            return channelConfigurationCache.get(haID.getTopic("config"), configJSON, gson, clazz);
         }
     }
 }
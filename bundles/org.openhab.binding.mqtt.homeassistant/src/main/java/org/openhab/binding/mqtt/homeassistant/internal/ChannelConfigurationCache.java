@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.osgi.service.component.annotations.Component;
+
+import com.google.gson.Gson;
+
+/**
+ * Caches the parsed component configurations per config topic, so that the discovery and the thing handlers share
+ * one parsed configuration object instead of parsing the same JSON again.
+ *
+ * An entry is only reused if the configuration string is unchanged. The configuration objects are not modified after
+ * parsing and can therefore be shared.
+ *
+ * The cache is a component that is referenced by the discovery and the thing handler factory, which passes it on to
+ * the thing handlers.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@Component(service = ChannelConfigurationCache.class)
+@NonNullByDefault
+public class ChannelConfigurationCache {
+    private static class Entry {
+        private final String configJSON;
+        private final Map<Class<?>, BaseChannelConfiguration> configs = new ConcurrentHashMap<>();
+
+        private Entry(String configJSON) {
+            this.configJSON = configJSON;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Return the parsed configuration of a config topic. The configuration is only parsed if it has not been parsed
+     * into the given class before or the configuration string has changed.
+     *
+     * @param topic The config topic
+     * @param configJSON The configuration string
+     * @param gson A Gson instance that is able to parse the configuration
+     * @param clazz The configuration class
+     * @return The configuration object
+     */
+    public <C extends BaseChannelConfiguration> C get(String topic, String configJSON, Gson gson, Class<C> clazz) {
+        Entry entry = entries.compute(topic,
+                (t, existing) -> existing != null && existing.configJSON.equals(configJSON) ? existing
+                        : new Entry(configJSON));
+        BaseChannelConfiguration config = entry.configs.get(clazz);
+        if (config == null) {
+            config = BaseChannelConfiguration.fromString(configJSON, gson, clazz);
+            entry.configs.put(clazz, config);
+        }
+        return clazz.cast(config);
+    }
+
+    /**
+     * Remove the configuration of a config topic, for example because the component vanished.
+     *
+     * @param topic The config topic
+     */
+    public void remove(String topic) {
+        entries.remove(topic);
+    }
+}
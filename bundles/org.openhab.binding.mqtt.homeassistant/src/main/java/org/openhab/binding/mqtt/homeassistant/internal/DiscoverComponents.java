@@ -14,7 +14,9 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -49,6 +51,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private final ChannelStateUpdateListener updateListener;
     private final AvailabilityTracker tracker;
     private final TransformationServiceProvider transformationServiceProvider;
+    private final ChannelConfigurationCache channelConfigurationCache;
 
     protected final CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
     private final Gson gson;
@@ -58,6 +61,8 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     protected @NonNullByDefault({}) ComponentDiscovered discoveredListener;
     private int discoverTime;
     private Set<String> topics = new HashSet<>();
+    // The configuration string per config topic of the components processed by the discovered listener
+    private final Map<String, String> configPerTopic = new ConcurrentHashMap<>();
 
     /**
      * Implement this to get notified of new components
@@ -72,16 +77,19 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      * @param thingUID The Thing UID to perform the discovery for.
      * @param scheduler A scheduler for timeouts
      * @param channelStateUpdateListener Channel update listener. Usually the handler.
+     * @param channelConfigurationCache The cache of the parsed configurations
      */
     public DiscoverComponents(ThingUID thingUID, ScheduledExecutorService scheduler,
             ChannelStateUpdateListener channelStateUpdateListener, AvailabilityTracker tracker, Gson gson,
-            TransformationServiceProvider transformationServiceProvider) {
+            TransformationServiceProvider transformationServiceProvider,
+            ChannelConfigurationCache channelConfigurationCache) {
         this.thingUID = thingUID;
         this.scheduler = scheduler;
         this.updateListener = channelStateUpdateListener;
         this.gson = gson;
         this.tracker = tracker;
         this.transformationServiceProvider = transformationServiceProvider;
+        this.channelConfigurationCache = channelConfigurationCache;
     }
 
     @Override
@@ -93,11 +101,19 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         HaID haID = new HaID(topic);
         String config = new String(payload);
 
+        // Retained configurations are received again on every (re)connect. Unchanged components are already known.
+        String knownConfig = config.isEmpty() ? configPerTopic.remove(topic) : configPerTopic.get(topic);
+        if (config.equals(knownConfig)) {
+            logger.trace("Configuration of HomeAssistant thing {} component {} unchanged", haID.objectID,
+                    haID.component);
+            return;
+        }
+
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
             component = CFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler, gson,
-                    transformationServiceProvider);
+                    transformationServiceProvider, channelConfigurationCache);
         }
         if (component != null) {
             component.setConfigSeen();
@@ -111,6 +127,16 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
     }
 
+    /**
+     * Records the configuration of a component that has been processed by the {@link ComponentDiscovered} listener.
+     * When the unchanged configuration is received again, e.g. after a reconnect, the component is skipped.
+     *
+     * @param component The processed component
+     */
+    public void componentProcessed(AbstractComponent<?> component) {
+        configPerTopic.put(component.getHaID().getTopic("config"), component.getConfigJSON());
+    }
+
     /**
      * Start a components discovery.
      *
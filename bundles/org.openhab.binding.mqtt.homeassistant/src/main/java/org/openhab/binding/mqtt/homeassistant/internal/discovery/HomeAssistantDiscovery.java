@@ -34,6 +34,8 @@ import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryService;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homeassistant.internal.BaseChannelConfiguration;
+import org.openhab.binding.mqtt.homeassistant.internal.CFactory;
+import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationCache;
 import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.HaID;
 import org.openhab.binding.mqtt.homeassistant.internal.HandlerConfiguration;
@@ -51,21 +53,24 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * The {@link HomeAssistantDiscovery} is responsible for discovering device nodes that follow the
  * Home Assistant MQTT discovery convention (https://www.home-assistant.io/docs/mqtt/discovery/).
  *
  * @author David Graeff - Initial contribution
+ * @author Hilbrand Bouwkamp - Skip unchanged configurations
  */
 @Component(service = DiscoveryService.class, configurationPid = "discovery.mqttha")
 @NonNullByDefault
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
-    @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
-    protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
-    protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
+    protected final Map<String, Set<HaID>> componentsPerThingID = new ConcurrentHashMap<>();
+    protected final Map<String, ThingUID> thingIDPerTopic = new ConcurrentHashMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+    // The last processed configuration string per config topic, per broker connection
+    protected final Map<ThingUID, Map<String, String>> configPerTopic = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -92,6 +97,9 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     @NonNullByDefault({})
     protected MQTTTopicDiscoveryService mqttTopicDiscovery;
 
+    @NonNullByDefault({})
+    protected ChannelConfigurationCache channelConfigurationCache;
+
     public HomeAssistantDiscovery() {
         super(null, 3, true, BASE_TOPIC + "/#");
         this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
@@ -121,11 +129,39 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         this.typeProvider = null;
     }
 
+    @Reference
+    protected void setChannelConfigurationCache(ChannelConfigurationCache channelConfigurationCache) {
+        this.channelConfigurationCache = channelConfigurationCache;
+    }
+
+    protected void unsetChannelConfigurationCache(ChannelConfigurationCache channelConfigurationCache) {
+        this.channelConfigurationCache = null;
+    }
+
     @Override
     public Set<@NonNull ThingTypeUID> getSupportedThingTypes() {
         return typeProvider.getThingTypeUIDs();
     }
 
+    @Override
+    protected void startScan() {
+        // A manual scan publishes all results again, even if their configuration did not change
+        configPerTopic.clear();
+        super.startScan();
+    }
+
+    @Override
+    protected void removeOlderResults(long timestamp, @Nullable Collection<ThingTypeUID> thingTypeUIDs,
+            @Nullable ThingUID bridgeUID) {
+        super.removeOlderResults(timestamp, thingTypeUIDs, bridgeUID);
+        // The removed results have to be published again when their configuration is received next time
+        if (bridgeUID == null) {
+            configPerTopic.clear();
+        } else {
+            configPerTopic.remove(bridgeUID);
+        }
+    }
+
     @Override
     public void receivedMessage(ThingUID connectionBridge, MqttBrokerConnection connection, String topic,
             byte[] payload) {
@@ -139,6 +175,15 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
+        // All retained configurations are received again on every (re)connect of the broker connection.
+        // The result of an unchanged configuration has already been published.
+        final String configJSON = new String(payload, StandardCharsets.UTF_8);
+        final String knownConfig = configPerTopic.computeIfAbsent(connectionBridge, key -> new ConcurrentHashMap<>())
+                .put(topic, configJSON);
+        if (configJSON.equals(knownConfig) && thingIDPerTopic.containsKey(topic)) {
+            return;
+        }
+
         // Reset the found-component timer.
         // We will collect components for the thing label description for another 2 seconds.
         final ScheduledFuture<?> future = this.future;
@@ -147,14 +192,13 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         }
         this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        HaID haID = new HaID(topic);
+        BaseChannelConfiguration config = parseConfig(topic, haID, configJSON);
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
         // easily recognize object capabilities.
 
-        HaID haID = new HaID(topic);
         final String thingID = config.getThingId(haID.objectID);
 
         final ThingTypeUID typeID = new ThingTypeUID(MqttBindingConstants.BINDING_ID,
@@ -186,12 +230,27 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
                         .withLabel(config.getThingName() + " (" + componentNames + ")").build());
     }
 
+    /**
+     * Parse the configuration into the configuration class of the component. The parsed configuration is shared with
+     * the thing handler, which therefore does not need to parse it again.
+     */
+    private BaseChannelConfiguration parseConfig(String topic, HaID haID, String configJSON) {
+        Class<? extends BaseChannelConfiguration> clazz = CFactory.getConfigurationClass(haID.component);
+        if (clazz != null) {
+            try {
+                return channelConfigurationCache.get(topic, configJSON, gson, clazz);
+            } catch (JsonParseException e) {
+                logger.debug("Configuration of component {} cannot be parsed: {}", topic, e.getMessage());
+            }
+        }
+        return BaseChannelConfiguration.fromString(configJSON, gson);
+    }
+
     protected void publishResults() {
         Collection<DiscoveryResult> localResults;
 
         localResults = new ArrayList<>(results.values());
         results.clear();
-        componentsPerThingID.clear();
         for (DiscoveryResult result : localResults) {
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
@@ -206,8 +265,13 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
-            ThingUID thingUID = thingIDPerTopic.remove(topic);
+        Map<String, String> configs = configPerTopic.get(connectionBridge);
+        if (configs != null) {
+            configs.remove(topic);
+        }
+        channelConfigurationCache.remove(topic);
+        ThingUID thingUID = thingIDPerTopic.remove(topic);
+        if (thingUID != null) {
             final String thingID = thingUID.getId();
 
             HaID haID = new HaID(topic);
@@ -215,6 +279,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
             components.remove(haID);
             if (components.isEmpty()) {
+                componentsPerThingID.remove(thingID);
                 thingRemoved(thingUID);
             }
         }
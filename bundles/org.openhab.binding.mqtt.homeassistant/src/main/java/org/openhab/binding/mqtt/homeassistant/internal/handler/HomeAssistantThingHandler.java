@@ -35,6 +35,7 @@ import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConsta
 import org.openhab.binding.mqtt.homeassistant.internal.AbstractComponent;
 import org.openhab.binding.mqtt.homeassistant.internal.CChannel;
 import org.openhab.binding.mqtt.homeassistant.internal.CFactory;
+import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationCache;
 import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents;
 import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents.ComponentDiscovered;
@@ -94,6 +95,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     private Set<HaID> discoveryHomeAssistantIDs = new HashSet<>();
 
     protected final TransformationServiceProvider transformationServiceProvider;
+    protected final ChannelConfigurationCache channelConfigurationCache;
 
     private boolean started;
 
@@ -103,20 +105,22 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
      *
      * @param thing The thing of this handler
      * @param channelTypeProvider A channel type provider
+     * @param channelConfigurationCache The cache of the parsed component configurations
      * @param subscribeTimeout Timeout for the entire tree parsing and subscription. In milliseconds.
      * @param attributeReceiveTimeout The timeout per attribute field subscription. In milliseconds.
      */
     public HomeAssistantThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider,
-            TransformationServiceProvider transformationServiceProvider, int subscribeTimeout,
-            int attributeReceiveTimeout) {
+            TransformationServiceProvider transformationServiceProvider,
+            ChannelConfigurationCache channelConfigurationCache, int subscribeTimeout, int attributeReceiveTimeout) {
         super(thing, subscribeTimeout);
         this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
         this.channelTypeProvider = channelTypeProvider;
         this.transformationServiceProvider = transformationServiceProvider;
+        this.channelConfigurationCache = channelConfigurationCache;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
         this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
         this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler, this, this, gson,
-                this.transformationServiceProvider);
+                this.transformationServiceProvider, channelConfigurationCache);
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -154,7 +158,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 logger.warn("Provided channel does not have a 'config' configuration key!");
             } else {
                 component = CFactory.createComponent(thingUID, haID, channelConfigurationJSON, this, this, scheduler,
-                        gson, transformationServiceProvider);
+                        gson, transformationServiceProvider, channelConfigurationCache);
             }
 
             if (component != null) {
@@ -262,6 +266,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             return;
         }
 
+        boolean changed = false;
         synchronized (haComponents) { // sync whenever discoverComponents is started
             for (AbstractComponent<?> discovered : discoveredComponentsList) {
                 AbstractComponent<?> known = haComponents.get(discovered.uid().getId());
@@ -273,6 +278,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                         known.stop();
                     } else {
                         known.setConfigSeen();
+                        discoverComponents.componentProcessed(discovered);
                         continue;
                     }
                 }
@@ -290,10 +296,15 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 Collection<Channel> channels = discovered.channelTypes().values().stream().map(CChannel::getChannel)
                         .collect(Collectors.toList());
                 ThingHelper.addChannelsToThing(thing, channels);
+                discoverComponents.componentProcessed(discovered);
+                changed = true;
             }
         }
 
-        updateThingType();
+        // Only components with a new or changed configuration require a new thing type
+        if (changed) {
+            updateThingType();
+        }
     }
 
     @Override
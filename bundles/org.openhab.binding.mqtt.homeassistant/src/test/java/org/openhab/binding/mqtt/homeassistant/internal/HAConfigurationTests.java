@@ -141,4 +141,17 @@ public class HAConfigurationTests {
             assertThat(device.identifiers, is(Arrays.asList("A")));
         }
     }
+
+    @Test
+    public void testConfigurationCache() {
+        String json = readTestJson("configFan.json");
+        String topic = "homeassistant/fan/cacheTest/config";
+        ChannelConfigurationCache cache = new ChannelConfigurationCache();
+
+        ComponentFan.ChannelConfiguration config = cache.get(topic, json, gson,
+                ComponentFan.ChannelConfiguration.class);
+        assertThat(cache.get(topic, json, gson, ComponentFan.ChannelConfiguration.class), is(sameInstance(config)));
+        assertThat(cache.get(topic, json + " ", gson, ComponentFan.ChannelConfiguration.class),
+                is(not(sameInstance(config))));
+    }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationCache;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ThingUID;
+
+/**
+ * Tests that the {@link HomeAssistantDiscovery} only skips configurations that are unchanged since their result was
+ * published.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class HomeAssistantDiscoveryTests {
+    private static final String TOPIC = "homeassistant/switch/node/object/config";
+    private static final String CONFIG = "{\"name\":\"Switch\",\"command_topic\":\"node/object/set\"}";
+
+    private final ThingUID firstBroker = new ThingUID("mqtt:broker:first");
+    private final ThingUID secondBroker = new ThingUID("mqtt:broker:second");
+    private final MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+    private final HomeAssistantDiscovery discovery = new HomeAssistantDiscovery();
+
+    @BeforeEach
+    public void setUp() {
+        MqttChannelTypeProvider typeProvider = mock(MqttChannelTypeProvider.class);
+        when(typeProvider.getThingTypeUIDs()).thenReturn(Collections.emptySet());
+        discovery.setTypeProvider(typeProvider);
+        discovery.setChannelConfigurationCache(new ChannelConfigurationCache());
+    }
+
+    /**
+     * Receive a configuration and return whether a result was created for it
+     */
+    private boolean receive(ThingUID broker, String config) {
+        discovery.results.clear();
+        discovery.receivedMessage(broker, connection, TOPIC, config.getBytes(StandardCharsets.UTF_8));
+        return !discovery.results.isEmpty();
+    }
+
+    @Test
+    public void unchangedConfigurationIsSkipped() {
+        assertThat(receive(firstBroker, CONFIG), is(true));
+        assertThat(receive(firstBroker, CONFIG), is(false));
+        assertThat(receive(firstBroker, CONFIG.replace("Switch", "Lamp")), is(true));
+    }
+
+    @Test
+    public void configurationsAreKeptPerBrokerConnection() {
+        assertThat(receive(firstBroker, CONFIG), is(true));
+        assertThat(receive(secondBroker, CONFIG), is(true));
+        assertThat(receive(secondBroker, CONFIG), is(false));
+    }
+
+    @Test
+    public void removedResultsArePublishedAgain() {
+        assertThat(receive(firstBroker, CONFIG), is(true));
+        assertThat(receive(secondBroker, CONFIG), is(true));
+
+        discovery.removeOlderResults(System.currentTimeMillis(), null, firstBroker);
+
+        assertThat(receive(firstBroker, CONFIG), is(true));
+        assertThat(receive(secondBroker, CONFIG), is(false));
+    }
+
+    @Test
+    public void vanishedConfigurationIsPublishedAgain() {
+        assertThat(receive(firstBroker, CONFIG), is(true));
+
+        discovery.topicVanished(firstBroker, connection, TOPIC);
+
+        assertThat(receive(firstBroker, CONFIG), is(true));
+    }
+}
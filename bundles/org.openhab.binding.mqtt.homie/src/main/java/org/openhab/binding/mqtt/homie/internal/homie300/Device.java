@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.generic.tools.TopicTreeDispatcher;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
@@ -48,10 +49,13 @@ import org.slf4j.LoggerFactory;
  * </pre>
  *
  * @author David Graeff - Initial contribution
+ * @author Hilbrand Bouwkamp - Bootstrap from the device topic tree
  */
 @NonNullByDefault
 public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private final Logger logger = LoggerFactory.getLogger(Device.class);
+    // Optional attributes are usually received within this time after the mandatory ones
+    private static final int TREE_QUIET_PERIOD_MS = 100;
     // The device attributes, statistics and nodes of this device
     public final DeviceAttributes attributes;
     public final ChildMap<Node> nodes;
@@ -64,6 +68,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private String topic = "";
     public String deviceID = "";
     private boolean initialized = false;
+    private @Nullable TopicTreeDispatcher dispatcher;
 
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
@@ -122,6 +127,84 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
                 });
     }
 
+    /**
+     * Like {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}, but subscribes only once to the
+     * entire device topic tree ("homie/device/#") instead of subscribing to each attribute topic of the device, nodes
+     * and properties. The retained attribute values are dispatched to the attribute objects from that single
+     * subscription. Attributes that have not been received by the time the $state/$nodes/$properties tree is
+     * complete do not exist and are not waited for. After that, the attributes are subscribed one by one and the device
+     * topic tree is unsubscribed again, so the values of the properties are not received twice.
+     *
+     * If the device tree subscription fails, the attributes are subscribed to one by one.
+     *
+     * @param connection A broker connection
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds
+     * @return A future that is complete as soon as all attributes, nodes and properties have been received.
+     */
+    public CompletableFuture<@Nullable Void> bootstrap(MqttBrokerConnection connection,
+            ScheduledExecutorService scheduler, int timeout) {
+        if (topic.isEmpty()) {
+            throw new IllegalStateException("You must call initialize()!");
+        }
+
+        final TopicTreeDispatcher dispatcher = new TopicTreeDispatcher(topic, Device::isAttributeTopic,
+                this::findMissingTopic, scheduler, Math.min(TREE_QUIET_PERIOD_MS, timeout));
+        this.dispatcher = dispatcher;
+        attributes.setDispatcher(dispatcher);
+        return dispatcher.start(connection).handle((success, e) -> {
+            if (e != null || !success) {
+                logger.debug("Could not subscribe to the topic tree of device {}, subscribing to each attribute",
+                        deviceID, e);
+                this.dispatcher = null;
+                attributes.setDispatcher(null);
+            }
+            return null;
+        }).thenCompose(b -> subscribe(connection, scheduler, timeout));
+    }
+
+    private static boolean isAttributeTopic(String topic) {
+        return topic.startsWith("$", topic.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Return the first missing mandatory attribute topic of the device and of all announced nodes and properties, or
+     * null if all of them are known.
+     */
+    private @Nullable String findMissingTopic(TopicTreeDispatcher dispatcher) {
+        String missingTopic = findMissingValue(dispatcher, topic, "$homie", "$name", "$state", "$nodes");
+        final String nodes = dispatcher.getValue(topic + "/$nodes");
+        if (missingTopic != null || nodes == null) {
+            return missingTopic;
+        }
+        for (String nodeID : nodes.split(",")) {
+            final String nodeTopic = topic + "/" + nodeID;
+            missingTopic = findMissingValue(dispatcher, nodeTopic, "$name", "$properties");
+            final String properties = dispatcher.getValue(nodeTopic + "/$properties");
+            if (missingTopic != null || properties == null) {
+                return missingTopic;
+            }
+            for (String propertyID : properties.split(",")) {
+                missingTopic = findMissingValue(dispatcher, nodeTopic + "/" + propertyID, "$name", "$datatype");
+                if (missingTopic != null) {
+                    return missingTopic;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable String findMissingValue(TopicTreeDispatcher dispatcher, String baseTopic,
+            String... attributes) {
+        for (String attribute : attributes) {
+            final String attributeTopic = baseTopic + "/" + attribute;
+            if (dispatcher.getValue(attributeTopic) == null) {
+                return attributeTopic;
+            }
+        }
+        return null;
+    }
+
     public CompletableFuture<@Nullable Void> attributesReceived(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
         callback.readyStateChanged(attributes.state);
@@ -174,8 +257,15 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * Unsubscribe from everything.
      */
     public CompletableFuture<@Nullable Void> stop() {
-        return attributes.unsubscribe().thenCompose(
+        final CompletableFuture<@Nullable Void> future = attributes.unsubscribe().thenCompose(
                 b -> CompletableFuture.allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)));
+        final TopicTreeDispatcher dispatcher = this.dispatcher;
+        if (dispatcher == null) {
+            return future;
+        }
+        this.dispatcher = null;
+        attributes.setDispatcher(null);
+        return CompletableFuture.allOf(future.thenCompose(b -> dispatcher.stop()));
     }
 
     /**
@@ -275,8 +365,10 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
     CompletableFuture<@Nullable Void> applyNodes(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
-        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, scheduler, timeout), this::createNode,
-                this::notifyNodeRemoved).exceptionally(e -> {
+        return nodes.apply(attributes.nodes, node -> {
+            node.attributes.setDispatcher(dispatcher);
+            return node.subscribe(connection, scheduler, timeout);
+        }, this::createNode, this::notifyNodeRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
                 });
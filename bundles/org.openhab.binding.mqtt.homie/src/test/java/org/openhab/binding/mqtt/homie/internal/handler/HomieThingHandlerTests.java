@@ -46,6 +46,7 @@ import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.mapping.SubscribeFieldToMQTTtopic;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
 import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
+import org.openhab.binding.mqtt.generic.tools.TopicTreeDispatcher;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
 import org.openhab.binding.mqtt.homie.ChannelStateHelper;
@@ -284,7 +285,10 @@ public class HomieThingHandlerTests {
         final boolean mandatory = (boolean) invocation.getArguments()[3];
         final SubscribeFieldToMQTTtopic s = spy(
                 new SubscribeFieldToMQTTtopic(scheduler, field, attributes, topic, mandatory));
-        doReturn(CompletableFuture.completedFuture(true)).when(s).subscribeAndReceive(any(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(s).subscribeAndReceive(any(MqttBrokerConnection.class),
+                anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(s).subscribeAndReceive(any(TopicTreeDispatcher.class),
+                anyInt());
         return s;
     }
 
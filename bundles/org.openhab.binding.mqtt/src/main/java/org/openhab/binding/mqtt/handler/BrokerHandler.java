@@ -22,6 +22,7 @@ import javax.net.ssl.TrustManager;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.internal.AggregatingMqttBrokerConnection;
 import org.openhab.binding.mqtt.internal.ssl.Pin;
 import org.openhab.binding.mqtt.internal.ssl.PinMessageDigest;
 import org.openhab.binding.mqtt.internal.ssl.PinTrustManager;
@@ -194,8 +195,10 @@ public class BrokerHandler extends AbstractBrokerHandler implements PinnedCallba
             throw new IllegalArgumentException("Host is empty!");
         }
 
-        final MqttBrokerConnection connection = new MqttBrokerConnection(host, config.port, config.secure,
-                config.clientID);
+        final MqttBrokerConnection connection = config.subscriptionAggregationDepth > 0
+                ? new AggregatingMqttBrokerConnection(host, config.port, config.secure, config.clientID,
+                        config.subscriptionAggregationDepth)
+                : new MqttBrokerConnection(host, config.port, config.secure, config.clientID);
 
         final String username = config.username;
         final String password = config.password;
@@ -36,4 +36,7 @@ public class BrokerHandlerConfig extends MqttBrokerConnectionConfig {
     public String publickey = "";
 
     public boolean enableDiscovery = true;
+
+    // Aggregate subscriptions sharing this number of leading topic levels, 0 disables aggregation
+    public int subscriptionAggregationDepth = 0;
 }
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link MqttBrokerConnection} that aggregates the subscriptions of many topics into a few wildcard subscriptions.
+ *
+ * All topics sharing the same first {@code aggregationDepth} levels are covered by a single subscription
+ * ("prefix/#") on the broker. Received messages are dispatched to the subscribers with a {@link MqttTopicTrie}, so
+ * the dispatch cost does not depend on the number of subscribed topics.
+ *
+ * The broker only sends retained messages in response to a SUBSCRIBE, so it sends the retained messages of all
+ * covered topics once, in response to the aggregated subscription. These messages are kept per aggregated
+ * subscription and later messages of the same topics replace them. A topic that is added to an existing aggregated
+ * subscription receives the kept message of the topic, no further SUBSCRIBE is sent and subscribers that are already
+ * on the aggregated subscription don't receive the message again. The subscriber API does not expose the retain flag
+ * of a message, so the messages received until {@link #RETAINED_WINDOW_NANOS} after the broker acknowledged the
+ * aggregated subscription are considered to be the retained ones. Messages of other topics are never passed to later
+ * subscribers.
+ *
+ * Topics with a wildcard within the aggregated levels, topics with fewer levels and system topics ("$...") are
+ * subscribed as is.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class AggregatingMqttBrokerConnection extends MqttBrokerConnection {
+    static final long RETAINED_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Logger logger = LoggerFactory.getLogger(AggregatingMqttBrokerConnection.class);
+
+    private final int aggregationDepth;
+    private final MqttTopicTrie<MqttMessageSubscriber> subscriptions = new MqttTopicTrie<>();
+    // the aggregates and their state are guarded by this, like the changes of the subscriptions
+    private final Map<String, Aggregate> aggregates = new HashMap<>();
+    private final Dispatcher dispatcher = new Dispatcher();
+
+    private static class Aggregate {
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        // the retained messages received through the aggregated subscription
+        private final Map<String, byte[]> retainedMessages = new HashMap<>();
+        private boolean acknowledged;
+        private long retainedUntilNanos;
+        private int count;
+
+        private void messageReceived(String topic, byte[] payload, long now) {
+            if (payload.length == 0) {
+                // an empty retained message removes the retained message on the broker
+                retainedMessages.remove(topic);
+            } else if (!acknowledged || now - retainedUntilNanos < 0 || retainedMessages.containsKey(topic)) {
+                retainedMessages.put(topic, payload);
+            }
+        }
+
+        private Map<String, byte[]> getRetainedMessages(String filter) {
+            Map<String, byte[]> messages = new HashMap<>();
+            retainedMessages.forEach((topic, payload) -> {
+                if (MqttTopicTrie.matches(filter, topic)) {
+                    messages.put(topic, payload);
+                }
+            });
+            return messages;
+        }
+    }
+
+    /**
+     * Receives the messages of all aggregated subscriptions and dispatches them to the actual subscribers.
+     */
+    private class Dispatcher implements MqttMessageSubscriber {
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            Set<MqttMessageSubscriber> receivers;
+            synchronized (AggregatingMqttBrokerConnection.this) {
+                String filter = aggregatedFilter(topic);
+                Aggregate aggregate = filter == null ? null : aggregates.get(filter);
+                if (aggregate != null) {
+                    aggregate.messageReceived(topic, payload, nanoTime());
+                }
+                receivers = subscriptions.match(topic);
+            }
+            for (MqttMessageSubscriber subscriber : receivers) {
+                deliver(subscriber, topic, payload);
+            }
+        }
+    }
+
+    /**
+     * Create a new connection with the given protocol, host, port, clientID and subscription aggregation.
+     *
+     * @param host A host name or address
+     * @param port A port or null to select the default port for a secure or insecure connection
+     * @param secure A secure connection
+     * @param clientId Client id. Each client on a MQTT server has a unique client id. Sometimes client ids are
+     *            used for access restriction implementations.
+     *            If none is specified, a default is generated. The client id cannot be longer than 65535
+     *            characters.
+     * @param aggregationDepth The number of topic levels that subscriptions are aggregated on
+     */
+    public AggregatingMqttBrokerConnection(String host, @Nullable Integer port, boolean secure,
+            @Nullable String clientId, int aggregationDepth) {
+        super(host, port, secure, clientId);
+        this.aggregationDepth = aggregationDepth;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        String filter = subscriber == dispatcher ? null : aggregatedFilter(topic);
+        if (filter == null) {
+            return subscribeOnBroker(topic, subscriber);
+        }
+        CompletableFuture<Boolean> future;
+        Map<String, byte[]> retainedMessages = Collections.emptyMap();
+        synchronized (this) {
+            Aggregate aggregate = aggregates.get(filter);
+            boolean added = subscriptions.add(topic, subscriber);
+            if (aggregate == null) {
+                aggregate = new Aggregate();
+                aggregates.put(filter, aggregate);
+                // the broker sends the retained messages of all topics in response to the aggregated subscription
+                subscribeAggregate(filter, aggregate);
+            } else if (added) {
+                // only the new subscriber receives the retained messages received so far, later messages are
+                // dispatched to all subscribers
+                retainedMessages = aggregate.getRetainedMessages(topic);
+            }
+            if (added) {
+                aggregate.count++;
+            }
+            future = aggregate.future;
+        }
+        if (retainedMessages.isEmpty()) {
+            return future;
+        }
+        final Map<String, byte[]> messages = retainedMessages;
+        return future.thenApply(success -> {
+            if (success) {
+                logger.trace("Passing {} retained messages to the new subscriber of {}", messages.size(), topic);
+                messages.forEach((retainedTopic, payload) -> deliver(subscriber, retainedTopic, payload));
+            }
+            return success;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        String filter = subscriber == dispatcher ? null : aggregatedFilter(topic);
+        if (filter == null) {
+            return unsubscribeOnBroker(topic, subscriber);
+        }
+        synchronized (this) {
+            Aggregate aggregate = aggregates.get(filter);
+            if (aggregate == null || !subscriptions.remove(topic, subscriber) || --aggregate.count > 0) {
+                return CompletableFuture.completedFuture(true);
+            }
+            aggregates.remove(filter);
+        }
+        return unsubscribeOnBroker(filter, dispatcher);
+    }
+
+    /**
+     * Subscribes the aggregated subscription on the broker. The messages received until the retained window after
+     * the acknowledgement are kept as the retained messages.
+     */
+    private void subscribeAggregate(String filter, Aggregate aggregate) {
+        subscribeOnBroker(filter, dispatcher).whenComplete((success, e) -> {
+            synchronized (this) {
+                aggregate.acknowledged = true;
+                aggregate.retainedUntilNanos = nanoTime() + RETAINED_WINDOW_NANOS;
+            }
+            if (e != null) {
+                aggregate.future.completeExceptionally(e);
+            } else {
+                aggregate.future.complete(success);
+            }
+        });
+    }
+
+    private void deliver(MqttMessageSubscriber subscriber, String topic, byte[] payload) {
+        try {
+            subscriber.processMessage(topic, payload);
+        } catch (RuntimeException e) {
+            logger.warn("Subscriber of topic {} failed to process the message", topic, e);
+        }
+    }
+
+    CompletableFuture<Boolean> subscribeOnBroker(String topic, MqttMessageSubscriber subscriber) {
+        return super.subscribe(topic, subscriber);
+    }
+
+    CompletableFuture<Boolean> unsubscribeOnBroker(String topic, MqttMessageSubscriber subscriber) {
+        return super.unsubscribe(topic, subscriber);
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Returns the aggregated subscription ("prefix/#") that covers the given topic, or null if the topic is
+     * subscribed as is.
+     */
+    private @Nullable String aggregatedFilter(String topic) {
+        if (aggregationDepth <= 0 || topic.startsWith("$")) {
+            return null;
+        }
+        String[] levels = topic.split("/", -1);
+        if (levels.length <= aggregationDepth) {
+            return null;
+        }
+        StringBuilder filter = new StringBuilder();
+        for (int i = 0; i < aggregationDepth; i++) {
+            if (MqttTopicTrie.isFilter(levels[i])) {
+                return null;
+            }
+            filter.append(levels[i]).append('/');
+        }
+        return filter.append('#').toString();
+    }
+}
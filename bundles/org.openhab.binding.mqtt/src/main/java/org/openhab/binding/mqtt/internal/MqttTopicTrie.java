@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A trie of MQTT topic filters. Each filter level is a node, so finding all values whose filter matches a topic
+ * takes time proportional to the depth of the topic instead of the number of stored filters.
+ *
+ * The single level wildcard "+" and the multi level wildcard "#" are supported. Like on a broker, wildcards on the
+ * first level do not match topics starting with "$".
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicTrie<T> {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final Set<T> values = new LinkedHashSet<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Adds a value for the given topic filter.
+     *
+     * @param filter A topic filter, which may contain wildcards
+     * @param value The value
+     * @return Returns false if the value was already stored for this filter
+     */
+    public synchronized boolean add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        if (node.values.add(value)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value of the given topic filter. Nodes that become empty are removed.
+     *
+     * @param filter A topic filter, which may contain wildcards
+     * @param value The value
+     * @return Returns false if the value was not stored for this filter
+     */
+    public synchronized boolean remove(String filter, T value) {
+        if (remove(root, filter.split("/", -1), 0, value)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            return node.values.remove(value);
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns all values of the filters matching the given topic. A value that is stored for several matching
+     * filters is only returned once.
+     *
+     * @param topic A topic without wildcards
+     * @return The matching values
+     */
+    public synchronized Set<T> match(String topic) {
+        if (size == 0) {
+            return Collections.emptySet();
+        }
+        Set<T> result = new LinkedHashSet<>();
+        collect(root, topic.split("/", -1), 0, topic.startsWith("$"), result);
+        return result;
+    }
+
+    private void collect(Node<T> node, String[] levels, int index, boolean system, Set<T> result) {
+        boolean wildcards = !(system && index == 0);
+        if (wildcards) {
+            // "a/#" also matches "a"
+            Node<T> multi = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multi != null) {
+                result.addAll(multi.values);
+            }
+        }
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+        Node<T> exact = node.children.get(levels[index]);
+        if (exact != null) {
+            collect(exact, levels, index + 1, system, result);
+        }
+        if (wildcards) {
+            Node<T> single = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (single != null) {
+                collect(single, levels, index + 1, system, result);
+            }
+        }
+    }
+
+    /**
+     * @return The number of stored filter and value pairs
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether a single topic filter matches a topic, with the same rules as {@link #match(String)}.
+     *
+     * @param filter A topic filter, which may contain wildcards
+     * @param topic A topic without wildcards
+     * @return Returns true if the filter matches
+     */
+    public static boolean matches(String filter, String topic) {
+        MqttTopicTrie<Boolean> trie = new MqttTopicTrie<>();
+        trie.add(filter, Boolean.TRUE);
+        return !trie.match(topic).isEmpty();
+    }
+
+    /**
+     * @return Returns true if the topic contains a wildcard and therefore can only be used as a filter
+     */
+    public static boolean isFilter(@Nullable String topic) {
+        return topic != null && (topic.contains(SINGLE_LEVEL_WILDCARD) || topic.contains(MULTI_LEVEL_WILDCARD));
+    }
+}
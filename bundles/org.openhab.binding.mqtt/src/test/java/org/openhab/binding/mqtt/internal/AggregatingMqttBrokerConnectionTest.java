@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests the {@link AggregatingMqttBrokerConnection} against a simulated broker, which records the subscriptions and
+ * delivers messages to the subscribers of matching topic filters.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class AggregatingMqttBrokerConnectionTest {
+
+    private final List<String> brokerSubscribes = new ArrayList<>();
+    private final List<String> brokerUnsubscribes = new ArrayList<>();
+    private final Map<String, MqttMessageSubscriber> brokerSubscriptions = new HashMap<>();
+    private final Map<String, byte[]> retainedMessages = new HashMap<>();
+    private long now = 0;
+
+    private final AggregatingMqttBrokerConnection connection = new AggregatingMqttBrokerConnection("localhost", null,
+            false, "test", 2) {
+        @Override
+        CompletableFuture<Boolean> subscribeOnBroker(String topic, MqttMessageSubscriber subscriber) {
+            brokerSubscribes.add(topic);
+            brokerSubscriptions.put(topic, subscriber);
+            // the broker sends the retained messages matching a new subscription
+            retainedMessages.forEach((retainedTopic, payload) -> {
+                if (MqttTopicTrie.matches(topic, retainedTopic)) {
+                    deliver(retainedTopic, payload);
+                }
+            });
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        long nanoTime() {
+            return now;
+        }
+
+        @Override
+        CompletableFuture<Boolean> unsubscribeOnBroker(String topic, MqttMessageSubscriber subscriber) {
+            brokerUnsubscribes.add(topic);
+            brokerSubscriptions.remove(topic);
+            return CompletableFuture.completedFuture(true);
+        }
+    };
+
+    /**
+     * Delivers a message to the subscriptions on the broker. Overlapping subscriptions result in a single delivery
+     * per subscription, like a MQTT client library does.
+     */
+    private void deliver(String topic, byte[] payload) {
+        new HashMap<>(brokerSubscriptions).forEach((filter, subscriber) -> {
+            if (MqttTopicTrie.matches(filter, topic)) {
+                subscriber.processMessage(topic, payload);
+            }
+        });
+    }
+
+    @Test
+    public void subscriptionsAreAggregated() {
+        MqttMessageSubscriber first = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber second = mock(MqttMessageSubscriber.class);
+
+        assertTrue(connection.subscribe("homie/device/node/first", first).join());
+        assertTrue(connection.subscribe("homie/device/node/second", second).join());
+        assertTrue(connection.subscribe("homie/other/node/first", first).join());
+
+        // topics joining an aggregated subscription are not subscribed on the broker
+        assertEquals(List.of("homie/device/#", "homie/other/#"), brokerSubscribes);
+        assertEquals(List.of(), brokerUnsubscribes);
+
+        deliver("homie/device/node/first", "1".getBytes());
+        verify(first).processMessage(eq("homie/device/node/first"), any());
+        verify(second, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void aggregatedSubscriptionIsRemovedWithLastTopic() {
+        MqttMessageSubscriber first = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber second = mock(MqttMessageSubscriber.class);
+        connection.subscribe("homie/device/node/first", first);
+        connection.subscribe("homie/device/node/second", second);
+
+        assertTrue(connection.unsubscribe("homie/device/node/first", first).join());
+        assertEquals(List.of(), brokerUnsubscribes);
+        // unknown subscriptions don't change the reference count
+        assertTrue(connection.unsubscribe("homie/device/node/first", first).join());
+        assertTrue(connection.unsubscribe("homie/device/node/other", second).join());
+        assertEquals(List.of(), brokerUnsubscribes);
+
+        deliver("homie/device/node/first", "1".getBytes());
+        verify(first, never()).processMessage(any(), any());
+
+        assertTrue(connection.unsubscribe("homie/device/node/second", second).join());
+        assertEquals(List.of("homie/device/#"), brokerUnsubscribes);
+    }
+
+    @Test
+    public void onlyRetainedMessagesArePassedToLaterSubscribers() {
+        retainedMessages.put("homie/device/node/state", "ON".getBytes());
+        MqttMessageSubscriber first = mock(MqttMessageSubscriber.class);
+        connection.subscribe("homie/device/node/first", first);
+        now += AggregatingMqttBrokerConnection.RETAINED_WINDOW_NANOS;
+
+        // a trigger message that is not retained on the broker
+        deliver("homie/device/node/trigger", "PRESSED".getBytes());
+        // a new value of the retained state message replaces the retained one
+        retainedMessages.put("homie/device/node/state", "OFF".getBytes());
+        deliver("homie/device/node/state", "OFF".getBytes());
+
+        MqttMessageSubscriber trigger = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber state = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber all = mock(MqttMessageSubscriber.class);
+        connection.subscribe("homie/device/node/trigger", trigger);
+        connection.subscribe("homie/device/node/state", state);
+        connection.subscribe("homie/device/+/state", all);
+
+        verify(trigger, never()).processMessage(any(), any());
+        verify(state, times(1)).processMessage(any(), any());
+        verify(state).processMessage(eq("homie/device/node/state"), eq("OFF".getBytes()));
+        verify(all).processMessage(eq("homie/device/node/state"), eq("OFF".getBytes()));
+        assertEquals(List.of("homie/device/#"), brokerSubscribes);
+    }
+
+    @Test
+    public void retainedMessageIsOnlyPassedToNewSubscriber() {
+        retainedMessages.put("homie/device/node/state", "ON".getBytes());
+        MqttMessageSubscriber first = mock(MqttMessageSubscriber.class);
+        connection.subscribe("homie/device/node/state", first);
+        verify(first, times(1)).processMessage(eq("homie/device/node/state"), eq("ON".getBytes()));
+
+        MqttMessageSubscriber second = mock(MqttMessageSubscriber.class);
+        connection.subscribe("homie/device/node/state", second);
+
+        verify(second, times(1)).processMessage(eq("homie/device/node/state"), eq("ON".getBytes()));
+        verify(first, times(1)).processMessage(any(), any());
+    }
+
+    @Test
+    public void removedRetainedMessageIsNotPassedOn() {
+        retainedMessages.put("homie/device/node/state", "ON".getBytes());
+        connection.subscribe("homie/device/node/first", mock(MqttMessageSubscriber.class));
+        now += AggregatingMqttBrokerConnection.RETAINED_WINDOW_NANOS;
+
+        // an empty message removes the retained message on the broker
+        deliver("homie/device/node/state", new byte[0]);
+        MqttMessageSubscriber state = mock(MqttMessageSubscriber.class);
+        connection.subscribe("homie/device/node/state", state);
+
+        verify(state, never()).processMessage(any(), any());
+    }
+
+    @Test
+    public void topicsOutsideOfAggregationAreSubscribedAsIs() {
+        MqttMessageSubscriber subscriber = mock(MqttMessageSubscriber.class);
+
+        connection.subscribe("homie/+/node/prop", subscriber);
+        connection.subscribe("homie/device", subscriber);
+        connection.subscribe("$SYS/broker/uptime/value", subscriber);
+
+        assertEquals(List.of("homie/+/node/prop", "homie/device", "$SYS/broker/uptime/value"), brokerSubscribes);
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link MqttTopicTrie}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class MqttTopicTrieTest {
+
+    @Test
+    public void exactMatch() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        trie.add("homie/device/node/prop", "a");
+        trie.add("homie/device/node/other", "b");
+
+        assertEquals(Set.of("a"), trie.match("homie/device/node/prop"));
+        assertEquals(Set.of(), trie.match("homie/device/node"));
+        assertEquals(Set.of(), trie.match("homie/device/node/prop/set"));
+    }
+
+    @Test
+    public void wildcardMatch() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        trie.add("homie/+/node/prop", "single");
+        trie.add("homie/#", "multi");
+        trie.add("#", "all");
+
+        assertEquals(Set.of("single", "multi", "all"), trie.match("homie/device/node/prop"));
+        assertEquals(Set.of("multi", "all"), trie.match("homie"));
+        assertEquals(Set.of("all"), trie.match("zigbee2mqtt/sensor"));
+        assertEquals(Set.of(), trie.match("$SYS/broker/uptime"));
+    }
+
+    @Test
+    public void valueIsReturnedOnce() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        trie.add("a/b", "x");
+        trie.add("a/+", "x");
+
+        assertEquals(Set.of("x"), trie.match("a/b"));
+    }
+
+    @Test
+    public void removeValues() {
+        MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+        assertTrue(trie.add("a/b", "x"));
+        assertFalse(trie.add("a/b", "x"));
+        assertTrue(trie.add("a/b", "y"));
+        assertEquals(2, trie.size());
+
+        assertTrue(trie.remove("a/b", "x"));
+        assertFalse(trie.remove("a/b", "x"));
+        assertFalse(trie.remove("a/c", "y"));
+        assertEquals(Set.of("y"), trie.match("a/b"));
+
+        assertTrue(trie.remove("a/b", "y"));
+        assertEquals(0, trie.size());
+        assertEquals(Set.of(), trie.match("a/b"));
+    }
+
+    @Test
+    public void singleFilterMatches() {
+        assertTrue(MqttTopicTrie.matches("a/+/c", "a/b/c"));
+        assertTrue(MqttTopicTrie.matches("a/#", "a/b/c"));
+        assertFalse(MqttTopicTrie.matches("a/+", "a/b/c"));
+        assertTrue(MqttTopicTrie.isFilter("a/+"));
+        assertFalse(MqttTopicTrie.isFilter("a/b"));
+    }
+}
@@ -17,12 +17,18 @@ import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -36,6 +42,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
 import org.openhab.core.cache.ExpiringCache;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +52,7 @@ import org.slf4j.LoggerFactory;
  * @author Marc Mettke - Initial contribution
  * @author David Gräff, 2017 - Rewritten
  * @author Jan N. Klug - refactored host name resolution
+ * @author Hilbrand Bouwkamp - Shared executor for the presence checks
  */
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
@@ -52,6 +60,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public static final double NOT_REACHABLE = -1;
     public static final int DESTINATION_TTL = 300 * 1000; // in ms, 300 s
 
+    // Shared by the presence detections of all things. Only the ICMP and ARP pings block a thread, TCP connection
+    // attempts are multiplexed on the selector thread of NetworkUtils.
+    private static final int DETECTION_THREADS = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService DETECTION_EXECUTOR = createDetectionExecutor();
+
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
@@ -79,11 +92,36 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable CountDownLatch detectionLatch;
+    private final List<DetectionJob> detectionJobs = new ArrayList<>();
     private String dhcpState = "off";
-    Integer currentCheck = 0;
     int detectionChecks;
 
+    /**
+     * A check of a presence detection, queued in the shared executor. Checks that did not start yet are given their
+     * full timeout once they run.
+     */
+    private static class DetectionJob extends FutureTask<@Nullable Void> {
+        private volatile boolean started;
+
+        DetectionJob(Runnable check) {
+            super(check, null);
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            super.run();
+        }
+    }
+
+    private static ExecutorService createDetectionExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DETECTION_THREADS, DETECTION_THREADS, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("network-presence", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
             throws IllegalArgumentException {
         this.updateListener = updateListener;
@@ -279,14 +317,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+    /**
+     * Return the executor shared by the presence detections of all things. Its threads time out when idle.
+     */
+    public ExecutorService getExecutorService() {
+        return DETECTION_EXECUTOR;
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The ICMP and ARP pings run on the executor shared by all
+     * presence detections, the TCP connection attempts are performed with non-blocking connects.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,7 +341,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detectionLatch != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -313,7 +354,6 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         Set<String> interfaceNames = null;
 
-        currentCheck = 0;
         detectionChecks = tcpPorts.size();
         if (pingMethod != null) {
             detectionChecks += 1;
@@ -327,46 +367,45 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        final ExecutorService executorService = getExecutorService();
+        final CountDownLatch latch = new CountDownLatch(detectionChecks);
+        detectionLatch = latch;
 
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
+        // TCP connection attempts do not block a thread, a single job starts all of them
+        if (!tcpPorts.isEmpty()) {
+            execute(executorService, () -> {
+                for (Integer tcpPort : tcpPorts) {
+                    performServicePing(tcpPort).whenComplete((result, e) -> checkIfFinished(latch));
+                }
             });
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use single job for Windows tool and
+        // each own job for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+            execute(executorService, () -> {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
                 performARPping("");
-                checkIfFinished();
+                checkIfFinished(latch);
             });
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
+                execute(executorService, () -> {
                     performARPping(interfaceName);
-                    checkIfFinished();
+                    checkIfFinished(latch);
                 });
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            execute(executorService, () -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
-                checkIfFinished();
+                checkIfFinished(latch);
             });
         }
 
@@ -377,21 +416,37 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    private synchronized void execute(ExecutorService executorService, Runnable check) {
+        DetectionJob job = new DetectionJob(check);
+        detectionJobs.add(job);
+        executorService.execute(job);
+    }
+
+    /**
+     * Cancels the checks of the current presence detection that are still queued or running.
+     */
+    private synchronized void cancelDetectionJobs() {
+        detectionJobs.forEach(job -> job.cancel(true));
+        detectionJobs.clear();
+    }
+
+    private synchronized boolean hasQueuedDetectionJobs() {
+        return detectionJobs.stream().anyMatch(job -> !job.started && !job.isDone());
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and all remaining checks are
+     * cancelled.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        if (detectionLatch == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detectionLatch = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -412,17 +467,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             destination.invalidateValue();
         }
         updateListener.finalDetectionResult(v);
+
+        // Cancel the remaining checks last, the calling check may be one of them
+        cancelDetectionJobs();
     }
 
     /**
-     * This method is called after each individual check and increases a check counter.
-     * If the counter equals the total checks,the final result is submitted. This will
+     * This method is called after each individual check and counts down the checks of the
+     * detection process. If all checks are done, the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param latch The latch of the detection process the check belongs to
      */
-    private synchronized void checkIfFinished() {
-        currentCheck += 1;
-        if (currentCheck < detectionChecks) {
+    private synchronized void checkIfFinished(CountDownLatch latch) {
+        if (latch != detectionLatch) {
+            // The check belongs to a detection process that is already finished
+            return;
+        }
+        latch.countDown();
+        if (latch.getCount() > 0) {
             return;
         }
         submitFinalResult();
@@ -433,18 +497,24 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch latch = detectionLatch;
+        if (latch == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            // Wait longer while checks are still queued in the shared executor, they did not have their chance yet.
+            while (!latch.await(timeoutInMS + 100, TimeUnit.MILLISECONDS) && hasQueuedDetectionJobs()) {
+                logger.trace("Presence detection for {} is waiting for a free thread", hostname);
+            }
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                detectionLatch = null;
+                detectionChecks = 0;
+                cancelDetectionJobs();
+            }
         }
     }
 
@@ -473,24 +543,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Starts a TCP connection attempt to the given port. The result is handled on the thread that completes
+     * the connection attempt.
+     *
+     * @param tcpPort The TCP port
+     * @return A future that is completed when the connection attempt is done.
+     */
+    protected CompletableFuture<@Nullable Void> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
-                    }
-                });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return networkUtils.servicePingAsync(destinationAddress, tcpPort, timeoutInMS).handle((o, e) -> {
+            if (e != null) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            } else if (o.isSuccess()) {
+                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
+                        getLatency(o, preferResponseTimeAsLatency));
+                v.addReachableTcpService(tcpPort);
+                updateListener.partialDetectionResult(v);
+            }
+            return null;
+        });
     }
 
     /**
@@ -14,11 +14,14 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -49,14 +52,18 @@ import org.slf4j.LoggerFactory;
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * A device with a reachable TCP service is only reported as a service device if it does not answer pings.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
+ * @author Hilbrand Bouwkamp - Sweep the TCP services with non-blocking connects
  */
 @NonNullByDefault
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
+    // The sweep adapts its timeout between its minimum and this maximum
+    static final int SWEEP_TIMEOUT_IN_MS = 2000;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
@@ -68,6 +75,12 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
     private AtomicInteger scannedIPcount = new AtomicInteger(0);
     private @Nullable ExecutorService executorService = null;
+    private @Nullable TcpServiceSweep tcpServiceSweep = null;
+
+    // The services found by the sweep are held back until the pings of their IP are done, guarded by itself
+    private final Map<String, List<Integer>> pendingServices = new HashMap<>();
+    private final Set<String> pingReachableIPs = new HashSet<>();
+    private final Set<String> pingFailedIPs = new HashSet<>();
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -107,6 +120,10 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     public void partialDetectionResult(PresenceDetectionValue value) {
         final String ip = value.getHostAddress();
         if (value.isPingReachable()) {
+            synchronized (pendingServices) {
+                pingReachableIPs.add(ip);
+                pendingServices.remove(ip);
+            }
             newPingDevice(ip);
         } else if (value.isTCPServiceReachable()) {
             List<Integer> tcpServices = value.getReachableTCPports();
@@ -118,6 +135,38 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
 
     @Override
     public void finalDetectionResult(PresenceDetectionValue value) {
+        final String ip = value.getHostAddress();
+        final List<Integer> ports;
+        synchronized (pendingServices) {
+            if (value.isPingReachable() || pingReachableIPs.contains(ip)) {
+                return;
+            }
+            pingFailedIPs.add(ip);
+            ports = pendingServices.remove(ip);
+        }
+        if (ports != null) {
+            ports.forEach(port -> newServiceDevice(ip, port));
+        }
+    }
+
+    /**
+     * Called by the TCP service sweep for each reachable service. The service is reported once the pings of the
+     * device have failed, a device that answers pings is reported as a ping device only.
+     *
+     * @param ip The device IP
+     * @param tcpPort The TCP port
+     */
+    void serviceFound(String ip, int tcpPort) {
+        synchronized (pendingServices) {
+            if (pingReachableIPs.contains(ip)) {
+                return;
+            }
+            if (!pingFailedIPs.contains(ip)) {
+                pendingServices.computeIfAbsent(ip, k -> new ArrayList<>()).add(tcpPort);
+                return;
+            }
+        }
+        newServiceDevice(ip, tcpPort);
     }
 
     /**
@@ -137,6 +186,31 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
         scannedIPcount.set(0);
+        synchronized (pendingServices) {
+            pendingServices.clear();
+            pingReachableIPs.clear();
+            pingFailedIPs.clear();
+        }
+
+        // TCP services are swept with non-blocking connects, reachable services are reported once the pings are done
+        final TcpServiceSweep sweep = createTcpServiceSweep();
+        synchronized (this) {
+            tcpServiceSweep = sweep;
+        }
+        final CompletableFuture<@Nullable Void> sweepDone = sweep.start(networkIPs, tcpServicePorts);
+        final CompletableFuture<@Nullable Void> pingsDone = new CompletableFuture<>();
+        CompletableFuture.allOf(sweepDone, pingsDone).thenRunAsync(() -> {
+            synchronized (this) {
+                // Only stop the scan this sweep belongs to
+                if (tcpServiceSweep == sweep) {
+                    logger.trace("Scan of {} IPs successful", scannedIPcount);
+                    stopScan();
+                }
+            }
+        }, scheduler);
+        if (networkIPs.isEmpty()) {
+            pingsDone.complete(null);
+        }
 
         for (String ip : networkIPs) {
             final PresenceDetection s = new PresenceDetection(this, 2000);
@@ -147,24 +221,33 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
+            // TCP devices are found by the sweep
+            s.setServicePorts(Collections.emptySet());
 
             service.execute(() -> {
                 Thread.currentThread().setName("Discovery thread " + ip);
                 s.performPresenceDetection(true);
                 int count = scannedIPcount.incrementAndGet();
                 if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
+                    pingsDone.complete(null);
                 }
             });
         }
     }
 
+    TcpServiceSweep createTcpServiceSweep() {
+        return new TcpServiceSweep(networkUtils, configuration.discoveryConcurrency, SWEEP_TIMEOUT_IN_MS,
+                (ip, port) -> scheduler.execute(() -> serviceFound(ip, port)));
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final TcpServiceSweep sweep = tcpServiceSweep;
+        if (sweep != null) {
+            sweep.cancel();
+            tcpServiceSweep = null;
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
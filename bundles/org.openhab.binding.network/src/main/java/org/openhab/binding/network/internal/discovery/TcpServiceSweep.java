@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpServiceSweep} tries a set of TCP ports on many hosts. The connection attempts are non-blocking
+ * and share the selector thread of {@link NetworkUtils#servicePingAsync}, at most a configured number of attempts
+ * is in flight at the same time.
+ *
+ * The timeout adapts to the network: It is derived from the round trip times of the successful connection attempts
+ * like the TCP retransmission timeout (RFC 6298). Like the retransmission timeout it never drops below one second, so
+ * slow hosts are not missed after a few fast answers, and it never exceeds the given maximum.
+ *
+ * Reachable services are reported as soon as they are found, on the thread that completes the connection attempt.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class TcpServiceSweep {
+    static final int MINIMUM_TIMEOUT_IN_MS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(TcpServiceSweep.class);
+
+    private final NetworkUtils networkUtils;
+    private final int concurrency;
+    private final int maximumTimeoutInMS;
+    private final BiConsumer<String, Integer> serviceFoundCallback;
+    private final CompletableFuture<@Nullable Void> done = new CompletableFuture<>();
+
+    // All fields below are guarded by this
+    private @Nullable Iterator<Service> services;
+    private boolean filling;
+    private boolean cancelled;
+    private int inFlight;
+    private int probeCount;
+    private int foundCount;
+    private long startTimeInMS;
+    private double smoothedRttInMS = -1;
+    private double rttVariationInMS;
+
+    private static class Service {
+        final String ip;
+        final int port;
+
+        Service(String ip, int port) {
+            this.ip = ip;
+            this.port = port;
+        }
+    }
+
+    /**
+     * @param networkUtils Performs the connection attempts
+     * @param concurrency The maximum number of connection attempts in flight
+     * @param maximumTimeoutInMS The timeout until a round trip time is known and the upper bound of the timeout
+     * @param serviceFoundCallback Called with the IP and port of each reachable service
+     */
+    public TcpServiceSweep(NetworkUtils networkUtils, int concurrency, int maximumTimeoutInMS,
+            BiConsumer<String, Integer> serviceFoundCallback) {
+        this.networkUtils = networkUtils;
+        this.concurrency = Math.max(1, concurrency);
+        this.maximumTimeoutInMS = maximumTimeoutInMS;
+        this.serviceFoundCallback = serviceFoundCallback;
+    }
+
+    /**
+     * Starts the sweep. Can only be called once.
+     *
+     * @param ips The IP addresses to sweep
+     * @param ports The TCP ports to try on each IP address
+     * @return A future that is completed when all connection attempts are done or the sweep is cancelled.
+     */
+    public CompletableFuture<@Nullable Void> start(Collection<String> ips, Collection<Integer> ports) {
+        List<Service> list = new ArrayList<>(ips.size() * ports.size());
+        for (String ip : ips) {
+            for (Integer port : ports) {
+                list.add(new Service(ip, port));
+            }
+        }
+        synchronized (this) {
+            if (services != null) {
+                throw new IllegalStateException("The sweep has already been started");
+            }
+            services = list.iterator();
+            startTimeInMS = System.currentTimeMillis();
+        }
+        logger.debug("Sweeping {} TCP ports on {} hosts, {} connection attempts in flight", ports.size(), ips.size(),
+                concurrency);
+        fill();
+        return done;
+    }
+
+    /**
+     * Stops starting new connection attempts. Attempts in flight end with their timeout.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (inFlight == 0) {
+            finished();
+        }
+    }
+
+    public synchronized int getProbeCount() {
+        return probeCount;
+    }
+
+    public synchronized int getFoundCount() {
+        return foundCount;
+    }
+
+    /**
+     * Returns the timeout for new connection attempts in milliseconds.
+     */
+    public synchronized int getTimeoutInMS() {
+        if (smoothedRttInMS < 0) {
+            return maximumTimeoutInMS;
+        }
+        int timeout = (int) Math.ceil(smoothedRttInMS + 4 * rttVariationInMS);
+        return Math.min(maximumTimeoutInMS, Math.max(MINIMUM_TIMEOUT_IN_MS, timeout));
+    }
+
+    /**
+     * Starts connection attempts until the maximum number is in flight. Only one thread starts attempts at a
+     * time, a connection attempt that completes immediately must not start the next one recursively.
+     */
+    private void fill() {
+        synchronized (this) {
+            if (filling) {
+                return;
+            }
+            filling = true;
+        }
+        while (true) {
+            Service service;
+            int timeout;
+            synchronized (this) {
+                Iterator<Service> services = this.services;
+                if (cancelled || services == null || !services.hasNext() || inFlight >= concurrency) {
+                    filling = false;
+                    if (inFlight == 0 && (cancelled || services == null || !services.hasNext())) {
+                        finished();
+                    }
+                    return;
+                }
+                service = services.next();
+                timeout = getTimeoutInMS();
+                inFlight++;
+                probeCount++;
+            }
+            try {
+                InetAddress address = InetAddress.getByName(service.ip);
+                networkUtils.servicePingAsync(address, service.port, timeout)
+                        .whenComplete((result, e) -> completed(service, result));
+            } catch (UnknownHostException e) {
+                completed(service, null);
+            }
+        }
+    }
+
+    private void completed(Service service, @Nullable PingResult result) {
+        boolean success = false;
+        synchronized (this) {
+            inFlight--;
+            if (result != null && result.isSuccess()) {
+                success = true;
+                foundCount++;
+                updateRoundTripTime(result.getExecutionTimeInMS());
+            }
+        }
+        if (success) {
+            serviceFoundCallback.accept(service.ip, service.port);
+        }
+        fill();
+    }
+
+    private void updateRoundTripTime(double rttInMS) {
+        if (smoothedRttInMS < 0) {
+            smoothedRttInMS = rttInMS;
+            rttVariationInMS = rttInMS / 2;
+        } else {
+            rttVariationInMS = 0.75 * rttVariationInMS + 0.25 * Math.abs(smoothedRttInMS - rttInMS);
+            smoothedRttInMS = 0.875 * smoothedRttInMS + 0.125 * rttInMS;
+        }
+    }
+
+    private void finished() {
+        if (!done.isDone()) {
+            logger.debug("Swept {} TCP services in {} ms, found {}, last timeout {} ms", probeCount,
+                    System.currentTimeMillis() - startTimeInMS, foundCount, getTimeoutInMS());
+            done.complete(null);
+        }
+    }
+}
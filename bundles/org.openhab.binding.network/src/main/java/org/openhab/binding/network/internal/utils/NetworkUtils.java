@@ -34,6 +34,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -56,6 +57,8 @@ import org.slf4j.LoggerFactory;
 public class NetworkUtils {
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
+    private static final TcpConnectProber TCP_CONNECT_PROBER = new TcpConnectProber();
+
     private LatencyParser latencyParser = new LatencyParser();
 
     /**
@@ -169,6 +172,19 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Try to establish a tcp connection to the given port without blocking the calling thread. The connection attempts
+     * of all callers are multiplexed on one selector thread, which also completes the returned future.
+     *
+     * @param address The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeout Timeout in ms
+     * @return Ping result information. The ping is not successful if a timeout occurred or the connection was denied.
+     */
+    public CompletableFuture<PingResult> servicePingAsync(InetAddress address, int port, int timeout) {
+        return TCP_CONNECT_PROBER.probe(new InetSocketAddress(address, port), timeout);
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
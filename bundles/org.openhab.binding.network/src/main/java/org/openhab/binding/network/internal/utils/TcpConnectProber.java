@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP connection attempts with non-blocking connects on a single selector. All pending attempts share one
+ * thread, which is started with the first attempt and ends as soon as there are no pending attempts anymore.
+ *
+ * The returned futures are completed on the selector thread, so dependent actions must not block.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProber {
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectProber.class);
+
+    private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+    private int pendingProbes;
+
+    private static class Probe {
+        final InetSocketAddress address;
+        final long startInMS = System.currentTimeMillis();
+        final long deadline;
+        final CompletableFuture<PingResult> result = new CompletableFuture<>();
+
+        Probe(InetSocketAddress address, int timeoutInMS) {
+            this.address = address;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+
+        void complete(boolean success) {
+            result.complete(new PingResult(success, System.currentTimeMillis() - startInMS));
+        }
+    }
+
+    /**
+     * Try to establish a tcp connection to the given address. The connection is closed as soon as it is established.
+     *
+     * @param address The resolved address and port
+     * @param timeoutInMS Timeout in milliseconds
+     * @return A future with the ping result. It is not successful if a timeout occurred or the connection was denied.
+     */
+    public CompletableFuture<PingResult> probe(InetSocketAddress address, int timeoutInMS) {
+        Probe probe = new Probe(address, timeoutInMS);
+        synchronized (this) {
+            newProbes.add(probe);
+            Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+            } else {
+                try {
+                    final Selector newSelector = Selector.open();
+                    this.selector = newSelector;
+                    Thread thread = new Thread(() -> run(newSelector), "OH-binding-network-tcpprobe");
+                    thread.setDaemon(true);
+                    thread.start();
+                } catch (IOException e) {
+                    newProbes.remove(probe);
+                    probe.result.completeExceptionally(e);
+                }
+            }
+        }
+        return probe.result;
+    }
+
+    private void run(Selector selector) {
+        try {
+            while (true) {
+                Probe probe;
+                while ((probe = newProbes.poll()) != null) {
+                    register(selector, probe);
+                }
+
+                long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+                for (SelectionKey key : selector.keys()) {
+                    Probe pending = (Probe) key.attachment();
+                    if (!key.isValid() || pending == null || pending.result.isDone()) {
+                        continue;
+                    }
+                    if (now - pending.deadline >= 0) {
+                        finish(key, pending, false);
+                    } else {
+                        nextDeadline = Math.min(nextDeadline, pending.deadline);
+                    }
+                }
+
+                synchronized (this) {
+                    if (pendingProbes == 0 && newProbes.isEmpty()) {
+                        this.selector = null;
+                        selector.close();
+                        return;
+                    }
+                }
+
+                long waitInMS = nextDeadline == Long.MAX_VALUE ? 0
+                        : Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline - now));
+                selector.select(waitInMS);
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    Probe connecting = (Probe) key.attachment();
+                    try {
+                        if (((SocketChannel) key.channel()).finishConnect()) {
+                            finish(key, connecting, true);
+                        }
+                    } catch (IOException e) {
+                        finish(key, connecting, false);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.warn("TCP connection prober failed: {}", e.getMessage());
+            if (selector.isOpen()) {
+                selector.keys().forEach(key -> finish(key, (Probe) key.attachment(), false));
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                }
+            }
+            synchronized (this) {
+                this.selector = null;
+                pendingProbes = 0;
+                Probe probe;
+                while ((probe = newProbes.poll()) != null) {
+                    probe.complete(false);
+                }
+            }
+        }
+    }
+
+    private void register(Selector selector, Probe probe) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(probe.address)) {
+                channel.close();
+                probe.complete(true);
+                return;
+            }
+            channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            synchronized (this) {
+                pendingProbes++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unresolved addresses, unreachable networks and the like
+            logger.trace("Could not connect to {}: {}", probe.address, e.getMessage());
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            probe.complete(false);
+        }
+    }
+
+    private void finish(SelectionKey key, Probe probe, boolean success) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+        }
+        synchronized (this) {
+            pendingProbes--;
+        }
+        probe.complete(success);
+    }
+}
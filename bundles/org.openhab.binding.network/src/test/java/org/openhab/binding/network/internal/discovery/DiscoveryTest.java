@@ -17,7 +17,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.net.ServerSocket;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -88,4 +91,60 @@ public class DiscoveryTest {
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
     }
+
+    @Test
+    public void sweptServiceIsReportedAfterPingsFailed() {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        d.addDiscoveryListener(listener);
+
+        ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
+
+        // The service is held back until the pings are done
+        d.serviceFound(ip, 1010);
+        verify(listener, never()).thingDiscovered(any(), any());
+
+        when(value.isPingReachable()).thenReturn(false);
+        d.finalDetectionResult(value);
+        verify(listener).thingDiscovered(any(), result.capture());
+        assertThat(result.getValue().getThingUID(), is(NetworkDiscoveryService.createServiceUID(ip, 1010)));
+
+        // Services found later are reported right away
+        d.serviceFound(ip, 1011);
+        verify(listener, times(2)).thingDiscovered(any(), result.capture());
+        assertThat(result.getValue().getThingUID(), is(NetworkDiscoveryService.createServiceUID(ip, 1011)));
+    }
+
+    @Test
+    public void sweptServiceOfPingDeviceIsNotReported() {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        d.addDiscoveryListener(listener);
+
+        ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
+
+        d.serviceFound(ip, 1010);
+        when(value.isPingReachable()).thenReturn(true);
+        d.partialDetectionResult(value);
+        d.finalDetectionResult(value);
+        d.serviceFound(ip, 1011);
+
+        verify(listener).thingDiscovered(any(), result.capture());
+        assertThat(result.getValue().getThingUID(), is(NetworkDiscoveryService.createPingUID(ip)));
+    }
+
+    @Test
+    public void sweepTimeoutAdaptsBetweenMinimumAndMaximum() throws Exception {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        d.addDiscoveryListener(listener);
+
+        // The sweep of a scan starts with its maximum timeout, which must be above the minimum to be able to adapt
+        TcpServiceSweep sweep = d.createTcpServiceSweep();
+        assertThat(sweep.getTimeoutInMS(), is(NetworkDiscoveryService.SWEEP_TIMEOUT_IN_MS));
+
+        // A fast round trip on the loopback interface lowers the timeout to the minimum
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            sweep.start(List.of(ip), List.of(serverSocket.getLocalPort())).get(10, TimeUnit.SECONDS);
+        }
+        assertThat(sweep.getFoundCount(), is(1));
+        assertThat(sweep.getTimeoutInMS(), is(TcpServiceSweep.MINIMUM_TIMEOUT_IN_MS));
+    }
 }
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests cases for {@link TcpServiceSweep}. The loopback sweeps use the addresses of 127.0.0.0/8, which are all
+ * routed to the loopback interface on Linux.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class TcpServiceSweepTest {
+    private static final int MAXIMUM_TIMEOUT_IN_MS = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(TcpServiceSweepTest.class);
+
+    private @Nullable ServerSocket serverSocket;
+    private int openPort;
+    private int closedPort;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        try (ServerSocket closed = new ServerSocket(0)) {
+            closedPort = closed.getLocalPort();
+        }
+        ServerSocket serverSocket = new ServerSocket(0, 1024);
+        this.serverSocket = serverSocket;
+        openPort = serverSocket.getLocalPort();
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    serverSocket.accept().close();
+                }
+            } catch (IOException ignored) {
+                // Closed by the test
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        ServerSocket serverSocket = this.serverSocket;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+    }
+
+    private List<String> loopbackIPs(int prefixLength) {
+        List<String> ips = new ArrayList<>();
+        int hosts = 1 << (32 - prefixLength);
+        for (int i = 1; i < hosts - 1; i++) {
+            ips.add("127.0." + (i >> 8) + "." + (i & 0xFF));
+        }
+        return ips;
+    }
+
+    private void assumeLoopbackNetwork() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getByName("127.0.0.2"), openPort), 1000);
+        } catch (IOException e) {
+            assumeTrue(false, "127.0.0.2 is not a loopback address on this system");
+        }
+    }
+
+    private void sweepLoopback(int prefixLength) throws Exception {
+        assumeLoopbackNetwork();
+        List<String> ips = loopbackIPs(prefixLength);
+        Set<String> found = ConcurrentHashMap.newKeySet();
+
+        TcpServiceSweep sweep = new TcpServiceSweep(new NetworkUtils(), 256, MAXIMUM_TIMEOUT_IN_MS,
+                (ip, port) -> {
+                    assertEquals(openPort, port);
+                    found.add(ip);
+                });
+
+        long start = System.nanoTime();
+        sweep.start(ips, List.of(openPort, closedPort)).get(60, TimeUnit.SECONDS);
+        long durationInMS = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Swept /{} ({} hosts, 2 ports) in {} ms, timeout adapted to {} ms", prefixLength, ips.size(),
+                durationInMS, sweep.getTimeoutInMS());
+
+        assertEquals(2 * ips.size(), sweep.getProbeCount());
+        assertEquals(ips.size(), sweep.getFoundCount());
+        assertEquals(ips.size(), found.size());
+        assertTrue(sweep.getTimeoutInMS() < MAXIMUM_TIMEOUT_IN_MS);
+    }
+
+    @Test
+    public void sweepSlash24() throws Exception {
+        sweepLoopback(24);
+    }
+
+    @Test
+    public void sweepSlash22() throws Exception {
+        sweepLoopback(22);
+    }
+
+    @Test
+    public void concurrencyIsLimited() throws Exception {
+        NetworkUtils networkUtils = mock(NetworkUtils.class);
+        List<CompletableFuture<PingResult>> inFlight = new ArrayList<>();
+        when(networkUtils.servicePingAsync(any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            CompletableFuture<PingResult> future = new CompletableFuture<>();
+            inFlight.add(future);
+            return future;
+        });
+        List<String> found = new ArrayList<>();
+        TcpServiceSweep sweep = new TcpServiceSweep(networkUtils, 4, MAXIMUM_TIMEOUT_IN_MS,
+                (ip, port) -> found.add(ip));
+
+        CompletableFuture<@Nullable Void> done = sweep.start(loopbackIPs(28), List.of(80));
+        assertEquals(4, inFlight.size());
+
+        // Completing an attempt starts the next one, a fast round trip does not lower the timeout below the minimum
+        inFlight.get(0).complete(new PingResult(true, 10));
+        assertEquals(5, inFlight.size());
+        assertEquals(List.of("127.0.0.1"), found);
+        verify(networkUtils).servicePingAsync(any(), eq(80), eq(TcpServiceSweep.MINIMUM_TIMEOUT_IN_MS));
+
+        // A slow round trip raises the timeout above the minimum
+        inFlight.get(1).complete(new PingResult(true, 1500));
+        assertEquals(6, inFlight.size());
+        int timeout = sweep.getTimeoutInMS();
+        assertTrue(timeout > TcpServiceSweep.MINIMUM_TIMEOUT_IN_MS && timeout < MAXIMUM_TIMEOUT_IN_MS);
+        verify(networkUtils).servicePingAsync(any(), eq(80), eq(timeout));
+
+        sweep.cancel();
+        inFlight.forEach(future -> future.complete(new PingResult(false, 10)));
+        assertEquals(6, inFlight.size());
+        assertTrue(done.isDone());
+        assertEquals(2, sweep.getFoundCount());
+    }
+}
@@ -17,8 +17,8 @@ import java.net.URLDecoder;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Matcher;
 
@@ -42,6 +42,7 @@ import org.slf4j.LoggerFactory;
  * Device history request handler.
  *
  * @author Pepijn de Geus - Initial contribution
+ * @author Hilbrand Bouwkamp - Cache downsampled history
  */
 public class DeviceHistoryHandler {
 
@@ -51,6 +52,7 @@ public class DeviceHistoryHandler {
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final HistoryCache historyCache = new HistoryCache();
 
     public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
         this.deviceRegistry = deviceRegistry;
@@ -92,13 +94,23 @@ public class DeviceHistoryHandler {
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
             long end) {
-        logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
+        List<HistoryItem> cachedItems = historyCache.get(persistence.getId(), device.getItemName(), start, end);
+        if (cachedItems != null) {
+            logger.debug("Serving history of Item {}, from {} to {} from cache", device.getItemName(), start, end);
+            return new HistoryList(cachedItems);
+        }
+
+        // Query the whole cached period, so the result can be reused for requests in the same period
+        long queryStart = HistoryCache.bucketStart(start);
+        long queryEnd = HistoryCache.bucketEnd(end);
+        logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), queryStart,
+                queryEnd);
 
         FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName())
-                .setBeginDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneId.systemDefault()))
-                .setEndDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(end), ZoneId.systemDefault()));
+                .setBeginDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(queryStart), ZoneId.systemDefault()))
+                .setEndDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(queryEnd), ZoneId.systemDefault()));
 
-        List<HistoryItem> resultItems = new LinkedList<>();
+        List<HistoryItem> resultItems = new ArrayList<>();
         Iterable<HistoricItem> historicItems = persistence.query(criteria);
 
         Iterator<HistoricItem> iterator = historicItems.iterator();
@@ -120,6 +132,6 @@ public class DeviceHistoryHandler {
             }
         }
 
-        return new HistoryList(resultItems);
+        return new HistoryList(historyCache.put(persistence.getId(), device.getItemName(), start, end, resultItems));
     }
 }
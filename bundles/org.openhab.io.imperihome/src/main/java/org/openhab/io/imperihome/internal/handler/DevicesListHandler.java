@@ -40,7 +40,7 @@ public class DevicesListHandler {
     public DeviceList handle(HttpServletRequest req) {
         DeviceList response = new DeviceList();
 
-        Collection<AbstractDevice> devices = deviceRegistry.getDevices().values();
+        Collection<AbstractDevice> devices = deviceRegistry.getDeviceSnapshot();
         for (AbstractDevice device : devices) {
             device.updateParams();
         }
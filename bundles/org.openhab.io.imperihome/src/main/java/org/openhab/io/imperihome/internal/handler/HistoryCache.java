@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Bounded cache of downsampled history series. Entries are keyed by persistence service, item and the start and end
+ * of the requested period, rounded to {@link #BUCKET_MILLIS}, and expire after {@link #TIME_TO_LIVE_MILLIS}. This
+ * prevents the app, which requests the same graphs repeatedly, from querying the persistence service for every request.
+ * As an entry covers the rounded period, the values returned are trimmed to the requested period.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+class HistoryCache {
+
+    /**
+     * Resolution of the start and end of a cached period.
+     */
+    static final long BUCKET_MILLIS = 60_000;
+
+    /**
+     * Maximum number of values in a cached series. Larger series are downsampled by averaging.
+     */
+    static final int MAX_VALUES = 500;
+
+    private static final long TIME_TO_LIVE_MILLIS = 60_000;
+    private static final int MAX_ENTRIES = 100;
+
+    private final Map<Key, CachedSeries> entries = new LinkedHashMap<Key, CachedSeries>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedSeries> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Rounds the start of a period down to the bucket resolution.
+     */
+    static long bucketStart(long start) {
+        return Math.floorDiv(start, BUCKET_MILLIS) * BUCKET_MILLIS;
+    }
+
+    /**
+     * Rounds the end of a period up to the bucket resolution.
+     */
+    static long bucketEnd(long end) {
+        return -Math.floorDiv(-end, BUCKET_MILLIS) * BUCKET_MILLIS;
+    }
+
+    /**
+     * Returns the cached series within the requested period or null if not cached or expired.
+     */
+    synchronized List<HistoryItem> get(String serviceId, String itemName, long start, long end) {
+        Key key = new Key(serviceId, itemName, bucketStart(start), bucketEnd(end));
+        CachedSeries entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.created > TIME_TO_LIVE_MILLIS) {
+            entries.remove(key);
+            return null;
+        }
+        return trim(entry.values, start, end);
+    }
+
+    /**
+     * Downsamples and stores the series of the rounded period, returning the stored series within the requested
+     * period.
+     */
+    synchronized List<HistoryItem> put(String serviceId, String itemName, long start, long end,
+            List<HistoryItem> values) {
+        List<HistoryItem> downsampled = Collections.unmodifiableList(downsample(values));
+        entries.put(new Key(serviceId, itemName, bucketStart(start), bucketEnd(end)), new CachedSeries(downsampled));
+        return trim(downsampled, start, end);
+    }
+
+    /**
+     * Returns the values of the series within the period from start to end, both inclusive.
+     */
+    static List<HistoryItem> trim(List<HistoryItem> values, long start, long end) {
+        List<HistoryItem> result = new ArrayList<>(values.size());
+        for (HistoryItem value : values) {
+            if (value.getDate() >= start && value.getDate() <= end) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reduces the series to at most {@link #MAX_VALUES} values by averaging consecutive values.
+     */
+    static List<HistoryItem> downsample(List<HistoryItem> values) {
+        int size = values.size();
+        if (size <= MAX_VALUES) {
+            return new ArrayList<>(values);
+        }
+
+        List<HistoryItem> result = new ArrayList<>(MAX_VALUES);
+        List<HistoryItem> source = values instanceof RandomAccess ? values : new ArrayList<>(values);
+        for (int bucket = 0; bucket < MAX_VALUES; bucket++) {
+            int from = (int) ((long) bucket * size / MAX_VALUES);
+            int to = (int) ((long) (bucket + 1) * size / MAX_VALUES);
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int i = from; i < to; i++) {
+                sum = sum.add(toBigDecimal(source.get(i).getValue()));
+            }
+            long date = source.get(from + (to - from) / 2).getDate();
+            result.add(new HistoryItem(date, sum.divide(BigDecimal.valueOf(to - from), MathContext.DECIMAL64)));
+        }
+        return result;
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+
+    private static class Key {
+        private final String serviceId;
+        private final String itemName;
+        private final long start;
+        private final long end;
+
+        private Key(String serviceId, String itemName, long start, long end) {
+            this.serviceId = serviceId;
+            this.itemName = itemName;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return start == key.start && end == key.end && itemName.equals(key.itemName)
+                    && serviceId.equals(key.serviceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serviceId, itemName, start, end);
+        }
+    }
+
+    private static class CachedSeries {
+        private final List<HistoryItem> values;
+        private final long created = System.currentTimeMillis();
+
+        private CachedSeries(List<HistoryItem> values) {
+            this.values = values;
+        }
+    }
+}
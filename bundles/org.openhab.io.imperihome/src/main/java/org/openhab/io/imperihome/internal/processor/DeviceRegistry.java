@@ -12,10 +12,13 @@
  */
 package org.openhab.io.imperihome.internal.processor;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,16 +29,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The device registry stores created devices by ID.
+ * The device registry stores created devices by ID. It also keeps an immutable snapshot of the devices and rooms,
+ * which is only rebuilt on the first request after the registry changed.
  *
  * @author Pepijn de Geus - Initial contribution
+ * @author Hilbrand Bouwkamp - Added device and room snapshot
  */
 public class DeviceRegistry implements Iterable<AbstractDevice> {
 
     private final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
 
     private final Map<String, AbstractDevice> devices;
-    private Set<Room> rooms;
+    private volatile Collection<AbstractDevice> deviceSnapshot = Collections.emptyList();
+    private volatile Collection<Room> roomSnapshot = Collections.emptySet();
+    private volatile boolean snapshotDirty;
 
     public DeviceRegistry() {
         devices = new ConcurrentHashMap<>();
@@ -50,7 +57,19 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
     }
 
     public Collection<Room> getRooms() {
-        return new HashSet<>(rooms);
+        updateSnapshot();
+        return roomSnapshot;
+    }
+
+    /**
+     * Returns an immutable snapshot of all devices. The snapshot is shared between requests until the registry
+     * changes.
+     *
+     * @return Snapshot of the devices.
+     */
+    public Collection<AbstractDevice> getDeviceSnapshot() {
+        updateSnapshot();
+        return deviceSnapshot;
     }
 
     public boolean hasDevices() {
@@ -71,7 +90,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         }
 
         devices.put(device.getId(), device);
-        updateRooms();
+        snapshotDirty = true;
 
         logger.debug("Device {} added, registry now contains {} total", device.getName(), devices.size());
     }
@@ -79,7 +98,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
     public AbstractDevice remove(String deviceId) {
         AbstractDevice removed = devices.remove(deviceId);
         if (removed != null) {
-            updateRooms();
+            snapshotDirty = true;
             logger.debug("Device {} removed, registry now contains {} total", removed.getName(), devices.size());
         }
         return removed;
@@ -95,22 +114,27 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
             device.destroy();
         }
         devices.clear();
-
-        if (rooms != null) {
-            rooms.clear();
-        }
+        snapshotDirty = true;
 
         logger.debug("Device registry cleared");
     }
 
-    private void updateRooms() {
+    private synchronized void updateSnapshot() {
+        if (!snapshotDirty) {
+            return;
+        }
+        snapshotDirty = false;
+
+        List<AbstractDevice> newDevices = new ArrayList<>(devices.values());
         Set<Room> newRooms = new HashSet<>();
-        for (AbstractDevice device : devices.values()) {
+        for (AbstractDevice device : newDevices) {
             Room room = new Room();
             room.setId(device.getRoom());
             room.setName(device.getRoomName());
             newRooms.add(room);
         }
-        rooms = newRooms;
+        deviceSnapshot = Collections.unmodifiableList(newDevices);
+        roomSnapshot = Collections.unmodifiableSet(newRooms);
+        logger.debug("Device snapshot rebuilt with {} devices in {} rooms", newDevices.size(), newRooms.size());
     }
 }
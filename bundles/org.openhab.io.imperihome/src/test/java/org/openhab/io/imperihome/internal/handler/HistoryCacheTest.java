@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Tests cases for {@link HistoryCache}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class HistoryCacheTest {
+
+    private static final String ITEM = "Temperature";
+    private static final long START = 10 * HistoryCache.BUCKET_MILLIS + 15_000;
+    private static final long END = 20 * HistoryCache.BUCKET_MILLIS + 15_000;
+
+    private final HistoryCache cache = new HistoryCache();
+
+    /**
+     * Returns one value every 10 seconds for the rounded period of the request.
+     */
+    private List<HistoryItem> series() {
+        List<HistoryItem> values = new ArrayList<>();
+        for (long date = HistoryCache.bucketStart(START); date <= HistoryCache.bucketEnd(END); date += 10_000) {
+            values.add(new HistoryItem(date, BigDecimal.valueOf(date / 1000)));
+        }
+        return values;
+    }
+
+    private void assertWithin(List<HistoryItem> values, long start, long end) {
+        assertFalse(values.isEmpty());
+        for (HistoryItem value : values) {
+            assertTrue(value.getDate() >= start && value.getDate() <= end, "Value outside of requested period");
+        }
+    }
+
+    @Test
+    public void cachedSeriesIsTrimmedToRequestedPeriod() {
+        List<HistoryItem> stored = cache.put("rrd4j", ITEM, START, END, series());
+        assertWithin(stored, START, END);
+        assertEquals(START + 5_000, stored.get(0).getDate());
+        assertEquals(END - 5_000, stored.get(stored.size() - 1).getDate());
+
+        // a request within the same rounded period is served from the cache, trimmed to its own period
+        List<HistoryItem> cached = cache.get("rrd4j", ITEM, START + 10_000, END - 10_000);
+        assertNotNull(cached);
+        assertWithin(cached, START + 10_000, END - 10_000);
+        assertEquals(stored.size() - 2, cached.size());
+    }
+
+    @Test
+    public void entriesAreKeyedByPersistenceService() {
+        cache.put("rrd4j", ITEM, START, END, series());
+
+        assertNotNull(cache.get("rrd4j", ITEM, START, END));
+        assertNull(cache.get("influxdb", ITEM, START, END));
+        assertNull(cache.get("rrd4j", "Humidity", START, END));
+    }
+
+    @Test
+    public void largeSeriesAreDownsampled() {
+        List<HistoryItem> values = new ArrayList<>();
+        for (int i = 0; i < 2 * HistoryCache.MAX_VALUES; i++) {
+            values.add(new HistoryItem(i, BigDecimal.valueOf(i % 2)));
+        }
+
+        List<HistoryItem> downsampled = HistoryCache.downsample(values);
+        assertEquals(HistoryCache.MAX_VALUES, downsampled.size());
+        assertEquals(0, new BigDecimal("0.5").compareTo((BigDecimal) downsampled.get(0).getValue()));
+    }
+}
@@ -18,7 +18,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -44,6 +47,7 @@ import com.google.gson.JsonParseException;
  * All device definition changes are saved to a JSON file in the user data folder.
  *
  * @author Tim Roberts - Initial Contribution
+ * @author Hilbrand Bouwkamp - Added item name index for bound channel lookups
  */
 @NonNullByDefault
 public class NeeoDeviceDefinitions {
@@ -54,6 +58,12 @@ public class NeeoDeviceDefinitions {
     /** Cross reference between a ThingUID and a NeeoDevice */
     private final ConcurrentHashMap<NeeoThingUID, NeeoDevice> uidToDevice = new ConcurrentHashMap<>();
 
+    /**
+     * Index of the lower cased item name to the exposed device/channels for that item. The index is replaced as a whole
+     * whenever a definition changes so lookups never need to lock
+     */
+    private volatile Map<String, List<Map.Entry<NeeoDevice, NeeoDeviceChannel>>> itemToChannels = Map.of();
+
     /** The gson used to save/restore device definitions */
     private final Gson gson = NeeoUtil.createNeeoDeviceGsonBuilder().create();
 
@@ -106,6 +116,24 @@ public class NeeoDeviceDefinitions {
                 logger.debug("IOException reading {}: {}", file.toPath(), e.getMessage(), e);
             }
         }
+        rebuildIndex();
+    }
+
+    /**
+     * Rebuilds the {@link #itemToChannels} index from the current definitions
+     */
+    private synchronized void rebuildIndex() {
+        final Map<String, List<Map.Entry<NeeoDevice, NeeoDeviceChannel>>> index = new HashMap<>();
+        for (NeeoDevice device : uidToDevice.values()) {
+            for (NeeoDeviceChannel channel : device.getExposedChannels()) {
+                final String itemName = channel.getItemName();
+                if (StringUtils.isNotEmpty(itemName)) {
+                    index.computeIfAbsent(itemName.toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+                            .add(new AbstractMap.SimpleImmutableEntry<>(device, channel));
+                }
+            }
+        }
+        itemToChannels = Collections.unmodifiableMap(index);
     }
 
     /**
@@ -148,6 +176,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        rebuildIndex();
         save();
     }
 
@@ -162,6 +191,7 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            rebuildIndex();
             save();
         }
         return found;
@@ -199,16 +229,11 @@ public class NeeoDeviceDefinitions {
         NeeoUtil.requireNotEmpty(itemName, "itemName must not be empty");
 
         logger.trace("isBound: {} --- {}", itemName, keys);
-        for (NeeoDevice device : uidToDevice.values()) {
-            final NeeoThingUID uid = new NeeoThingUID(device.getUid());
-            final boolean isBound = keys.isBound(uid);
-
-            logger.trace("isBound(device): {} --- {} --- {} --- {}", uid, itemName, isBound, keys);
-            if (isBound) {
-                if (device.isExposed(itemName)) {
-                    logger.trace("isBound(YES!): {} --- {} --- {} --- {}", uid, itemName, isBound, keys);
-                    return true;
-                }
+        for (Map.Entry<NeeoDevice, NeeoDeviceChannel> entry : getExposed(itemName)) {
+            final NeeoThingUID uid = entry.getKey().getUid();
+            if (keys.isBound(uid)) {
+                logger.trace("isBound(YES!): {} --- {} --- {}", uid, itemName, keys);
+                return true;
             }
         }
 
@@ -239,18 +264,37 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(keys, "keys cannot be null");
 
         final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> channels = new ArrayList<>();
+        if (itemName != null) {
+            for (Map.Entry<NeeoDevice, NeeoDeviceChannel> entry : getExposed(itemName)) {
+                if (keys.isBound(entry.getKey().getUid())) {
+                    channels.add(entry);
+                }
+            }
+            return channels;
+        }
+
         for (NeeoDevice device : uidToDevice.values()) {
             if (keys.isBound(device.getUid())) {
                 for (NeeoDeviceChannel channel : device.getExposedChannels()) {
-                    if (itemName == null || StringUtils.equalsIgnoreCase(itemName, channel.getItemName())) {
-                        channels.add(new AbstractMap.SimpleImmutableEntry<>(device, channel));
-                    }
+                    channels.add(new AbstractMap.SimpleImmutableEntry<>(device, channel));
                 }
             }
         }
         return channels;
     }
 
+    /**
+     * Gets the exposed device/channels (regardless whether they are bound) for the given item name from the index
+     *
+     * @param itemName a non-null item name (case insensitive)
+     * @return a non-null, possibly empty list
+     */
+    private List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> getExposed(String itemName) {
+        final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> channels = itemToChannels
+                .get(itemName.toLowerCase(Locale.ROOT));
+        return channels == null ? List.of() : channels;
+    }
+
     /**
      * Gets the {@link NeeoDevice} for the given {@link NeeoThingUID}. If no definition has been created yet, the
      * definition
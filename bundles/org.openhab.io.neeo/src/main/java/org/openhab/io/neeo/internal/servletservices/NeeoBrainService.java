@@ -15,6 +15,7 @@ package org.openhab.io.neeo.internal.servletservices;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
@@ -74,6 +75,7 @@ import com.google.gson.Gson;
  * The implementation of {@link ServletService} that will handle device callbacks from the Neeo Brain
  *
  * @author Tim Roberts - Initial Contribution
+ * @author Hilbrand Bouwkamp - Asynchronous and batched state notifications
  */
 @NonNullByDefault
 public class NeeoBrainService extends DefaultServletService {
@@ -97,6 +99,9 @@ public class NeeoBrainService extends DefaultServletService {
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(NeeoConstants.THREAD_POOL_NAME);
 
+    /** The item states waiting to be sent to the brain */
+    private final PendingStateQueue pendingStates = new PendingStateQueue();
+
     /** The {@link NeeoItemValueConverter} used to convert values with */
     private final NeeoItemValueConverter itemConverter;
 
@@ -450,7 +455,9 @@ public class NeeoBrainService extends DefaultServletService {
     /**
      * Handles the event by notifying the NEEO brain of the new value. If the channel has been linked to the
      * {@link NeeoButtonGroup#POWERONOFF}, then the related recipe will be powered on/off (in addition to sending the
-     * new value).
+     * new value). The notification is queued and sent asynchronously together with other pending state changes. If
+     * the state of an item changed multiple times before the notification is sent only the latest state is sent, but
+     * every on/off transition is sent because it may power a recipe on or off.
      *
      * @see DefaultServletService#handleEvent(Event)
      *
@@ -463,11 +470,24 @@ public class NeeoBrainService extends DefaultServletService {
         final String itemName = ise.getItemName();
 
         logger.trace("handleEvent: {}", event);
-        notifyState(itemName, ise.getItemState());
+        if (pendingStates.add(itemName, ise.getItemState())) {
+            scheduler.execute(this::notifyPendingStates);
+        }
 
         return true;
     }
 
+    /**
+     * Helper function to send all pending states to the brain in one batch
+     */
+    private void notifyPendingStates() {
+        final List<Entry<String, State>> states = pendingStates.drain();
+        logger.trace("notifyPendingStates: {}", states.size());
+        for (Entry<String, State> entry : states) {
+            notifyState(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Helper function to send the current state of all bound channels
      */
@@ -539,7 +559,7 @@ public class NeeoBrainService extends DefaultServletService {
                     }
                 }
 
-                sendNotification(channel, deviceKey, state);
+                sendNotificationNow(channel, deviceKey, state);
             }
         }
     }
@@ -556,29 +576,38 @@ public class NeeoBrainService extends DefaultServletService {
         NeeoUtil.requireNotEmpty(deviceKey, "deviceKey cannot be empty");
         Objects.requireNonNull(state, "state cannot be null");
 
-        scheduler.execute(() -> {
-            final String uin = channel.getUniqueItemName();
+        scheduler.execute(() -> sendNotificationNow(channel, deviceKey, state));
+    }
 
-            final NeeoItemValue niv = itemConverter.convert(channel, state);
+    /**
+     * Helper method to send a notification on the calling thread
+     *
+     * @param channel a non-null channel
+     * @param deviceKey a non-null, non-empty device id
+     * @param state a non-null state
+     */
+    private void sendNotificationNow(NeeoDeviceChannel channel, String deviceKey, State state) {
+        final String uin = channel.getUniqueItemName();
 
-            // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
-            if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
-                    && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
-                final NeeoSensorNotification notify = new NeeoSensorNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
-            } else {
-                final NeeoNotification notify = new NeeoNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
+        final NeeoItemValue niv = itemConverter.convert(channel, state);
+
+        // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
+        if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
+                && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
+            final NeeoSensorNotification notify = new NeeoSensorNotification(deviceKey, uin, niv.getValue());
+            try {
+                api.notify(gson.toJson(notify));
+            } catch (IOException e) {
+                logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
             }
-        });
+        } else {
+            final NeeoNotification notify = new NeeoNotification(deviceKey, uin, niv.getValue());
+            try {
+                api.notify(gson.toJson(notify));
+            } catch (IOException e) {
+                logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
+            }
+        }
     }
 
     /**
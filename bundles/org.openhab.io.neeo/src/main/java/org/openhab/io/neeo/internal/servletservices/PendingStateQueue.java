@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal.servletservices;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.types.State;
+
+/**
+ * The queue of item states waiting to be sent to the brain. Only the latest state of an item is kept, except for
+ * {@link OnOffType} states: every on/off transition is kept because it may power a recipe on or off.
+ *
+ * @author Hilbrand Bouwkamp - Initial Contribution
+ */
+@NonNullByDefault
+class PendingStateQueue {
+
+    /** The pending item states in the order they were received */
+    private final List<Map.Entry<String, State>> states = new ArrayList<>();
+
+    /**
+     * Adds the state of an item. A pending state of the item is replaced unless one of them is an {@link OnOffType}.
+     *
+     * @param itemName a non-null, non-empty item name
+     * @param state a non-null state
+     * @return true if the queue was empty, i.e. a task to send the pending states has to be scheduled
+     */
+    synchronized boolean add(String itemName, State state) {
+        final boolean wasEmpty = states.isEmpty();
+        if (!(state instanceof OnOffType)) {
+            states.removeIf(e -> e.getKey().equals(itemName) && !(e.getValue() instanceof OnOffType));
+        }
+        states.add(new AbstractMap.SimpleImmutableEntry<>(itemName, state));
+        return wasEmpty;
+    }
+
+    /**
+     * Removes all pending states
+     *
+     * @return the pending item states in the order they were received
+     */
+    synchronized List<Map.Entry<String, State>> drain() {
+        final List<Map.Entry<String, State>> drained = new ArrayList<>(states);
+        states.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal.servletservices;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+
+/**
+ * Tests the coalescing of the item states waiting to be sent to the brain by the {@link PendingStateQueue}
+ *
+ * @author Hilbrand Bouwkamp - Initial Contribution
+ */
+@NonNullByDefault
+public class PendingStateQueueTest {
+
+    private final PendingStateQueue queue = new PendingStateQueue();
+
+    private List<String> drain() {
+        return queue.drain().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void onlyFirstStateRequestsNotification() {
+        assertTrue(queue.add("Volume", new DecimalType(1)));
+        assertFalse(queue.add("Channel", new DecimalType(2)));
+
+        assertEquals(List.of("Volume=1", "Channel=2"), drain());
+        assertTrue(queue.add("Volume", new DecimalType(3)));
+    }
+
+    @Test
+    public void latestStateOfItemIsKept() {
+        queue.add("Volume", new DecimalType(1));
+        queue.add("Channel", new DecimalType(2));
+        queue.add("Volume", new DecimalType(3));
+
+        assertEquals(List.of("Channel=2", "Volume=3"), drain());
+        assertEquals(List.of(), drain());
+    }
+
+    @Test
+    public void everyPowerTransitionIsKept() {
+        queue.add("Power", OnOffType.ON);
+        queue.add("Power", OnOffType.OFF);
+        queue.add("Power", OnOffType.ON);
+
+        assertEquals(List.of("Power=ON", "Power=OFF", "Power=ON"), drain());
+    }
+
+    @Test
+    public void powerTransitionIsNotReplacedByOtherState() {
+        queue.add("Light", OnOffType.OFF);
+        queue.add("Light", new PercentType(40));
+        queue.add("Light", new PercentType(60));
+
+        assertEquals(List.of("Light=OFF", "Light=60"), drain());
+    }
+
+    @Test
+    public void drainedStatesAreNotReturnedAgain() {
+        queue.add("Power", OnOffType.ON);
+        assertEquals(List.of(Map.entry("Power", OnOffType.ON)), queue.drain());
+        assertTrue(queue.drain().isEmpty());
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.io.openhabcloud.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -19,6 +20,8 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -31,15 +34,17 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
-import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.ByteBufferContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -53,6 +58,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -63,8 +69,14 @@ import io.socket.engineio.client.Transport;
  *
  * @author Victor Belov - Initial contribution
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
+ * @author Hilbrand Bouwkamp - streaming of proxied bodies in bounded chunks and caching of static content
  */
 public class CloudClient {
+    /*
+     * Maximum size of a single body chunk forwarded to the local openHAB or to the openHAB Cloud
+     */
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
     /*
      * Logger for this class
      */
@@ -100,6 +112,11 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This variable holds the cache of static content served through the openHAB Cloud, or null if disabled
+     */
+    private final @Nullable StaticContentCache staticContentCache;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -136,9 +153,10 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param cacheStaticContent Cache static content, like icons, served through the openHAB Cloud
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, boolean cacheStaticContent) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -146,6 +164,7 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.staticContentCache = cacheStaticContent ? new StaticContentCache() : null;
     }
 
     /**
@@ -244,6 +263,9 @@ public class CloudClient {
         isConnected = false;
         // And clean up the list of running requests
         runningRequests.clear();
+        if (staticContentCache != null) {
+            staticContentCache.clear();
+        }
     }
 
     /**
@@ -307,6 +329,18 @@ public class CloudClient {
             }
             // Finally get the future request URI
             URI requestUri = new URI(newPath);
+            // Serve static content directly from the cache if possible
+            String cacheKey = null;
+            if (staticContentCache != null && "GET".equals(requestMethod)
+                    && StaticContentCache.isCacheablePath(requestPath)) {
+                cacheKey = StaticContentCache.getCacheKey(requestUri);
+                StaticContentCache.Entry entry = staticContentCache.get(cacheKey);
+                if (entry != null) {
+                    sendCachedResponse(requestId, entry,
+                            StaticContentCache.getHeader(requestHeadersJson, HttpHeader.IF_NONE_MATCH.asString()));
+                    return;
+                }
+            }
             // All preparations which are common for different methods are done
             // Now perform the request to openHAB
             // If method is GET
@@ -323,17 +357,18 @@ public class CloudClient {
                 request.method(HttpMethod.GET);
             } else if (requestMethod.equals("POST")) {
                 request.method(HttpMethod.POST);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(createContentProvider(requestBody));
             } else if (requestMethod.equals("PUT")) {
                 request.method(HttpMethod.PUT);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(createContentProvider(requestBody));
             } else {
                 // TODO: Reject unsupported methods
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            ResponseListener listener = new ResponseListener(requestId, cacheKey);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -342,6 +377,54 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Creates a content provider that passes the request body to the local openHAB in chunks of bounded size.
+     * The body is encoded only once and the chunks are views on the encoded bytes.
+     */
+    private ByteBufferContentProvider createContentProvider(String requestBody) {
+        byte[] bytes = requestBody.getBytes(StandardCharsets.UTF_8);
+        int chunks = Math.max(1, (bytes.length + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        ByteBuffer[] buffers = new ByteBuffer[chunks];
+        for (int i = 0; i < chunks; i++) {
+            int offset = i * MAX_CHUNK_SIZE;
+            buffers[i] = ByteBuffer.wrap(bytes, offset, Math.min(MAX_CHUNK_SIZE, bytes.length - offset)).slice();
+        }
+        return new ByteBufferContentProvider(buffers);
+    }
+
+    /**
+     * Answers a request from the static content cache. If the client already has the content with the same ETag only
+     * a 304 Not Modified is sent.
+     */
+    private void sendCachedResponse(int requestId, StaticContentCache.Entry entry, @Nullable String ifNoneMatch) {
+        logger.debug("Serving request {} from the static content cache", requestId);
+        boolean notModified = entry.isNotModified(ifNoneMatch);
+        try {
+            JSONObject headerJson = new JSONObject();
+            headerJson.put("id", requestId);
+            headerJson.put("headers",
+                    new JSONObject(notModified ? entry.getNotModifiedHeaders() : entry.getHeaders()));
+            headerJson.put("responseStatusCode", notModified ? HttpStatus.NOT_MODIFIED_304 : entry.getStatus());
+            headerJson.put("responseStatusText", notModified ? "Not Modified" : "OK");
+            socket.emit("responseHeader", headerJson);
+            if (!notModified) {
+                byte[] body = entry.getBody();
+                for (int offset = 0; offset < body.length; offset += MAX_CHUNK_SIZE) {
+                    JSONObject contentJson = new JSONObject();
+                    contentJson.put("id", requestId);
+                    contentJson.put("body", BufferUtil.toArray(
+                            ByteBuffer.wrap(body, offset, Math.min(MAX_CHUNK_SIZE, body.length - offset))));
+                    socket.emit("responseContentBinary", contentJson);
+                }
+            }
+            JSONObject finishedJson = new JSONObject();
+            finishedJson.put("id", requestId);
+            socket.emit("responseFinished", finishedJson);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -516,21 +599,38 @@ public class CloudClient {
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
         private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
-        public ResponseListener(int requestId) {
+        /*
+         * Cache key and state of the response when it is a cacheable static asset, otherwise null
+         */
+        private @Nullable String mCacheKey;
+        private @Nullable String mETag;
+        private @Nullable Map<String, String> mCacheHeaders;
+        private @Nullable ByteArrayOutputStream mCacheBody;
+
+        public ResponseListener(int requestId, @Nullable String cacheKey) {
             mRequestId = requestId;
+            mCacheKey = cacheKey;
         }
 
-        private JSONObject getJSONHeaders(HttpFields httpFields) {
+        private Map<String, String> getHeaders(HttpFields httpFields) {
+            Map<String, String> headers = new HashMap<>();
+            for (HttpField field : httpFields) {
+                headers.put(field.getName(), field.getValue());
+            }
+            return headers;
+        }
+
+        private JSONObject getJSONHeaders(Map<String, String> headers) {
             JSONObject headersJSON = new JSONObject();
             try {
-                for (HttpField field : httpFields) {
-                    headersJSON.put(field.getName(), field.getValue());
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    headersJSON.put(header.getKey(), header.getValue());
                 }
             } catch (JSONException e) {
                 logger.warn("Error forming response headers: {}", e.getMessage());
@@ -538,6 +638,18 @@ public class CloudClient {
             return headersJSON;
         }
 
+        private void storeInCache() {
+            String cacheKey = mCacheKey;
+            String eTag = mETag;
+            Map<String, String> headers = mCacheHeaders;
+            ByteArrayOutputStream body = mCacheBody;
+            StaticContentCache cache = staticContentCache;
+            if (cache != null && cacheKey != null && eTag != null && headers != null && body != null) {
+                cache.put(cacheKey, new StaticContentCache.Entry(eTag, HttpStatus.OK_200, headers, body.toByteArray()));
+                logger.debug("Stored response of request {} in the static content cache", mRequestId);
+            }
+        }
+
         @Override
         public void onComplete(Result result) {
             // Remove this request from list of running requests
@@ -553,6 +665,8 @@ public class CloudClient {
                 if (result.getResponseFailure() != null) {
                     logger.warn("Response Failure: {}", result.getResponseFailure().getMessage());
                 }
+            } else if (result != null && !result.isFailed()) {
+                storeInCache();
             }
 
             /**
@@ -585,17 +699,39 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
             try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
+                while (content.hasRemaining()) {
+                    ByteBuffer chunk = content.slice();
+                    int length = Math.min(MAX_CHUNK_SIZE, chunk.remaining());
+                    chunk.limit(length);
+                    content.position(content.position() + length);
+                    byte[] bytes = BufferUtil.toArray(chunk);
+                    cacheContent(bytes);
+                    JSONObject responseJson = new JSONObject();
+                    responseJson.put("id", mRequestId);
+                    responseJson.put("body", bytes);
+                    socket.emit("responseContentBinary", responseJson);
+                }
                 logger.debug("Sent content to request {}", mRequestId);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
+            // Emitting is queued on the Socket.IO event thread. Only ask Jetty for more content after the queued
+            // chunks have been handed to the transport, so large responses are not buffered completely in memory.
+            EventThread.exec(callback::succeeded);
+        }
+
+        private void cacheContent(byte[] bytes) {
+            ByteArrayOutputStream body = mCacheBody;
+            if (body != null) {
+                if (body.size() + bytes.length > StaticContentCache.MAX_ENTRY_SIZE) {
+                    mCacheBody = null;
+                } else {
+                    body.write(bytes, 0, bytes.length);
+                }
+            }
         }
 
         @Override
@@ -604,9 +740,19 @@ public class CloudClient {
                 logger.debug("Jetty finished receiving response header");
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
+                Map<String, String> headers = getHeaders(response.getHeaders());
+                if (mCacheKey != null && response.getStatus() == HttpStatus.OK_200) {
+                    String eTag = response.getHeaders().get(HttpHeader.ETAG);
+                    if (StaticContentCache.isCacheableResponse(eTag,
+                            response.getHeaders().get(HttpHeader.CACHE_CONTROL))) {
+                        mETag = eTag;
+                        mCacheHeaders = headers;
+                        mCacheBody = new ByteArrayOutputStream();
+                    }
+                }
                 try {
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", getJSONHeaders(headers));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
@@ -73,6 +73,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_CACHE_STATIC_CONTENT = "cacheStaticContent";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -91,6 +92,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     protected final EventPublisher eventPublisher;
 
     private boolean remoteAccessEnabled = true;
+    private boolean cacheStaticContent = true;
     private Set<String> exposedItems = null;
     private int localPort;
 
@@ -201,6 +203,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             logger.debug("remoteAccessEnabled is not set, keeping value '{}'", remoteAccessEnabled);
         }
 
+        Object cacheCfg = config.get(CFG_CACHE_STATIC_CONTENT);
+        cacheStaticContent = cacheCfg == null || Boolean.parseBoolean(cacheCfg.toString());
+
         if (config.get(CFG_BASE_URL) != null) {
             cloudBaseUrl = (String) config.get(CFG_BASE_URL);
         } else {
@@ -242,7 +247,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, cacheStaticContent);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * This class caches responses of static UI assets (like icons) by their ETag, so that repeated remote page loads
+ * through the openHAB Cloud can be answered without a round-trip to the local openHAB web server.
+ * The cache is bounded by the total size of the cached bodies and evicts the least recently used entries first.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class StaticContentCache {
+
+    /*
+     * Path prefixes of static assets that are safe to cache
+     */
+    private static final String[] CACHEABLE_PATH_PREFIXES = { "/icon/", "/images/" };
+
+    /*
+     * Maximum size of a single cached body
+     */
+    static final int MAX_ENTRY_SIZE = 256 * 1024;
+
+    /*
+     * Maximum total size of all cached bodies
+     */
+    private static final long MAX_CACHE_SIZE = 8 * 1024 * 1024;
+
+    /*
+     * Time after which an entry is considered stale and will be fetched again from the local openHAB
+     */
+    private static final long TIME_TO_LIVE_MILLIS = 10 * 60 * 1000;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long cacheSize;
+
+    /**
+     * A cached response of a static asset.
+     */
+    public static class Entry {
+        private final String eTag;
+        private final int status;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final long created = System.currentTimeMillis();
+
+        public Entry(String eTag, int status, Map<String, String> headers, byte[] body) {
+            this.eTag = eTag;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * Returns true if the client already has this content, i.e. one of the entity tags of the If-None-Match
+         * header matches the ETag of this entry.
+         *
+         * @param ifNoneMatch the value of the If-None-Match request header or null if not present
+         * @return true if a 304 Not Modified can be sent
+         */
+        public boolean isNotModified(@Nullable String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmed = tag.trim();
+                if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the headers to send with a 304 Not Modified, which has no body and thus no Content-Length.
+         *
+         * @return the headers of this entry without Content-Length
+         */
+        public Map<String, String> getNotModifiedHeaders() {
+            Map<String, String> notModifiedHeaders = new HashMap<>(headers);
+            notModifiedHeaders.keySet().removeIf(name -> "Content-Length".equalsIgnoreCase(name));
+            return notModifiedHeaders;
+        }
+
+        private boolean isExpired(long now) {
+            return now - created > TIME_TO_LIVE_MILLIS;
+        }
+    }
+
+    /**
+     * Returns true if a GET request for the given path may be served from or stored in this cache.
+     *
+     * @param path the request path
+     * @return true if the path points to a cacheable static asset
+     */
+    public static boolean isCacheablePath(String path) {
+        for (String prefix : CACHEABLE_PATH_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cache key of a request URI. The key consists of the raw path and, if present, the raw query.
+     *
+     * @param uri the request URI
+     * @return the cache key
+     */
+    public static String getCacheKey(URI uri) {
+        String rawQuery = uri.getRawQuery();
+        return rawQuery == null ? uri.getRawPath() : uri.getRawPath() + '?' + rawQuery;
+    }
+
+    /**
+     * Returns the value of a request header. Header names are case-insensitive, so the header is looked up
+     * regardless of the casing used by the client.
+     *
+     * @param headers the request headers as sent by the openHAB Cloud
+     * @param name the header name
+     * @return the header value or null if not present
+     */
+    public static @Nullable String getHeader(JSONObject headers, String name) {
+        Iterator<String> names = headers.keys();
+        while (names.hasNext()) {
+            String header = names.next();
+            if (name.equalsIgnoreCase(header)) {
+                return headers.optString(header, null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the response with the given headers may be stored in the cache.
+     *
+     * @param eTag the ETag header value of the response
+     * @param cacheControl the Cache-Control header value of the response
+     * @return true if the response can be cached
+     */
+    public static boolean isCacheableResponse(@Nullable String eTag, @Nullable String cacheControl) {
+        if (eTag == null || eTag.isEmpty()) {
+            return false;
+        }
+        if (cacheControl != null) {
+            String value = cacheControl.toLowerCase();
+            return !value.contains("no-store") && !value.contains("no-cache") && !value.contains("private");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the non-expired cached entry for the given key or null if not present.
+     *
+     * @param key the cache key (path and query of the request)
+     * @return the cached entry or null
+     */
+    public synchronized @Nullable Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores an entry in the cache and evicts the least recently used entries when the cache is full.
+     *
+     * @param key the cache key (path and query of the request)
+     * @param entry the entry to store
+     */
+    public synchronized void put(String key, Entry entry) {
+        if (entry.getBody().length > MAX_ENTRY_SIZE) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        cacheSize += entry.getBody().length;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (cacheSize > MAX_CACHE_SIZE && iterator.hasNext()) {
+            cacheSize -= iterator.next().getBody().length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cacheSize = 0;
+    }
+
+    private void remove(String key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            cacheSize -= old.getBody().length;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link StaticContentCache}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+@NonNullByDefault
+public class StaticContentCacheTest {
+
+    private StaticContentCache.Entry createEntry(int size) {
+        return new StaticContentCache.Entry("\"abc\"", 200,
+                Map.of("Content-Type", "image/png", "Content-Length", String.valueOf(size), "ETag", "\"abc\""),
+                new byte[size]);
+    }
+
+    @Test
+    public void cacheKeyWithoutQuery() {
+        assertEquals("/icon/light", StaticContentCache.getCacheKey(URI.create("/icon/light")));
+    }
+
+    @Test
+    public void cacheKeyWithQuery() {
+        assertEquals("/icon/light?state=ON&format=svg",
+                StaticContentCache.getCacheKey(URI.create("/icon/light?state=ON&format=svg")));
+    }
+
+    @Test
+    public void headerLookupIgnoresCase() throws Exception {
+        JSONObject headers = new JSONObject();
+        headers.put("IF-NONE-MATCH", "\"abc\"");
+
+        assertEquals("\"abc\"", StaticContentCache.getHeader(headers, "If-None-Match"));
+        assertNull(StaticContentCache.getHeader(headers, "If-Modified-Since"));
+    }
+
+    @Test
+    public void notModifiedMatchesETagList() {
+        StaticContentCache.Entry entry = createEntry(10);
+
+        assertTrue(entry.isNotModified("\"abc\""));
+        assertTrue(entry.isNotModified("\"xyz\", \"abc\""));
+        assertTrue(entry.isNotModified("*"));
+        assertFalse(entry.isNotModified("\"xyz\""));
+        assertFalse(entry.isNotModified(null));
+    }
+
+    @Test
+    public void notModifiedHeadersHaveNoContentLength() {
+        Map<String, String> headers = createEntry(10).getNotModifiedHeaders();
+
+        assertFalse(headers.containsKey("Content-Length"));
+        assertEquals("\"abc\"", headers.get("ETag"));
+        assertEquals("image/png", headers.get("Content-Type"));
+    }
+
+    @Test
+    public void entriesAreEvictedWhenCacheIsFull() {
+        StaticContentCache cache = new StaticContentCache();
+        int size = StaticContentCache.MAX_ENTRY_SIZE;
+        int entries = (int) (8 * 1024 * 1024 / size);
+        for (int i = 0; i <= entries; i++) {
+            cache.put("/icon/" + i, createEntry(size));
+        }
+
+        assertNull(cache.get("/icon/0"));
+        assertNotNull(cache.get("/icon/" + entries));
+    }
+
+    @Test
+    public void tooLargeEntriesAreNotCached() {
+        StaticContentCache cache = new StaticContentCache();
+        cache.put("/icon/large", createEntry(StaticContentCache.MAX_ENTRY_SIZE + 1));
+
+        assertNull(cache.get("/icon/large"));
+    }
+}
@@ -325,4 +325,44 @@ public class HomieImplementationTest extends JavaOSGiTest {
             assertNull(w.waitForTopicValue(50));
         }, 500, 100);
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void bootstrapHomieTree() throws InterruptedException, ExecutionException, TimeoutException {
+        final int attributeTimeout = 1500;
+
+        // Subscribe to each attribute topic
+        Device device = new Device(ThingChannelConstants.testHomieThing, callback, new DeviceAttributes());
+        device.initialize(BASE_TOPIC, DEVICE_ID, Collections.emptyList());
+        long start = System.nanoTime();
+        device.subscribe(connection, scheduler, attributeTimeout).get(5, TimeUnit.SECONDS);
+        final long subscribeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        device.stop().get(2, TimeUnit.SECONDS);
+
+        // Subscribe once to the device topic tree
+        device = new Device(ThingChannelConstants.testHomieThing, callback, new DeviceAttributes());
+        device.initialize(BASE_TOPIC, DEVICE_ID, Collections.emptyList());
+        start = System.nanoTime();
+        device.bootstrap(connection, scheduler, attributeTimeout).get(5, TimeUnit.SECONDS);
+        final long bootstrapMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(device.isInitialized(), is(true));
+        assertThat(device.attributes.state, is(ReadyState.ready));
+        assertThat(device.nodes.size(), is(1));
+        Node node = device.nodes.get("testnode");
+        assertThat(node.attributes.type, is("Type"));
+        assertThat(node.properties.size(), is(3));
+        Property property = node.properties.get("temperature");
+        assertThat(property.attributes.unit, is("°C"));
+        assertThat(property.attributes.format, is("-100:100"));
+        assertThat(node.properties.get("doorbell").attributes.retained, is(false));
+
+        // Subscribing to each attribute waits for the timeout of optional attributes that are not published, like
+        // $unit of the doorbell. The bootstrap knows that they are missing as soon as the device tree is complete.
+        assertTrue(bootstrapMillis < attributeTimeout,
+                "Bootstrap took " + bootstrapMillis + " ms, subscribing to each attribute " + subscribeMillis + " ms");
+
+        device.stop().get(2, TimeUnit.SECONDS);
+        assertThat(connection.hasSubscribers(), is(false));
+    }
 }